@@ -12,12 +12,14 @@ import java.lang.annotation.Target;
 
 /**
  * 数据脱敏注解
- * 使用在需要进行脱敏处理的字段上
+ * 使用在需要进行脱敏处理的字段或getter方法上
+ * 任何ObjectMapper默认都会脱敏，需要原值的ObjectMapper注册
+ * {@link com.xjt.desensitize.module.DesensitizeModule#unmasked()}
  *
  * @author JTX
  * @since 1.0.0
  */
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 @JacksonAnnotationsInside
 @JsonSerialize(using = DesensitizeSerializer.class)
@@ -32,11 +34,13 @@ public @interface Desensitize {
 
     /**
      * 自定义脱敏格式
-     * 当type为CUSTOM时使用，支持占位符：
-     * ${start} - 开始保留的字符数
-     * ${end} - 结尾保留的字符数
-     * ${mask} - 脱敏字符（默认为*）
-     * 示例：${start:3}${mask:****}${end:4} -> 138****5678
+     * 不为空时优先于type对应的策略使用，格式在序列化器创建时编译一次，支持占位符：
+     * ${start:N} - 保留开头N个字符，省略N时使用startKeep
+     * ${end:N} - 保留结尾N个字符，省略N时使用endKeep
+     * ${mask:N} 或 ${mask:****} - 输出固定个数的脱敏字符
+     * ${mask} - 未保留的字符全部替换为脱敏字符
+     * 占位符之外的字符原样输出
+     * 示例：${start:3}${mask:****}${end:4} -> 138****5678，${start:3}-${mask:4}-${end:4} -> 138-****-5678
      *
      * @return 自定义脱敏格式
      */
@@ -89,6 +93,15 @@ public @interface Desensitize {
      */
     String fieldConfigs() default "";
 
+    /**
+     * JSON字段脱敏结果是否以内嵌JSON对象形式输出
+     * 仅在type为JSON_FIELD时有效，默认false，即脱敏后的JSON仍作为字符串输出；
+     * 设置为true时脱敏后的token直接写入外层JSON，原值不是合法JSON对象时仍按字符串输出
+     *
+     * @return 是否以内嵌JSON对象形式输出
+     */
+    boolean rawJson() default false;
+
     /**
      * 是否启用脱敏
      * 可用于动态控制脱敏开关
@@ -0,0 +1,152 @@
+package com.xjt.desensitize.enumservice;
+
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.util.MaskBatch;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * 脱敏策略服务接口
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public interface DesensitizeStrategyService {
+
+    /**
+     * 执行脱敏处理
+     *
+     * @param origin       原始字符串
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @return 脱敏后的字符串
+     */
+    String desensitize(String origin, DesensitizeType type, String customFormat,
+                      int startKeep, int endKeep, char maskChar);
+
+    /**
+     * 执行脱敏处理，结果写入字符数组而不创建新字符串
+     * 默认不支持，调用方应在返回-1时改用字符串版本
+     *
+     * @param origin       原始字符串，不为null
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @param dst          目标字符数组，从下标0开始写入
+     * @return 写入的字符数；不支持或目标数组容量不足时返回-1
+     */
+    default int desensitize(String origin, DesensitizeType type, String customFormat,
+                            int startKeep, int endKeep, char maskChar, char[] dst) {
+        return -1;
+    }
+
+    /**
+     * 将脱敏类型和参数编译为预绑定的脱敏函数
+     * 策略查找和参数校验只在编译时执行一次，适合在序列化器初始化等场景调用后反复使用
+     * 默认实现在每次调用时委托给 {@link #desensitize(String, DesensitizeType, String, int, int, char)}
+     *
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @return 脱敏函数，不为null
+     */
+    default MaskFunction compile(DesensitizeType type, String customFormat,
+                                 int startKeep, int endKeep, char maskChar) {
+        return new MaskFunction() {
+            @Override
+            public String apply(String origin) {
+                return desensitize(origin, type, customFormat, startKeep, endKeep, maskChar);
+            }
+
+            @Override
+            public int apply(String origin, char[] dst) {
+                return desensitize(origin, type, customFormat, startKeep, endKeep, maskChar, dst);
+            }
+        };
+    }
+
+    /**
+     * 批量脱敏同一列数据，结果按下标写入结果数组
+     * 脱敏类型和参数只编译一次；null和空字符串原样写入，单个值脱敏失败时写入原值
+     *
+     * @param origins      原始值数组
+     * @param results      结果数组，长度不小于原始值数组，可以与原始值数组相同以原地替换
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @throws IllegalArgumentException 数组为null或结果数组长度不足时抛出
+     */
+    default void desensitizeBatch(String[] origins, String[] results, DesensitizeType type, String customFormat,
+                                  int startKeep, int endKeep, char maskChar) {
+        MaskBatch.apply(compile(type, customFormat, startKeep, endKeep, maskChar), origins, results);
+    }
+
+    /**
+     * 批量脱敏同一列数据，数据量较大时分块并行处理，结果按下标写入结果数组
+     * 使用ForkJoinPool.commonPool()，元素数不足两个分块（{@link MaskBatch#PARALLEL_CHUNK_SIZE}）时在当前线程处理
+     *
+     * @param origins      原始值数组
+     * @param results      结果数组，长度不小于原始值数组，可以与原始值数组相同以原地替换
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @throws IllegalArgumentException 数组为null或结果数组长度不足时抛出
+     */
+    default void desensitizeBatchParallel(String[] origins, String[] results, DesensitizeType type,
+                                          String customFormat, int startKeep, int endKeep, char maskChar) {
+        MaskBatch.applyParallel(compile(type, customFormat, startKeep, endKeep, maskChar), origins, results);
+    }
+
+    /**
+     * 批量脱敏同一列数据，数据量较大时在指定线程池中分块并行处理，结果按下标写入结果数组
+     * 元素数不足两个分块时在当前线程处理
+     *
+     * @param origins      原始值数组
+     * @param results      结果数组，长度不小于原始值数组，可以与原始值数组相同以原地替换
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @param pool         并行处理使用的线程池，为null时使用ForkJoinPool.commonPool()
+     * @param chunkSize    每个分块的元素数，必须大于0
+     * @throws IllegalArgumentException 数组为null、结果数组长度不足或分块大小不合法时抛出
+     */
+    default void desensitizeBatchParallel(String[] origins, String[] results, DesensitizeType type,
+                                          String customFormat, int startKeep, int endKeep, char maskChar,
+                                          ForkJoinPool pool, int chunkSize) {
+        MaskBatch.applyParallel(compile(type, customFormat, startKeep, endKeep, maskChar), origins, results,
+                pool, chunkSize);
+    }
+
+    /**
+     * 批量脱敏同一列数据，结果按迭代顺序交给接收方
+     * 适用于List、数据库游标等不便转换为数组的数据源
+     *
+     * @param origins      原始值
+     * @param sink         结果接收方
+     * @param type         脱敏类型
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @throws IllegalArgumentException 原始值或接收方为null时抛出
+     */
+    default void desensitizeBatch(Iterable<String> origins, Consumer<? super String> sink, DesensitizeType type,
+                                  String customFormat, int startKeep, int endKeep, char maskChar) {
+        MaskBatch.apply(compile(type, customFormat, startKeep, endKeep, maskChar), origins, sink);
+    }
+}
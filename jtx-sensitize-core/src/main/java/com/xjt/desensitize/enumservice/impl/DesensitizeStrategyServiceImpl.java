@@ -0,0 +1,598 @@
+package com.xjt.desensitize.enumservice.impl;
+
+import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.DesensitizeStrategy;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.strategy.impl.*;
+import com.xjt.desensitize.util.CustomFormatTemplate;
+import com.xjt.desensitize.util.MaskCache;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 脱敏策略服务实现类
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeStrategyServiceImpl implements DesensitizeStrategyService {
+
+    /**
+     * 脱敏策略映射
+     */
+    private final Map<DesensitizeType, DesensitizeStrategy> strategyMap = new HashMap<>();
+
+    /**
+     * 自定义脱敏策略
+     */
+    private final CustomDesensitizeStrategy customStrategy;
+
+    /**
+     * 自定义格式缓存的最大条目数，超过后清空重建
+     */
+    private static final int MAX_TEMPLATE_CACHE_SIZE = 256;
+
+    /**
+     * 已编译的自定义格式缓存，同一格式只解析一次
+     */
+    private final Map<String, CustomFormatTemplate> templateCache = new ConcurrentHashMap<>();
+
+    /**
+     * 按脱敏类型启用的脱敏结果缓存，默认不启用
+     */
+    private volatile Map<DesensitizeType, CacheBinding> maskCaches = Collections.emptyMap();
+
+    /**
+     * 修改脱敏结果缓存配置时使用的锁
+     */
+    private final Object maskCacheLock = new Object();
+
+    public DesensitizeStrategyServiceImpl(UsernameDesensitizeStrategy usernameStrategy,
+                                         IdCardDesensitizeStrategy idCardStrategy,
+                                         PhoneDesensitizeStrategy phoneStrategy,
+                                         EmailDesensitizeStrategy emailStrategy,
+                                         BankCardDesensitizeStrategy bankCardStrategy,
+                                         ChineseNameDesensitizeStrategy chineseNameStrategy,
+                                         PasswordDesensitizeStrategy passwordStrategy,
+                                         AddressDesensitizeStrategy addressStrategy,
+                                         JsonFieldDesensitizeStrategy jsonFieldDesensitizeStrategy,
+                                         CustomDesensitizeStrategy customStrategy) {
+        this.customStrategy = customStrategy;
+
+        strategyMap.put(DesensitizeType.USERNAME, usernameStrategy);
+        strategyMap.put(DesensitizeType.ID_CARD, idCardStrategy);
+        strategyMap.put(DesensitizeType.PHONE, phoneStrategy);
+        strategyMap.put(DesensitizeType.EMAIL, emailStrategy);
+        strategyMap.put(DesensitizeType.BANK_CARD, bankCardStrategy);
+        strategyMap.put(DesensitizeType.CHINESE_NAME, chineseNameStrategy);
+        strategyMap.put(DesensitizeType.PASSWORD, passwordStrategy);
+        strategyMap.put(DesensitizeType.JSON_FIELD, jsonFieldDesensitizeStrategy);
+        strategyMap.put(DesensitizeType.ADDRESS, addressStrategy);
+    }
+
+    /**
+     * 创建包含全部内置脱敏策略的服务，供不经过Spring容器使用的场景
+     *
+     * @return 脱敏策略服务
+     */
+    public static DesensitizeStrategyServiceImpl createDefault() {
+        return new DesensitizeStrategyServiceImpl(
+                new UsernameDesensitizeStrategy(),
+                new IdCardDesensitizeStrategy(),
+                new PhoneDesensitizeStrategy(),
+                new EmailDesensitizeStrategy(),
+                new BankCardDesensitizeStrategy(),
+                new ChineseNameDesensitizeStrategy(),
+                new PasswordDesensitizeStrategy(),
+                new AddressDesensitizeStrategy(),
+                new JsonFieldDesensitizeStrategy(),
+                new CustomDesensitizeStrategy());
+    }
+
+    @Override
+    public String desensitize(String origin, DesensitizeType type, String customFormat,
+                             int startKeep, int endKeep, char maskChar) {
+
+        try {
+            if (origin == null) {
+                return null;
+            }
+
+            // 验证输入参数
+            if (type == null) {
+                System.err.println("脱敏类型不能为null，返回原字符串");
+                return origin;
+            }
+
+            if (origin.isEmpty()) {
+                return origin;
+            }
+
+            // 验证参数合法性
+            if (startKeep < 0 || endKeep < 0) {
+                System.err.println("保留字符数不能为负数，使用默认值");
+                startKeep = Math.max(0, startKeep);
+                endKeep = Math.max(0, endKeep);
+            }
+
+            // 启用了结果缓存的类型优先读取缓存
+            CacheBinding binding = maskCaches.get(type);
+            if (binding != null) {
+                CacheScope scope = binding.scope(customFormat, startKeep, endKeep, maskChar);
+                String cached = binding.cache.get(scope, origin);
+                if (cached != null) {
+                    return cached;
+                }
+                String result = mask(origin, type, customFormat, startKeep, endKeep, maskChar);
+                binding.cache.put(scope, origin, result);
+                return result;
+            }
+            return mask(origin, type, customFormat, startKeep, endKeep, maskChar);
+
+        } catch (Exception e) {
+            // 捕获所有未预期的异常
+            System.err.println("脱敏处理过程中发生未知错误: " + e.getMessage() + "，返回原字符串");
+            return origin;
+        }
+    }
+
+    /**
+     * 按自定义格式或脱敏类型执行脱敏，参数已校验
+     */
+    private String mask(String origin, DesensitizeType type, String customFormat,
+                        int startKeep, int endKeep, char maskChar) {
+        // 如果有自定义格式，优先使用自定义格式
+        if (customFormat != null && !customFormat.trim().isEmpty()) {
+            try {
+                return processCustomFormat(origin, customFormat, startKeep, endKeep, maskChar);
+            } catch (Exception e) {
+                System.err.println("自定义格式处理失败: " + e.getMessage() + "，使用默认策略");
+                // 继续使用默认策略
+            }
+        }
+
+        // 对于自定义脱敏类型，使用特殊处理
+        if (DesensitizeType.CUSTOM.equals(type)) {
+            try {
+                if (customStrategy == null) {
+                    System.err.println("自定义脱敏策略未初始化，返回原字符串");
+                    return origin;
+                }
+                return customStrategy.desensitize(origin, startKeep, endKeep, maskChar);
+            } catch (Exception e) {
+                System.err.println("自定义脱敏处理失败: " + e.getMessage() + "，返回原字符串");
+                return origin;
+            }
+        }
+
+        // 根据类型获取对应的策略
+        DesensitizeStrategy strategy = strategyMap.get(type);
+        if (strategy != null) {
+            try {
+                String result = strategy.desensitize(origin);
+                // 确保返回结果不为null
+                return result != null ? result : origin;
+            } catch (Exception e) {
+                System.err.println("脱敏策略执行失败 (" + type + "): " + e.getMessage() + "，返回原字符串");
+                return origin;
+            }
+        }
+
+        // 如果没有找到对应策略，返回原字符串
+        System.err.println("未找到对应的脱敏策略: " + type + "，返回原字符串");
+        return origin;
+    }
+
+    @Override
+    public int desensitize(String origin, DesensitizeType type, String customFormat,
+                           int startKeep, int endKeep, char maskChar, char[] dst) {
+        // 与字符串版本的分派规则一致；参数异常或策略失败时返回-1，由调用方回退到字符串版本并记录日志
+        if (origin == null || type == null || origin.isEmpty() || startKeep < 0 || endKeep < 0) {
+            return -1;
+        }
+
+        try {
+            // 启用了结果缓存的类型复用缓存中的字符串
+            if (maskCaches.containsKey(type)) {
+                String masked = desensitize(origin, type, customFormat, startKeep, endKeep, maskChar);
+                if (masked == null || masked.length() > dst.length) {
+                    return -1;
+                }
+                masked.getChars(0, masked.length(), dst, 0);
+                return masked.length();
+            }
+
+            if (customFormat != null && !customFormat.trim().isEmpty()) {
+                return getTemplate(customFormat).apply(origin, startKeep, endKeep, maskChar, dst);
+            }
+
+            if (DesensitizeType.CUSTOM.equals(type)) {
+                return customStrategy != null
+                        ? customStrategy.desensitize(origin, startKeep, endKeep, maskChar, dst) : -1;
+            }
+
+            DesensitizeStrategy strategy = strategyMap.get(type);
+            return strategy != null ? strategy.desensitize(origin, dst) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public MaskFunction compile(DesensitizeType type, String customFormat,
+                                int startKeep, int endKeep, char maskChar) {
+        // 与desensitize的分派规则一致，校验和策略查找只在编译时执行一次
+        if (type == null) {
+            System.err.println("脱敏类型不能为null，不进行脱敏");
+            return MaskFunction.IDENTITY;
+        }
+
+        if (startKeep < 0 || endKeep < 0) {
+            System.err.println("保留字符数不能为负数，使用默认值");
+            startKeep = Math.max(0, startKeep);
+            endKeep = Math.max(0, endKeep);
+        }
+
+        MaskFunction function = compileFunction(type, customFormat, startKeep, endKeep, maskChar);
+        CacheBinding binding = maskCaches.get(type);
+        if (binding == null || function == MaskFunction.IDENTITY) {
+            return function;
+        }
+        return new CachingMaskFunction(function, binding.cache,
+                binding.scope(customFormat, startKeep, endKeep, maskChar));
+    }
+
+    /**
+     * 按自定义格式或脱敏类型编译脱敏函数，参数已校验
+     */
+    private MaskFunction compileFunction(DesensitizeType type, String customFormat,
+                                         int startKeep, int endKeep, char maskChar) {
+
+        if (customFormat != null && !customFormat.trim().isEmpty()) {
+            try {
+                return new TemplateMaskFunction(getTemplate(customFormat), startKeep, endKeep, maskChar);
+            } catch (Exception e) {
+                System.err.println("自定义格式处理失败: " + e.getMessage() + "，使用默认策略");
+            }
+        }
+
+        if (DesensitizeType.CUSTOM.equals(type)) {
+            if (customStrategy == null) {
+                System.err.println("自定义脱敏策略未初始化，不进行脱敏");
+                return MaskFunction.IDENTITY;
+            }
+            return new CustomMaskFunction(customStrategy, startKeep, endKeep, maskChar);
+        }
+
+        DesensitizeStrategy strategy = strategyMap.get(type);
+        if (strategy == null) {
+            System.err.println("未找到对应的脱敏策略: " + type + "，不进行脱敏");
+            return MaskFunction.IDENTITY;
+        }
+        return new StrategyMaskFunction(strategy);
+    }
+
+    /**
+     * 处理自定义格式
+     * 格式示例：${start:3}${mask:****}${end:4}
+     *
+     * @param origin       原始字符串
+     * @param customFormat 自定义格式
+     * @param startKeep    开始保留字符数
+     * @param endKeep      结尾保留字符数
+     * @param maskChar     脱敏字符
+     * @return 脱敏后的字符串
+     */
+    private String processCustomFormat(String origin, String customFormat, int startKeep, int endKeep, char maskChar) {
+        return getTemplate(customFormat).apply(origin, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 获取编译后的自定义格式，同一格式只解析一次
+     *
+     * @param customFormat 自定义格式
+     * @return 编译后的格式
+     * @throws IllegalArgumentException 格式不合法时抛出
+     */
+    private CustomFormatTemplate getTemplate(String customFormat) {
+        CustomFormatTemplate template = templateCache.get(customFormat);
+        if (template == null) {
+            template = CustomFormatTemplate.compile(customFormat);
+            if (templateCache.size() >= MAX_TEMPLATE_CACHE_SIZE) {
+                templateCache.clear();
+            }
+            templateCache.put(customFormat, template);
+        }
+        return template;
+    }
+
+    /**
+     * 为指定脱敏类型启用脱敏结果缓存，缓存为null时停用
+     * 已编译的脱敏函数在编译时绑定缓存，应在序列化器创建前完成配置
+     *
+     * @param type  脱敏类型
+     * @param cache 脱敏结果缓存
+     */
+    public void setMaskCache(DesensitizeType type, MaskCache cache) {
+        Objects.requireNonNull(type, "type");
+        synchronized (maskCacheLock) {
+            Map<DesensitizeType, CacheBinding> caches = new EnumMap<>(DesensitizeType.class);
+            caches.putAll(maskCaches);
+            if (cache != null) {
+                caches.put(type, new CacheBinding(type, cache));
+            } else {
+                caches.remove(type);
+            }
+            maskCaches = caches;
+        }
+    }
+
+    /**
+     * 获取指定脱敏类型的脱敏结果缓存，可用于读取命中率等统计数据
+     *
+     * @param type 脱敏类型
+     * @return 脱敏结果缓存，未启用时返回null
+     */
+    public MaskCache getMaskCache(DesensitizeType type) {
+        CacheBinding binding = maskCaches.get(type);
+        return binding != null ? binding.cache : null;
+    }
+
+    /**
+     * 获取指定类型的脱敏策略
+     * 用于序列化器中的特殊处理
+     *
+     * @param type 脱敏类型
+     * @return 脱敏策略，如果没有找到则返回null
+     */
+    public DesensitizeStrategy getStrategy(DesensitizeType type) {
+        return strategyMap.get(type);
+    }
+
+    /**
+     * 绑定固定策略的脱敏函数
+     */
+    private static final class StrategyMaskFunction implements MaskFunction {
+
+        private final DesensitizeStrategy strategy;
+
+        StrategyMaskFunction(DesensitizeStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public String apply(String origin) {
+            String result = strategy.desensitize(origin);
+            return result != null ? result : origin;
+        }
+
+        @Override
+        public int apply(String origin, char[] dst) {
+            return strategy.desensitize(origin, dst);
+        }
+
+        @Override
+        public int applyInPlace(char[] chars, int length) {
+            return strategy.desensitize(chars, length);
+        }
+    }
+
+    /**
+     * 绑定自定义脱敏参数的脱敏函数
+     */
+    private static final class CustomMaskFunction implements MaskFunction {
+
+        private final CustomDesensitizeStrategy strategy;
+
+        private final int startKeep;
+
+        private final int endKeep;
+
+        private final char maskChar;
+
+        CustomMaskFunction(CustomDesensitizeStrategy strategy, int startKeep, int endKeep, char maskChar) {
+            this.strategy = strategy;
+            this.startKeep = startKeep;
+            this.endKeep = endKeep;
+            this.maskChar = maskChar;
+        }
+
+        @Override
+        public String apply(String origin) {
+            return strategy.desensitize(origin, startKeep, endKeep, maskChar);
+        }
+
+        @Override
+        public int apply(String origin, char[] dst) {
+            return strategy.desensitize(origin, startKeep, endKeep, maskChar, dst);
+        }
+
+        @Override
+        public int applyInPlace(char[] chars, int length) {
+            return strategy.desensitize(chars, length, startKeep, endKeep, maskChar);
+        }
+    }
+
+    /**
+     * 绑定自定义格式和参数的脱敏函数
+     */
+    private static final class TemplateMaskFunction implements MaskFunction {
+
+        private final CustomFormatTemplate template;
+
+        private final int startKeep;
+
+        private final int endKeep;
+
+        private final char maskChar;
+
+        TemplateMaskFunction(CustomFormatTemplate template, int startKeep, int endKeep, char maskChar) {
+            this.template = template;
+            this.startKeep = startKeep;
+            this.endKeep = endKeep;
+            this.maskChar = maskChar;
+        }
+
+        @Override
+        public String apply(String origin) {
+            if (origin == null || origin.isEmpty()) {
+                return origin;
+            }
+            return template.apply(origin, startKeep, endKeep, maskChar);
+        }
+
+        @Override
+        public int apply(String origin, char[] dst) {
+            if (origin.isEmpty()) {
+                return 0;
+            }
+            return template.apply(origin, startKeep, endKeep, maskChar, dst);
+        }
+    }
+
+    /**
+     * 读写脱敏结果缓存的脱敏函数
+     */
+    private static final class CachingMaskFunction implements MaskFunction {
+
+        private final MaskFunction delegate;
+
+        private final MaskCache cache;
+
+        private final CacheScope scope;
+
+        CachingMaskFunction(MaskFunction delegate, MaskCache cache, CacheScope scope) {
+            this.delegate = delegate;
+            this.cache = cache;
+            this.scope = scope;
+        }
+
+        @Override
+        public String apply(String origin) {
+            String cached = cache.get(scope, origin);
+            if (cached != null) {
+                return cached;
+            }
+            String result = delegate.apply(origin);
+            if (result != null) {
+                cache.put(scope, origin, result);
+            }
+            return result;
+        }
+
+        @Override
+        public int apply(String origin, char[] dst) {
+            String masked = apply(origin);
+            if (masked == null || masked.length() > dst.length) {
+                return -1;
+            }
+            masked.getChars(0, masked.length(), dst, 0);
+            return masked.length();
+        }
+    }
+
+    /**
+     * 某个脱敏类型的脱敏结果缓存及其脱敏参数
+     * 参数不影响结果时（无自定义格式的非CUSTOM类型）所有调用共用同一个参数对象，
+     * 否则复用最近一次的参数对象，批量和重复调用时不再逐次创建
+     */
+    private static final class CacheBinding {
+
+        private final DesensitizeType type;
+
+        private final MaskCache cache;
+
+        /**
+         * 参数不影响结果时共用的参数对象
+         */
+        private final CacheScope typeScope;
+
+        /**
+         * 最近一次使用的参数对象
+         */
+        private volatile CacheScope lastScope;
+
+        CacheBinding(DesensitizeType type, MaskCache cache) {
+            this.type = type;
+            this.cache = cache;
+            this.typeScope = new CacheScope(type, "", 0, 0, '\0');
+        }
+
+        /**
+         * 获取脱敏参数对应的缓存参数对象，参数已校验
+         */
+        CacheScope scope(String customFormat, int startKeep, int endKeep, char maskChar) {
+            boolean hasFormat = customFormat != null && !customFormat.trim().isEmpty();
+            if (!hasFormat && !DesensitizeType.CUSTOM.equals(type)) {
+                return typeScope;
+            }
+            CacheScope last = lastScope;
+            if (last != null && last.matches(customFormat, startKeep, endKeep, maskChar)) {
+                return last;
+            }
+            CacheScope scope = new CacheScope(type, customFormat, startKeep, endKeep, maskChar);
+            lastScope = scope;
+            return scope;
+        }
+    }
+
+    /**
+     * 脱敏结果缓存键中的脱敏参数部分
+     */
+    private static final class CacheScope {
+
+        private final DesensitizeType type;
+
+        private final String customFormat;
+
+        private final int startKeep;
+
+        private final int endKeep;
+
+        private final char maskChar;
+
+        private final int hash;
+
+        CacheScope(DesensitizeType type, String customFormat, int startKeep, int endKeep, char maskChar) {
+            this.type = type;
+            this.customFormat = customFormat != null ? customFormat : "";
+            this.startKeep = startKeep;
+            this.endKeep = endKeep;
+            this.maskChar = maskChar;
+            int h = type.ordinal();
+            h = 31 * h + this.customFormat.hashCode();
+            h = 31 * h + startKeep;
+            h = 31 * h + endKeep;
+            this.hash = 31 * h + maskChar;
+        }
+
+        /**
+         * 判断是否与给定的脱敏参数相同，类型由所属缓存保证一致
+         */
+        boolean matches(String customFormat, int startKeep, int endKeep, char maskChar) {
+            return this.startKeep == startKeep && this.endKeep == endKeep && this.maskChar == maskChar
+                    && this.customFormat.equals(customFormat != null ? customFormat : "");
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof CacheScope)) return false;
+            CacheScope that = (CacheScope) obj;
+            return hash == that.hash && type == that.type && startKeep == that.startKeep
+                    && endKeep == that.endKeep && maskChar == that.maskChar
+                    && customFormat.equals(that.customFormat);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.xjt.desensitize.module;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
+import com.xjt.desensitize.serializer.DesensitizeBeanSerializerModifier;
+import com.xjt.desensitize.serializer.DesensitizeConfig;
+import com.xjt.desensitize.serializer.DesensitizeSerializer;
+import com.xjt.desensitize.serializer.DesensitizeSerializerCache;
+
+import java.io.IOException;
+
+/**
+ * 数据脱敏Jackson模块
+ * 序列化器缓存（及其绑定的脱敏策略服务）通过构造器注入，注册到ObjectMapper后：
+ * 1. 由 {@link DesensitizeBeanSerializerModifier} 按类绑定带有@Desensitize注解的属性；
+ * 2. 插入注解解析器，使@Desensitize解析为缓存中绑定了策略服务的 {@link DesensitizeSerializer}，
+ *    序列化器解析过程不依赖Spring容器，应用上下文刷新完成前创建的ObjectMapper也能稳定脱敏
+ *
+ * 未注册本模块的ObjectMapper仍会按@Desensitize上声明的 {@link DesensitizeSerializer} 使用内置策略脱敏，
+ * 缓存、消息队列、服务间调用等需要原值的ObjectMapper应注册 {@link #unmasked()}，
+ * 该模块将@Desensitize属性解析为类型本身的序列化器，不产生任何脱敏开销
+ *
+ * 同一个ObjectMapper可按请求切换脱敏方案，见 {@link MaskingProfile}
+ *
+ * 使用示例：
+ * new ObjectMapper().registerModule(new DesensitizeModule(strategyService))
+ * new ObjectMapper().registerModule(DesensitizeModule.unmasked())
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 模块名称
+     */
+    public static final String MODULE_NAME = "DesensitizeModule";
+
+    /**
+     * 不脱敏模块名称
+     */
+    public static final String UNMASKED_MODULE_NAME = "DesensitizeModule-unmasked";
+
+    /**
+     * 脱敏序列化器缓存，不脱敏模块为null
+     */
+    private final transient DesensitizeSerializerCache serializerCache;
+
+    private DesensitizeModule() {
+        super(UNMASKED_MODULE_NAME, Version.unknownVersion());
+        this.serializerCache = null;
+    }
+
+    public DesensitizeModule(DesensitizeStrategyService strategyService) {
+        this(new DesensitizeSerializerCache(strategyService));
+    }
+
+    /**
+     * 创建脱敏模块
+     *
+     * @param strategyService 脱敏策略服务
+     * @param defaultProfile  未通过序列化属性或线程绑定指定方案时使用的脱敏方案
+     */
+    public DesensitizeModule(DesensitizeStrategyService strategyService, MaskingProfile defaultProfile) {
+        this(new DesensitizeSerializerCache(strategyService, defaultProfile));
+    }
+
+    public DesensitizeModule(DesensitizeSerializerCache serializerCache) {
+        super(MODULE_NAME, Version.unknownVersion());
+        if (serializerCache == null) {
+            throw new IllegalArgumentException("DesensitizeSerializerCache不能为null");
+        }
+        this.serializerCache = serializerCache;
+        setSerializerModifier(new DesensitizeBeanSerializerModifier(serializerCache));
+    }
+
+    /**
+     * 创建不脱敏模块
+     * 注册后@Desensitize属性按原值输出，用于需要保留原始数据的ObjectMapper
+     *
+     * @return 不脱敏模块
+     */
+    public static DesensitizeModule unmasked() {
+        return new DesensitizeModule();
+    }
+
+    @Override
+    public Object getTypeId() {
+        // 脱敏与不脱敏模块使用不同的标识，避免ObjectMapper按类型去重时互相覆盖
+        return getModuleName();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        if (serializerCache == null) {
+            context.insertAnnotationIntrospector(new UnmaskedAnnotationIntrospector());
+        } else {
+            context.insertAnnotationIntrospector(new DesensitizeAnnotationIntrospector(serializerCache));
+        }
+    }
+
+    /**
+     * 是否为不脱敏模块
+     */
+    public boolean isUnmasked() {
+        return serializerCache == null;
+    }
+
+    /**
+     * 获取默认脱敏方案，不脱敏模块返回raw
+     */
+    public MaskingProfile getDefaultProfile() {
+        return serializerCache != null ? serializerCache.getDefaultProfile() : MaskingProfile.RAW;
+    }
+
+    /**
+     * 获取脱敏序列化器缓存，不脱敏模块返回null
+     */
+    public DesensitizeSerializerCache getSerializerCache() {
+        return serializerCache;
+    }
+
+    /**
+     * 脱敏注解解析器
+     * 将启用的@Desensitize解析为缓存中的共享序列化器，优先于注解上声明的无参序列化器；
+     * 未启用或参数无效的注解交给无参序列化器按原值处理
+     */
+    static class DesensitizeAnnotationIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient DesensitizeSerializerCache serializerCache;
+
+        DesensitizeAnnotationIntrospector(DesensitizeSerializerCache serializerCache) {
+            this.serializerCache = serializerCache;
+        }
+
+        @Override
+        public Object findSerializer(Annotated am) {
+            Desensitize annotation = am.getAnnotation(Desensitize.class);
+            if (annotation == null || annotation.type() == null || !annotation.enabled()) {
+                return null;
+            }
+            return serializerCache.get(DesensitizeConfig.of(annotation));
+        }
+    }
+
+    /**
+     * 不脱敏注解解析器
+     * 将@Desensitize解析为按属性类型查找原序列化器的占位序列化器，优先于注解上声明的脱敏序列化器
+     */
+    static class UnmaskedAnnotationIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findSerializer(Annotated am) {
+            return am.hasAnnotation(Desensitize.class) ? PlainValueSerializer.INSTANCE : null;
+        }
+    }
+
+    /**
+     * 原值序列化器
+     * 上下文化时替换为属性类型本身的序列化器，序列化过程与未标注@Desensitize的属性完全一致
+     */
+    static final class PlainValueSerializer extends StdSerializer<Object> implements ContextualSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        static final PlainValueSerializer INSTANCE = new PlainValueSerializer();
+
+        private PlainValueSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+                throws JsonMappingException {
+            if (property == null) {
+                return this;
+            }
+            return prov.findValueSerializer(property.getType(), property);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
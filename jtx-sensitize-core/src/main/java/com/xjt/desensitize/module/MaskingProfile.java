@@ -0,0 +1,227 @@
+package com.xjt.desensitize.module;
+
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 脱敏方案
+ * 指定哪些脱敏类型需要脱敏，同一个ObjectMapper可按请求选择不同方案输出，
+ * 序列化器按类型缓存一次，方案在每次写值时以数组下标判断，不产生额外对象
+ *
+ * 方案的选择顺序：
+ * 1. 序列化属性 {@link #ATTRIBUTE}，如 mapper.writer().withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.RAW)；
+ * 2. 当前线程通过 {@link #use(MaskingProfile)} 绑定的方案，作用域结束时自动恢复；
+ * 3. 序列化器缓存（DesensitizeModule）的默认方案
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class MaskingProfile {
+
+    /**
+     * 序列化属性名，属性值为MaskingProfile实例
+     */
+    public static final String ATTRIBUTE = MaskingProfile.class.getName();
+
+    /**
+     * 对外方案：全部类型脱敏
+     */
+    public static final MaskingProfile PUBLIC = new MaskingProfile("public", EnumSet.allOf(DesensitizeType.class));
+
+    /**
+     * 内部方案默认仍需脱敏的类型：证件号、银行卡号、密码及JSON字段、自定义脱敏
+     */
+    public static final Set<DesensitizeType> INTERNAL_MASKED_TYPES = Collections.unmodifiableSet(EnumSet.of(
+            DesensitizeType.ID_CARD, DesensitizeType.BANK_CARD, DesensitizeType.PASSWORD,
+            DesensitizeType.JSON_FIELD, DesensitizeType.CUSTOM));
+
+    /**
+     * 内部方案：联系信息明文展示，{@link #INTERNAL_MASKED_TYPES} 中的类型仍然脱敏，
+     * 需要调整时使用 {@link #internal(Collection)} 创建
+     */
+    public static final MaskingProfile INTERNAL = new MaskingProfile("internal", INTERNAL_MASKED_TYPES);
+
+    /**
+     * 原值方案：全部类型不脱敏
+     */
+    public static final MaskingProfile RAW = new MaskingProfile("raw", EnumSet.noneOf(DesensitizeType.class));
+
+    private static final ThreadLocal<MaskingProfile> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 方案名称
+     */
+    private final String name;
+
+    /**
+     * 按DesensitizeType序号索引的脱敏开关
+     */
+    private final boolean[] masked;
+
+    private MaskingProfile(String name, Set<DesensitizeType> maskedTypes) {
+        this.name = name;
+        this.masked = new boolean[DesensitizeType.values().length];
+        for (DesensitizeType type : maskedTypes) {
+            this.masked[type.ordinal()] = true;
+        }
+    }
+
+    /**
+     * 创建自定义脱敏方案
+     *
+     * @param name        方案名称
+     * @param maskedTypes 需要脱敏的类型
+     * @return 脱敏方案
+     */
+    public static MaskingProfile of(String name, DesensitizeType... maskedTypes) {
+        return of(name, Arrays.asList(maskedTypes));
+    }
+
+    /**
+     * 创建自定义脱敏方案
+     *
+     * @param name        方案名称
+     * @param maskedTypes 需要脱敏的类型
+     * @return 脱敏方案
+     */
+    public static MaskingProfile of(String name, Collection<DesensitizeType> maskedTypes) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("脱敏方案名称不能为空");
+        }
+        Set<DesensitizeType> types = EnumSet.noneOf(DesensitizeType.class);
+        if (maskedTypes != null) {
+            for (DesensitizeType type : maskedTypes) {
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+        }
+        return new MaskingProfile(name, types);
+    }
+
+    /**
+     * 创建仍需脱敏的类型不同于默认值的内部方案
+     *
+     * @param maskedTypes 内部方案下仍需脱敏的类型
+     * @return 名称为internal的脱敏方案
+     */
+    public static MaskingProfile internal(Collection<DesensitizeType> maskedTypes) {
+        return of(INTERNAL.name, maskedTypes);
+    }
+
+    /**
+     * 按名称获取内置脱敏方案，忽略大小写
+     *
+     * @param name 方案名称：public、internal、raw
+     * @return 脱敏方案
+     * @throws IllegalArgumentException 名称不是内置方案时抛出
+     */
+    public static MaskingProfile forName(String name) {
+        String key = name != null ? name.trim().toLowerCase(Locale.ROOT) : "";
+        switch (key) {
+            case "public":
+                return PUBLIC;
+            case "internal":
+                return INTERNAL;
+            case "raw":
+                return RAW;
+            default:
+                throw new IllegalArgumentException("未知的脱敏方案: " + name);
+        }
+    }
+
+    /**
+     * 在当前线程绑定脱敏方案，返回的作用域关闭时恢复绑定前的方案，需配合try-with-resources使用：
+     * try (MaskingProfile.Scope ignored = MaskingProfile.use(MaskingProfile.RAW)) { ... }
+     * 作用域必须在打开它的线程上关闭，嵌套使用时按相反顺序关闭
+     *
+     * @param profile 脱敏方案，为null时作用域内不使用线程绑定的方案
+     * @return 作用域
+     */
+    public static Scope use(MaskingProfile profile) {
+        Scope scope = new Scope(CURRENT.get());
+        bind(profile);
+        return scope;
+    }
+
+    /**
+     * 获取当前线程绑定的脱敏方案
+     *
+     * @return 脱敏方案，未绑定时返回null
+     */
+    public static MaskingProfile current() {
+        return CURRENT.get();
+    }
+
+    private static void bind(MaskingProfile profile) {
+        if (profile == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile);
+        }
+    }
+
+    /**
+     * 解析本次序列化生效的脱敏方案
+     *
+     * @param provider       序列化上下文
+     * @param defaultProfile 默认方案
+     * @return 生效的脱敏方案
+     */
+    public static MaskingProfile resolve(SerializerProvider provider, MaskingProfile defaultProfile) {
+        Object attribute = provider != null ? provider.getAttribute(ATTRIBUTE) : null;
+        if (attribute instanceof MaskingProfile) {
+            return (MaskingProfile) attribute;
+        }
+        MaskingProfile current = CURRENT.get();
+        return current != null ? current : defaultProfile;
+    }
+
+    /**
+     * 判断指定类型在本方案下是否需要脱敏
+     *
+     * @param type 脱敏类型
+     * @return 需要脱敏时返回true
+     */
+    public boolean isMasked(DesensitizeType type) {
+        return type != null && masked[type.ordinal()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "MaskingProfile{" + name + "}";
+    }
+
+    /**
+     * 线程绑定作用域，关闭时恢复打开前绑定的方案，重复关闭无效果
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final MaskingProfile previous;
+
+        private boolean closed;
+
+        private Scope(MaskingProfile previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                bind(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.xjt.desensitize.annotation.Desensitize;
+
+import java.util.List;
+
+/**
+ * 脱敏Bean序列化器修改器
+ * 每个Bean类型构建序列化器时扫描一次全部属性，将带有@Desensitize注解的属性（字段或getter方法）
+ * 绑定到按配置共享的脱敏序列化器，并替换为 {@link DesensitizePropertyWriter}，
+ * 序列化时不再按属性查找上下文序列化器
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeBeanSerializerModifier extends BeanSerializerModifier {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 脱敏序列化器缓存
+     */
+    private final transient DesensitizeSerializerCache serializerCache;
+
+    public DesensitizeBeanSerializerModifier(DesensitizeSerializerCache serializerCache) {
+        this.serializerCache = serializerCache;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        if (serializerCache == null) {
+            return beanProperties;
+        }
+        for (int i = 0; i < beanProperties.size(); i++) {
+            BeanPropertyWriter writer = beanProperties.get(i);
+            DesensitizeSerializer serializer = resolve(writer);
+            if (serializer != null && serializer.getMaskFunction() != null) {
+                beanProperties.set(i, new DesensitizePropertyWriter(writer, serializer));
+            }
+        }
+        return beanProperties;
+    }
+
+    /**
+     * 获取属性对应的共享序列化器，属性没有注解、注解无效或未启用脱敏时返回null
+     */
+    private DesensitizeSerializer resolve(BeanPropertyWriter writer) {
+        if (writer instanceof DesensitizePropertyWriter) {
+            return null;
+        }
+        // 字段与getter上的注解在属性收集时已合并到访问器上
+        Desensitize annotation = writer.getAnnotation(Desensitize.class);
+        if (annotation == null) {
+            return null;
+        }
+        if (annotation.type() == null) {
+            System.err.println("@Desensitize注解的type参数不能为空，跳过脱敏处理: " + writer.getName());
+            return null;
+        }
+        if (!annotation.enabled()) {
+            return null;
+        }
+        // 相同配置的属性共享同一个序列化器及其编译后的脱敏函数
+        return serializerCache.get(DesensitizeConfig.of(annotation));
+    }
+}
@@ -0,0 +1,156 @@
+package com.xjt.desensitize.serializer;
+
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+
+import java.util.Objects;
+
+/**
+ * 脱敏配置
+ * {@link Desensitize} 注解解析后的不可变值对象，属性相同的配置相等，
+ * 用作序列化器缓存的键，使配置相同的属性共享同一个序列化器和编译后的脱敏函数
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class DesensitizeConfig {
+
+    /**
+     * 脱敏类型
+     */
+    private final DesensitizeType type;
+
+    /**
+     * 自定义脱敏格式
+     */
+    private final String customFormat;
+
+    /**
+     * 开始保留字符数
+     */
+    private final int startKeep;
+
+    /**
+     * 结尾保留字符数
+     */
+    private final int endKeep;
+
+    /**
+     * 脱敏字符
+     */
+    private final char maskChar;
+
+    /**
+     * 是否启用脱敏
+     */
+    private final boolean enabled;
+
+    /**
+     * 字段级脱敏配置（用于JSON_FIELD类型）
+     */
+    private final String fieldConfigs;
+
+    /**
+     * JSON字段脱敏结果是否以内嵌JSON对象形式输出（用于JSON_FIELD类型）
+     */
+    private final boolean rawJson;
+
+    /**
+     * 预先计算的哈希值
+     */
+    private final int hash;
+
+    public DesensitizeConfig(DesensitizeType type, String customFormat, int startKeep, int endKeep,
+                             char maskChar, boolean enabled, String fieldConfigs, boolean rawJson) {
+        this.type = type;
+        this.customFormat = customFormat != null ? customFormat : "";
+        this.startKeep = startKeep;
+        this.endKeep = endKeep;
+        this.maskChar = maskChar;
+        this.enabled = enabled;
+        this.fieldConfigs = fieldConfigs != null ? fieldConfigs : "";
+        this.rawJson = rawJson;
+        this.hash = Objects.hash(type, this.customFormat, startKeep, endKeep, maskChar, enabled,
+                this.fieldConfigs, rawJson);
+    }
+
+    /**
+     * 从注解创建脱敏配置
+     * 自定义脱敏的保留字符数为负数时回退为0
+     *
+     * @param annotation 脱敏注解
+     * @return 脱敏配置
+     */
+    public static DesensitizeConfig of(Desensitize annotation) {
+        if (annotation.type() == DesensitizeType.CUSTOM && (annotation.startKeep() < 0 || annotation.endKeep() < 0)) {
+            System.err.println("自定义脱敏的开始保留字符数和结束保留字符数不能为负数，使用默认值");
+            return new DesensitizeConfig(annotation.type(), annotation.customFormat(), 0, 0,
+                    annotation.maskChar(), annotation.enabled(), "", false);
+        }
+        return new DesensitizeConfig(annotation.type(), annotation.customFormat(), annotation.startKeep(),
+                annotation.endKeep(), annotation.maskChar(), annotation.enabled(), annotation.fieldConfigs(),
+                annotation.rawJson());
+    }
+
+    public DesensitizeType getType() {
+        return type;
+    }
+
+    public String getCustomFormat() {
+        return customFormat;
+    }
+
+    public int getStartKeep() {
+        return startKeep;
+    }
+
+    public int getEndKeep() {
+        return endKeep;
+    }
+
+    public char getMaskChar() {
+        return maskChar;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getFieldConfigs() {
+        return fieldConfigs;
+    }
+
+    public boolean isRawJson() {
+        return rawJson;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        DesensitizeConfig that = (DesensitizeConfig) obj;
+
+        if (hash != that.hash) return false;
+        if (startKeep != that.startKeep) return false;
+        if (endKeep != that.endKeep) return false;
+        if (maskChar != that.maskChar) return false;
+        if (enabled != that.enabled) return false;
+        if (rawJson != that.rawJson) return false;
+        if (type != that.type) return false;
+        if (!customFormat.equals(that.customFormat)) return false;
+        return fieldConfigs.equals(that.fieldConfigs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DesensitizeConfig{type=" + type + ", customFormat='" + customFormat + "', startKeep=" + startKeep
+                + ", endKeep=" + endKeep + ", maskChar=" + maskChar + ", enabled=" + enabled
+                + ", fieldConfigs='" + fieldConfigs + "', rawJson=" + rawJson + "}";
+    }
+}
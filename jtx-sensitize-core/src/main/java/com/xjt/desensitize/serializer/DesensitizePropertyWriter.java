@@ -0,0 +1,120 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+
+import java.lang.reflect.Field;
+
+/**
+ * 脱敏属性写入器
+ * 替换Bean序列化器中带有@Desensitize注解的属性写入器，值序列化器在构建时绑定为
+ * 按配置共享的 {@link DesensitizeSerializer}，Bean序列化器解析时不再按属性查找值序列化器。
+ * null值、@JsonInclude省略规则、属性重命名、数组形式输出及多态类型信息均与普通属性一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizePropertyWriter extends BeanPropertyWriter {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 绑定的脱敏序列化器，long、int字段通过它写出基本类型值
+     */
+    private final transient DesensitizeSerializer desensitizeSerializer;
+
+    /**
+     * 是否为直接按字段读取的long或int属性，此类属性读取时不装箱
+     */
+    private final transient boolean primitiveField;
+
+    public DesensitizePropertyWriter(BeanPropertyWriter base, DesensitizeSerializer serializer) {
+        super(base);
+        // 原写入器可能已绑定注解声明的序列化器，这里统一替换为共享的脱敏序列化器
+        this._serializer = serializer;
+        this.desensitizeSerializer = serializer;
+        this.primitiveField = isPrimitiveField(_accessorMethod == null ? _field : null);
+    }
+
+    protected DesensitizePropertyWriter(DesensitizePropertyWriter base, PropertyName name) {
+        super(base, name);
+        this.desensitizeSerializer = base.desensitizeSerializer;
+        this.primitiveField = base.primitiveField;
+    }
+
+    @Override
+    protected BeanPropertyWriter _new(PropertyName newName) {
+        return new DesensitizePropertyWriter(this, newName);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        // long、int字段在不需要按值省略且不写类型标识时直接读取基本类型值
+        if (primitiveField && _suppressableValue == null && _typeSerializer == null) {
+            gen.writeFieldName(_name);
+            desensitizeSerializer.serializeLong(_field.getLong(bean), _field.getType(), gen, prov);
+            return;
+        }
+        Object value = get(bean);
+        if (value == null) {
+            if (_nullSerializer != null) {
+                gen.writeFieldName(_name);
+                _nullSerializer.serialize(null, gen, prov);
+            }
+            return;
+        }
+        if (isSuppressed(value, prov)) {
+            return;
+        }
+        gen.writeFieldName(_name);
+        writeValue(value, gen, prov);
+    }
+
+    @Override
+    public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (primitiveField && _typeSerializer == null) {
+            desensitizeSerializer.serializeLong(_field.getLong(bean), _field.getType(), gen, prov);
+            return;
+        }
+        Object value = get(bean);
+        if (value == null) {
+            if (_nullSerializer != null) {
+                _nullSerializer.serialize(null, gen, prov);
+            } else {
+                gen.writeNull();
+            }
+            return;
+        }
+        writeValue(value, gen, prov);
+    }
+
+    /**
+     * 按@JsonInclude配置判断非null值是否需要省略，NON_EMPTY的判断交给值序列化器
+     */
+    private boolean isSuppressed(Object value, SerializerProvider prov) {
+        if (_suppressableValue == null) {
+            return false;
+        }
+        if (_suppressableValue == MARKER_FOR_EMPTY) {
+            return _serializer.isEmpty(prov, value);
+        }
+        return _suppressableValue.equals(value);
+    }
+
+    /**
+     * 写出脱敏后的属性值，启用多态类型信息时一并写出类型标识
+     */
+    private void writeValue(Object value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (_typeSerializer == null) {
+            _serializer.serialize(value, gen, prov);
+        } else {
+            _serializer.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+    }
+
+    private static boolean isPrimitiveField(Field field) {
+        return field != null && (field.getType() == long.class || field.getType() == int.class);
+    }
+}
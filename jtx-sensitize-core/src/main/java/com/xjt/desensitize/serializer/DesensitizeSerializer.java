@@ -0,0 +1,318 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.module.MaskingProfile;
+import com.xjt.desensitize.strategy.DesensitizeStrategy;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.strategy.impl.JsonFieldDesensitizeStrategy;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * 数据脱敏序列化器
+ * 由@Desensitize声明，序列化器的来源取决于ObjectMapper注册的模块：
+ * 1. 注册 {@link com.xjt.desensitize.module.DesensitizeModule} 时，使用模块缓存中绑定了策略服务的实例；
+ * 2. 未注册该模块时，通过无参构造器实例化，再从基于内置策略的默认缓存中获取实例，保证默认即脱敏；
+ * 3. 注册 {@link com.xjt.desensitize.module.DesensitizeModule#unmasked()} 时不会使用本序列化器，属性按原值输出
+ * 每次写值时按 {@link MaskingProfile} 判断该类型是否需要脱敏，不需要时直接输出原值
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeSerializer extends StdSerializer<Object> implements ContextualSerializer {
+
+    /**
+     * 脱敏策略服务
+     */
+    private transient DesensitizeStrategyService strategyService;
+
+    /**
+     * 脱敏配置
+     */
+    private DesensitizeConfig config;
+
+    /**
+     * 预编译的脱敏函数，未启用脱敏或没有策略服务时为null
+     */
+    private transient MaskFunction maskFunction;
+
+    /**
+     * 未通过序列化属性或线程绑定指定方案时使用的脱敏方案
+     */
+    private final MaskingProfile defaultProfile;
+
+    public DesensitizeSerializer() {
+        this((DesensitizeStrategyService) null);
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService) {
+        super(Object.class);
+        this.strategyService = strategyService;
+        this.defaultProfile = MaskingProfile.PUBLIC;
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService, DesensitizeType type,
+                                 String customFormat, int startKeep, int endKeep, char maskChar, boolean enabled) {
+        this(strategyService, new DesensitizeConfig(type, customFormat, startKeep, endKeep, maskChar, enabled,
+                "", false));
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService, DesensitizeType type,
+                                 String customFormat, int startKeep, int endKeep, char maskChar, boolean enabled, String fieldConfigs) {
+        this(strategyService, new DesensitizeConfig(type, customFormat, startKeep, endKeep, maskChar, enabled,
+                fieldConfigs, false));
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService, DesensitizeType type,
+                                 String customFormat, int startKeep, int endKeep, char maskChar, boolean enabled,
+                                 String fieldConfigs, boolean rawJson) {
+        this(strategyService, new DesensitizeConfig(type, customFormat, startKeep, endKeep, maskChar, enabled,
+                fieldConfigs, rawJson));
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService, DesensitizeConfig config) {
+        this(strategyService, config, MaskingProfile.PUBLIC);
+    }
+
+    public DesensitizeSerializer(DesensitizeStrategyService strategyService, DesensitizeConfig config,
+                                 MaskingProfile defaultProfile) {
+        super(Object.class);
+        this.strategyService = strategyService;
+        this.config = config;
+        this.defaultProfile = defaultProfile != null ? defaultProfile : MaskingProfile.PUBLIC;
+        this.maskFunction = compileMaskFunction();
+    }
+
+    /**
+     * 获取脱敏配置
+     */
+    public DesensitizeConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 获取默认脱敏方案
+     */
+    public MaskingProfile getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    /**
+     * 获取预编译的脱敏函数，未启用脱敏或没有策略服务时为null
+     */
+    MaskFunction getMaskFunction() {
+        return maskFunction;
+    }
+
+    /**
+     * 将脱敏类型和参数编译为脱敏函数，策略查找和参数校验只在此处执行一次
+     */
+    private MaskFunction compileMaskFunction() {
+        if (config == null || !config.isEnabled() || strategyService == null) {
+            return null;
+        }
+        DesensitizeType type = config.getType();
+        // JSON字段脱敏需要绑定字段配置，结果直接流式写入生成器
+        if (type == DesensitizeType.JSON_FIELD && strategyService instanceof DesensitizeStrategyServiceImpl) {
+            DesensitizeStrategy strategy = ((DesensitizeStrategyServiceImpl) strategyService).getStrategy(type);
+            if (strategy instanceof JsonFieldDesensitizeStrategy) {
+                return ((JsonFieldDesensitizeStrategy) strategy).compile(config.getFieldConfigs(),
+                        config.getMaskChar(), config.isRawJson());
+            }
+        }
+        return strategyService.compile(type, config.getCustomFormat(), config.getStartKeep(), config.getEndKeep(),
+                config.getMaskChar());
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) {
+        // 已绑定配置的实例来自序列化器缓存（由DesensitizeModule解析注解得到），无需再次解析
+        if (config != null) {
+            return this;
+        }
+        try {
+            // 获取字段上的Desensitize注解
+            Desensitize annotation = property.getAnnotation(Desensitize.class);
+            if (annotation == null) {
+                return prov.findValueSerializer(property.getType().getRawClass(), property);
+            }
+
+            // 验证注解参数
+            if (annotation.type() == null) {
+                System.err.println("@Desensitize注解的type参数不能为空，跳过脱敏处理");
+                return prov.findValueSerializer(property.getType().getRawClass(), property);
+            }
+
+            // 未启用脱敏时直接使用默认序列化器
+            if (!annotation.enabled()) {
+                return prov.findValueSerializer(property.getType().getRawClass(), property);
+            }
+
+            // 未注册DesensitizeModule的ObjectMapper使用基于内置脱敏策略的默认缓存，
+            // 相同配置的属性共用同一个实例及其编译后的脱敏函数
+            return DesensitizeSerializerCache.getDefault().get(DesensitizeConfig.of(annotation));
+
+        } catch (Exception e) {
+            // 处理createContextual过程中的其他异常
+            System.err.println("创建脱敏序列化器上下文时发生错误，使用默认序列化器: " + e.getMessage());
+
+            try {
+                return prov.findValueSerializer(property.getType().getRawClass(), property);
+            } catch (Exception fallbackException) {
+                System.err.println("获取默认序列化器也失败: " + fallbackException.getMessage());
+                // 最后的保险措施：返回一个简单的序列化器
+                return new JsonSerializer<Object>() {
+                    @Override
+                    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                        gen.writeObject(value);
+                    }
+                };
+            }
+        }
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+
+        // 未启用脱敏时直接序列化原值
+        if (maskFunction == null) {
+            gen.writeObject(value);
+            return;
+        }
+
+        // 当前脱敏方案不要求脱敏该类型时输出原值
+        if (!isMasked(provider)) {
+            writeRaw(value, gen, provider);
+            return;
+        }
+
+        try {
+            if (value instanceof Number) {
+                // 整型和大数直接渲染为字符后原地脱敏，不经过toString
+                maskFunction.write((Number) value, gen);
+            } else {
+                maskFunction.write(value.toString(), gen);
+            }
+        } catch (Exception e) {
+            // 脱敏处理失败时，记录错误并回退到原值的序列化
+            System.err.println("数据脱敏处理失败，使用原值。错误信息: " + e.getMessage() +
+                ", 原始值: " + value.getClass().getSimpleName());
+            gen.writeObject(value);
+        }
+    }
+
+    /**
+     * 序列化long或int属性的值，脱敏时数字直接渲染到缓冲区原地脱敏，不装箱
+     *
+     * @param value    属性值
+     * @param rawType  属性的声明类型，long.class或int.class
+     * @param gen      JSON生成器
+     * @param provider 序列化提供者
+     * @throws IOException 写入失败时抛出
+     */
+    void serializeLong(long value, Class<?> rawType, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (maskFunction == null || !isMasked(provider)) {
+            // 原值按包装类型序列化，保留应用为Long等类型注册的序列化器
+            Object boxed = rawType == int.class ? (Object) (int) value : (Object) value;
+            if (maskFunction == null) {
+                gen.writeObject(boxed);
+            } else {
+                writeRaw(boxed, gen, provider);
+            }
+            return;
+        }
+        try {
+            maskFunction.write(value, gen);
+        } catch (Exception e) {
+            System.err.println("数据脱敏处理失败，使用原值。错误信息: " + e.getMessage() +
+                ", 原始值: " + rawType.getSimpleName());
+            gen.writeNumber(value);
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSer) throws IOException {
+        if (value == null) {
+            provider.defaultSerializeNull(gen);
+            return;
+        }
+        // 未启用脱敏或当前方案不脱敏该类型时按原值类型写出类型标识
+        if (maskFunction == null || !isMasked(provider)) {
+            provider.findValueSerializer(value.getClass()).serializeWithType(value, gen, provider, typeSer);
+            return;
+        }
+        // 脱敏结果是字符串，与StringSerializer一致按自然类型写出，不附加类型标识
+        serialize(value, gen, provider);
+    }
+
+    /**
+     * 判断本次序列化生效的脱敏方案是否要求脱敏该类型
+     */
+    private boolean isMasked(SerializerProvider provider) {
+        return MaskingProfile.resolve(provider, defaultProfile).isMasked(config.getType());
+    }
+
+    /**
+     * 按值的运行时类型输出原值，String直接写出，其他类型使用已缓存的值序列化器
+     */
+    private static void writeRaw(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value instanceof String) {
+            gen.writeString((String) value);
+        } else {
+            provider.findValueSerializer(value.getClass()).serialize(value, gen, provider);
+        }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() == 0;
+        }
+        if (provider == null) {
+            return false;
+        }
+        // 非字符串值是否为空由其类型自身的序列化器决定，与未脱敏时的NON_EMPTY规则一致
+        try {
+            return provider.findValueSerializer(value.getClass()).isEmpty(provider, value);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        DesensitizeSerializer that = (DesensitizeSerializer) obj;
+
+        if (!Objects.equals(config, that.config)) return false;
+        if (defaultProfile != that.defaultProfile) return false;
+        return Objects.equals(strategyService, that.strategyService);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(strategyService, config, defaultProfile);
+    }
+}
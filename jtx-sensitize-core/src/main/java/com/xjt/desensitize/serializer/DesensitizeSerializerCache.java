@@ -0,0 +1,108 @@
+package com.xjt.desensitize.serializer;
+
+import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.module.MaskingProfile;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 脱敏序列化器缓存
+ * 绑定一个脱敏策略服务和一个默认脱敏方案，按 {@link DesensitizeConfig} 规范化序列化器，
+ * 配置相同的属性共用同一个序列化器及其编译后的脱敏函数；策略服务或默认方案不同时应使用不同的缓存。
+ * 缓存的生命周期与持有它的应用上下文一致，上下文重启后随策略服务一起重建；
+ * 配置来自注解，条目数以代码中不同的注解配置数为上限，因此不做淘汰
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeSerializerCache {
+
+    /**
+     * 脱敏策略服务
+     */
+    private final DesensitizeStrategyService strategyService;
+
+    /**
+     * 默认脱敏方案
+     */
+    private final MaskingProfile defaultProfile;
+
+    /**
+     * 按脱敏配置规范化的序列化器
+     */
+    private final ConcurrentMap<DesensitizeConfig, DesensitizeSerializer> serializers = new ConcurrentHashMap<>();
+
+    public DesensitizeSerializerCache(DesensitizeStrategyService strategyService) {
+        this(strategyService, MaskingProfile.PUBLIC);
+    }
+
+    /**
+     * 创建序列化器缓存
+     *
+     * @param strategyService 脱敏策略服务
+     * @param defaultProfile  未通过序列化属性或线程绑定指定方案时使用的脱敏方案，为null时使用public
+     */
+    public DesensitizeSerializerCache(DesensitizeStrategyService strategyService, MaskingProfile defaultProfile) {
+        if (strategyService == null) {
+            throw new IllegalArgumentException("DesensitizeStrategyService不能为null");
+        }
+        this.strategyService = strategyService;
+        this.defaultProfile = defaultProfile != null ? defaultProfile : MaskingProfile.PUBLIC;
+    }
+
+    /**
+     * 获取基于内置脱敏策略的默认缓存
+     * 供未注册DesensitizeModule的ObjectMapper使用，首次访问时创建，创建后不可替换
+     *
+     * @return 默认序列化器缓存
+     */
+    public static DesensitizeSerializerCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * 获取指定配置的共享序列化器
+     *
+     * @param config 脱敏配置
+     * @return 序列化器
+     */
+    public DesensitizeSerializer get(DesensitizeConfig config) {
+        DesensitizeSerializer serializer = serializers.get(config);
+        if (serializer != null) {
+            return serializer;
+        }
+        return serializers.computeIfAbsent(config, key -> new DesensitizeSerializer(strategyService, key, defaultProfile));
+    }
+
+    /**
+     * 获取绑定的脱敏策略服务
+     */
+    public DesensitizeStrategyService getStrategyService() {
+        return strategyService;
+    }
+
+    /**
+     * 获取默认脱敏方案
+     */
+    public MaskingProfile getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    /**
+     * 获取已缓存的序列化器数量
+     */
+    public int size() {
+        return serializers.size();
+    }
+
+    /**
+     * 默认缓存的延迟初始化持有类
+     */
+    private static final class DefaultHolder {
+
+        private static final DesensitizeSerializerCache INSTANCE =
+                new DesensitizeSerializerCache(DesensitizeStrategyServiceImpl.createDefault());
+    }
+}
@@ -0,0 +1,109 @@
+package com.xjt.desensitize.strategy;
+
+import com.xjt.desensitize.util.MaskKernel;
+import com.xjt.desensitize.util.StringUtil;
+
+/**
+ * 抽象脱敏策略基类
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public abstract class AbstractDesensitizeStrategy implements DesensitizeStrategy {
+
+    /**
+     * 默认脱敏字符
+     */
+    protected static final char DEFAULT_MASK = MaskKernel.DEFAULT_MASK;
+
+    /**
+     * 执行通用脱敏逻辑
+     *
+     * @param origin     原始字符串
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @return 脱敏后的字符串
+     */
+    protected String mask(String origin, int startKeep, int endKeep, char maskChar) {
+        if (!StringUtil.hasText(origin)) {
+            return origin;
+        }
+
+        int length = origin.length();
+
+        // 如果字符串长度小于等于要保留的字符总数，全部脱敏或只保留首尾
+        if (length <= startKeep + endKeep) {
+            if (length <= 2) {
+                return MaskKernel.repeat(maskChar, length);
+            }
+            // 保留首尾，中间脱敏
+            return MaskKernel.mask(origin, 1, 1, maskChar);
+        }
+
+        return MaskKernel.mask(origin, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 执行通用脱敏逻辑，结果写入字符数组
+     * 规则与 {@link #mask(String, int, int, char)} 完全一致，脱敏结果长度始终等于原字符串长度
+     *
+     * @param origin     原始字符串，不为null
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @param dst        目标字符数组
+     * @return 写入的字符数，目标数组容量不足时返回-1
+     */
+    protected int mask(String origin, int startKeep, int endKeep, char maskChar, char[] dst) {
+        int length = origin.length();
+        if (!StringUtil.hasText(origin)) {
+            return MaskKernel.mask(origin, length, 0, maskChar, dst);
+        }
+
+        if (length <= startKeep + endKeep) {
+            return length <= 2
+                    ? MaskKernel.mask(origin, 0, 0, maskChar, dst)
+                    : MaskKernel.mask(origin, 1, 1, maskChar, dst);
+        }
+
+        return MaskKernel.mask(origin, startKeep, endKeep, maskChar, dst);
+    }
+
+    /**
+     * 对字符数组原地执行通用脱敏逻辑
+     * 规则与 {@link #mask(String, int, int, char)} 完全一致，脱敏结果长度始终等于原字符数
+     *
+     * @param chars      字符数组
+     * @param length     原始字符数
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @return 脱敏后的字符数
+     */
+    protected int mask(char[] chars, int length, int startKeep, int endKeep, char maskChar) {
+        if (!StringUtil.hasText(chars, length)) {
+            return length;
+        }
+
+        if (length <= startKeep + endKeep) {
+            return length <= 2
+                    ? MaskKernel.mask(chars, length, 0, 0, maskChar)
+                    : MaskKernel.mask(chars, length, 1, 1, maskChar);
+        }
+
+        return MaskKernel.mask(chars, length, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 重复脱敏字符
+     * JDK 1.8兼容方法，替代String.repeat
+     *
+     * @param maskChar 脱敏字符
+     * @param count    重复次数
+     * @return 重复的字符串
+     */
+    protected String repeatMask(char maskChar, int count) {
+        return MaskKernel.repeat(maskChar, count);
+    }
+}
@@ -0,0 +1,42 @@
+package com.xjt.desensitize.strategy;
+
+/**
+ * 脱敏策略接口
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public interface DesensitizeStrategy {
+
+    /**
+     * 执行脱敏处理
+     *
+     * @param origin 原始字符串
+     * @return 脱敏后的字符串
+     */
+    String desensitize(String origin);
+
+    /**
+     * 执行脱敏处理，结果写入字符数组而不创建新字符串
+     * 默认不支持，调用方应在返回-1时改用 {@link #desensitize(String)}
+     *
+     * @param origin 原始字符串，不为null
+     * @param dst    目标字符数组，从下标0开始写入
+     * @return 写入的字符数；不支持或目标数组容量不足时返回-1
+     */
+    default int desensitize(String origin, char[] dst) {
+        return -1;
+    }
+
+    /**
+     * 对字符数组的前length个字符原地执行脱敏处理，用于已渲染为字符的数值等场景
+     * 默认不支持，调用方应在返回-1时改用 {@link #desensitize(String)}
+     *
+     * @param chars  字符数组，脱敏结果从下标0开始写回
+     * @param length 原始字符数
+     * @return 脱敏结果的字符数；不支持或数组容量不足时返回-1
+     */
+    default int desensitize(char[] chars, int length) {
+        return -1;
+    }
+}
\ No newline at end of file
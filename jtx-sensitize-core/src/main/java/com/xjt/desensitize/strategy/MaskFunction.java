@@ -0,0 +1,117 @@
+package com.xjt.desensitize.strategy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.util.MaskBuffer;
+import com.xjt.desensitize.util.NumberChars;
+
+import java.io.IOException;
+
+/**
+ * 预编译的脱敏函数
+ * 脱敏类型、策略和参数在编译时绑定，调用时不再做策略查找和参数校验
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface MaskFunction {
+
+    /**
+     * 不做任何处理的脱敏函数
+     */
+    MaskFunction IDENTITY = origin -> origin;
+
+    /**
+     * 执行脱敏处理
+     *
+     * @param origin 原始字符串
+     * @return 脱敏后的字符串
+     */
+    String apply(String origin);
+
+    /**
+     * 执行脱敏处理，结果写入字符数组
+     * 返回-1表示结果未写入：默认实现不支持字符数组路径，或目标数组容量不足。
+     * 脱敏结果可能比原值长（如邮箱a@b.c脱敏为***@b.c），按原值长度分配的数组也会返回-1，
+     * 调用方应在返回-1时改用 {@link #apply(String)}，如 {@link #write(String, JsonGenerator)}
+     *
+     * @param origin 原始字符串，不为null
+     * @param dst    目标字符数组，从下标0开始写入
+     * @return 写入的字符数；不支持或目标数组容量不足时返回-1，此时目标数组不会被写入
+     */
+    default int apply(String origin, char[] dst) {
+        return -1;
+    }
+
+    /**
+     * 对字符数组的前length个字符原地执行脱敏处理
+     * 返回-1表示未处理：默认实现、自定义格式、结果缓存等不支持原地脱敏，或数组容量不足；
+     * 结果长度可能与原值不同的情况（如含@的邮箱）也返回-1，调用方应改用 {@link #apply(String)}
+     *
+     * @param chars  字符数组，脱敏结果从下标0开始写回
+     * @param length 原始字符数
+     * @return 脱敏结果的字符数；不支持或数组容量不足时返回-1
+     */
+    default int applyInPlace(char[] chars, int length) {
+        return -1;
+    }
+
+    /**
+     * 执行脱敏处理并将结果作为字符串值写入JSON生成器
+     * 优先使用字符数组路径，避免创建中间字符串
+     *
+     * @param origin 原始字符串，不为null
+     * @param gen    JSON生成器
+     * @throws IOException 写入失败时抛出
+     */
+    default void write(String origin, JsonGenerator gen) throws IOException {
+        char[] buffer = MaskBuffer.acquire(origin.length() + MaskBuffer.SLACK);
+        int length = apply(origin, buffer);
+        if (length >= 0) {
+            gen.writeString(buffer, 0, length);
+            return;
+        }
+        String masked = apply(origin);
+        gen.writeString(masked != null ? masked : origin);
+    }
+
+    /**
+     * 将long值脱敏后作为字符串值写入JSON生成器
+     * 数字直接渲染到线程内缓冲区并原地脱敏，不装箱也不创建中间字符串；不支持原地脱敏时回退到字符串版本
+     *
+     * @param value 数值
+     * @param gen   JSON生成器
+     * @throws IOException 写入失败时抛出
+     */
+    default void write(long value, JsonGenerator gen) throws IOException {
+        char[] buffer = MaskBuffer.acquire(NumberChars.MAX_LENGTH + MaskBuffer.SLACK);
+        int length = applyInPlace(buffer, NumberChars.render(value, buffer));
+        if (length >= 0) {
+            gen.writeString(buffer, 0, length);
+            return;
+        }
+        write(Long.toString(value), gen);
+    }
+
+    /**
+     * 将数值脱敏后作为字符串值写入JSON生成器
+     * 整型、BigInteger和BigDecimal渲染到线程内缓冲区后原地脱敏，结果与按toString脱敏一致；
+     * 其他数值类型或不支持原地脱敏时回退到字符串版本
+     *
+     * @param value 数值，不为null
+     * @param gen   JSON生成器
+     * @throws IOException 写入失败时抛出
+     */
+    default void write(Number value, JsonGenerator gen) throws IOException {
+        char[] buffer = MaskBuffer.acquire(NumberChars.MAX_LENGTH + MaskBuffer.SLACK);
+        int rendered = NumberChars.render(value, buffer);
+        if (rendered >= 0) {
+            int length = applyInPlace(buffer, rendered);
+            if (length >= 0) {
+                gen.writeString(buffer, 0, length);
+                return;
+            }
+        }
+        write(value.toString(), gen);
+    }
+}
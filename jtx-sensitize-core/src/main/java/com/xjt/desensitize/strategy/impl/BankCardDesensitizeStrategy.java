@@ -0,0 +1,38 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.xjt.desensitize.strategy.AbstractDesensitizeStrategy;
+
+/**
+ * 银行卡号脱敏策略
+ * 保留后4，如：6222021234567890123 -> ************0123
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class BankCardDesensitizeStrategy extends AbstractDesensitizeStrategy {
+
+    /**
+     * 开始保留字符数
+     */
+    public static final int START_KEEP = 0;
+
+    /**
+     * 结尾保留字符数
+     */
+    public static final int END_KEEP = 4;
+
+    @Override
+    public String desensitize(String origin) {
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+
+    @Override
+    public int desensitize(String origin, char[] dst) {
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK, dst);
+    }
+
+    @Override
+    public int desensitize(char[] chars, int length) {
+        return mask(chars, length, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+}
\ No newline at end of file
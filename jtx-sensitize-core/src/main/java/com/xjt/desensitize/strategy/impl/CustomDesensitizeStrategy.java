@@ -0,0 +1,81 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.xjt.desensitize.strategy.AbstractDesensitizeStrategy;
+import com.xjt.desensitize.util.StringUtil;
+
+/**
+ * 自定义脱敏策略
+ * 根据用户指定的参数进行脱敏
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class CustomDesensitizeStrategy extends AbstractDesensitizeStrategy {
+
+    /**
+     * 默认开始保留字符数
+     */
+    public static final int START_KEEP = 2;
+
+    /**
+     * 默认结尾保留字符数
+     */
+    public static final int END_KEEP = 2;
+
+    /**
+     * 执行自定义脱敏
+     *
+     * @param origin     原始字符串
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @return 脱敏后的字符串
+     */
+    public String desensitize(String origin, int startKeep, int endKeep, char maskChar) {
+        return mask(origin, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 执行自定义脱敏，结果写入字符数组
+     *
+     * @param origin     原始字符串，不为null
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @param dst        目标字符数组
+     * @return 写入的字符数，目标数组容量不足时返回-1
+     */
+    public int desensitize(String origin, int startKeep, int endKeep, char maskChar, char[] dst) {
+        return mask(origin, startKeep, endKeep, maskChar, dst);
+    }
+
+    /**
+     * 对字符数组原地执行自定义脱敏
+     *
+     * @param chars      字符数组
+     * @param length     原始字符数
+     * @param startKeep  开始保留字符数
+     * @param endKeep    结尾保留字符数
+     * @param maskChar   脱敏字符
+     * @return 脱敏后的字符数
+     */
+    public int desensitize(char[] chars, int length, int startKeep, int endKeep, char maskChar) {
+        return mask(chars, length, startKeep, endKeep, maskChar);
+    }
+
+    @Override
+    public String desensitize(String origin) {
+        // 默认保留前后各2位字符
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+
+    @Override
+    public int desensitize(String origin, char[] dst) {
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK, dst);
+    }
+
+    @Override
+    public int desensitize(char[] chars, int length) {
+        return mask(chars, length, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+}
@@ -0,0 +1,65 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.xjt.desensitize.strategy.DesensitizeStrategy;
+import com.xjt.desensitize.util.MaskKernel;
+import com.xjt.desensitize.util.StringUtil;
+
+/**
+ * 邮箱脱敏策略
+ * 隐藏@前部分，如：zhangsan@example.com -> ***@example.com
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class EmailDesensitizeStrategy implements DesensitizeStrategy {
+
+    /**
+     * 脱敏字符
+     */
+    private static final char MASK = MaskKernel.DEFAULT_MASK;
+
+    @Override
+    public String desensitize(String origin) {
+        if (!StringUtil.hasText(origin)) {
+            return origin;
+        }
+
+        int atIndex = origin.indexOf('@');
+        if (atIndex <= 0) {
+            return origin;
+        }
+
+        // 如果@前面只有一个字符，直接脱敏
+        if (atIndex == 1) {
+            return MaskKernel.replace(origin, 0, atIndex, 3, MASK);
+        }
+
+        // 保留第一个字符，其余用*代替
+        return MaskKernel.replace(origin, 1, atIndex, Math.max(atIndex - 1, 2), MASK);
+    }
+
+    @Override
+    public int desensitize(String origin, char[] dst) {
+        int atIndex = StringUtil.hasText(origin) ? origin.indexOf('@') : -1;
+        if (atIndex <= 0) {
+            return MaskKernel.replace(origin, 0, 0, 0, MASK, dst);
+        }
+
+        // 与字符串版本一致：@前只有一个字符时脱敏为3位，否则保留首字符并至少脱敏2位
+        if (atIndex == 1) {
+            return MaskKernel.replace(origin, 0, atIndex, 3, MASK, dst);
+        }
+        return MaskKernel.replace(origin, 1, atIndex, Math.max(atIndex - 1, 2), MASK, dst);
+    }
+
+    @Override
+    public int desensitize(char[] chars, int length) {
+        // 不含@或@位于开头时与字符串版本一致保持原值；需要调整长度的情况由字符串版本处理
+        for (int i = 1; i < length; i++) {
+            if (chars[i] == '@') {
+                return -1;
+            }
+        }
+        return length;
+    }
+}
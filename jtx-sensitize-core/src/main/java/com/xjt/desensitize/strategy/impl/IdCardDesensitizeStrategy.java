@@ -0,0 +1,38 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.xjt.desensitize.strategy.AbstractDesensitizeStrategy;
+
+/**
+ * 身份证号脱敏策略
+ * 保留前6后4，如：11010119900307899X -> 110101********99X
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class IdCardDesensitizeStrategy extends AbstractDesensitizeStrategy {
+
+    /**
+     * 开始保留字符数
+     */
+    public static final int START_KEEP = 6;
+
+    /**
+     * 结尾保留字符数
+     */
+    public static final int END_KEEP = 4;
+
+    @Override
+    public String desensitize(String origin) {
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+
+    @Override
+    public int desensitize(String origin, char[] dst) {
+        return mask(origin, START_KEEP, END_KEEP, DEFAULT_MASK, dst);
+    }
+
+    @Override
+    public int desensitize(char[] chars, int length) {
+        return mask(chars, length, START_KEEP, END_KEEP, DEFAULT_MASK);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.strategy.AbstractDesensitizeStrategy;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.util.JsonFieldDesensitizer;
+import com.xjt.desensitize.util.JsonFieldRulePlan;
+import com.xjt.desensitize.util.StringUtil;
+
+import java.io.IOException;
+
+/**
+ * JSON字段脱敏策略
+ * 支持对JSON字符串中的不同字段应用不同的脱敏类型
+ * 此策略使用独立的JsonFieldDesensitizer实现，不依赖外部策略映射
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class JsonFieldDesensitizeStrategy extends AbstractDesensitizeStrategy {
+
+    @Override
+    public String desensitize(String origin) {
+        return desensitize(origin, "", DEFAULT_MASK);
+    }
+
+    /**
+     * 对JSON字符串进行字段级脱敏处理
+     *
+     * @param origin     原始字符串
+     * @param fieldConfigs 字段配置，多个配置用分号(;)分隔
+     * @param maskChar   脱敏字符
+     * @return 脱敏后的字符串
+     */
+    public String desensitize(String origin, String fieldConfigs, char maskChar) {
+        if (!StringUtil.hasText(origin)) {
+            return origin;
+        }
+
+        // 相同的字段配置只解析一次，编译后的规则计划从缓存中复用
+        JsonFieldRulePlan plan = JsonFieldRulePlan.compile(fieldConfigs);
+        JsonFieldDesensitizer desensitizer = new JsonFieldDesensitizer(plan);
+
+        // 流式重写，单次解析完成校验与脱敏，不是JSON格式时返回原字符串
+        return desensitizer.desensitizeStreaming(origin, maskChar);
+    }
+
+    /**
+     * 对JSON字符串进行字段级脱敏处理，并将结果直接写入外层JSON生成器
+     *
+     * @param origin       原始字符串
+     * @param fieldConfigs 字段配置，多个配置用分号(;)分隔
+     * @param maskChar     脱敏字符
+     * @param rawJson      是否以内嵌JSON对象形式输出，false时输出为转义后的字符串
+     * @param gen          外层JSON生成器
+     * @throws IOException 写入失败时抛出
+     */
+    public void desensitize(String origin, String fieldConfigs, char maskChar, boolean rawJson,
+                            JsonGenerator gen) throws IOException {
+        JsonFieldDesensitizer desensitizer = new JsonFieldDesensitizer(JsonFieldRulePlan.compile(fieldConfigs));
+        if (rawJson) {
+            desensitizer.writeAsJson(origin, maskChar, gen);
+        } else {
+            desensitizer.writeAsString(origin, maskChar, gen);
+        }
+    }
+
+    /**
+     * 将字段配置编译为预绑定的脱敏函数
+     * 规则计划只解析一次，写入JSON生成器时直接流式输出
+     *
+     * @param fieldConfigs 字段配置，多个配置用分号(;)分隔
+     * @param maskChar     脱敏字符
+     * @param rawJson      写入生成器时是否以内嵌JSON对象形式输出
+     * @return 脱敏函数
+     */
+    public MaskFunction compile(String fieldConfigs, char maskChar, boolean rawJson) {
+        final JsonFieldDesensitizer desensitizer = new JsonFieldDesensitizer(JsonFieldRulePlan.compile(fieldConfigs));
+        return new MaskFunction() {
+            @Override
+            public String apply(String origin) {
+                return StringUtil.hasText(origin) ? desensitizer.desensitizeStreaming(origin, maskChar) : origin;
+            }
+
+            @Override
+            public void write(String origin, JsonGenerator gen) throws IOException {
+                if (rawJson) {
+                    desensitizer.writeAsJson(origin, maskChar, gen);
+                } else {
+                    desensitizer.writeAsString(origin, maskChar, gen);
+                }
+            }
+        };
+    }
+}
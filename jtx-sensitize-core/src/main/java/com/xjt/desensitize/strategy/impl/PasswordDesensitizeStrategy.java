@@ -0,0 +1,55 @@
+package com.xjt.desensitize.strategy.impl;
+
+import com.xjt.desensitize.strategy.DesensitizeStrategy;
+import com.xjt.desensitize.util.StringUtil;
+
+/**
+ * 密码脱敏策略
+ * 全部隐藏，如：123456 -> ******
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class PasswordDesensitizeStrategy implements DesensitizeStrategy {
+
+    /**
+     * 脱敏结果，固定长度以免泄露密码长度
+     */
+    public static final String MASKED = "******";
+
+    @Override
+    public String desensitize(String origin) {
+        if (!StringUtil.hasText(origin)) {
+            return origin;
+        }
+        return MASKED;
+    }
+
+    @Override
+    public int desensitize(String origin, char[] dst) {
+        if (!StringUtil.hasText(origin)) {
+            if (dst.length < origin.length()) {
+                return -1;
+            }
+            origin.getChars(0, origin.length(), dst, 0);
+            return origin.length();
+        }
+        if (dst.length < MASKED.length()) {
+            return -1;
+        }
+        MASKED.getChars(0, MASKED.length(), dst, 0);
+        return MASKED.length();
+    }
+
+    @Override
+    public int desensitize(char[] chars, int length) {
+        if (!StringUtil.hasText(chars, length)) {
+            return length;
+        }
+        if (chars.length < MASKED.length()) {
+            return -1;
+        }
+        MASKED.getChars(0, MASKED.length(), chars, 0);
+        return MASKED.length();
+    }
+}
@@ -0,0 +1,357 @@
+package com.xjt.desensitize.util;
+
+import java.util.Arrays;
+
+/**
+ * 预编译的自定义脱敏格式
+ * 格式只在编译时解析一次，得到由保留开头、保留结尾、固定长度脱敏、按长度脱敏和字面量组成的操作序列，
+ * 执行时按结果长度一次写入缓冲区，不使用正则表达式，也不创建中间字符串
+ * <p>
+ * 支持的占位符：
+ * <ul>
+ *     <li>${start:N} - 保留开头N个字符，省略N时使用开始保留字符数参数</li>
+ *     <li>${end:N} - 保留结尾N个字符，省略N时使用结尾保留字符数参数</li>
+ *     <li>${mask:N} 或 ${mask:****} - 输出固定个数的脱敏字符，不暴露原值长度</li>
+ *     <li>${mask} - 原值中未保留的字符全部替换为脱敏字符，最多出现一次</li>
+ * </ul>
+ * 占位符之外的字符按原样输出，例如 {@code ${start:3}-${mask:4}-${end:4}} 将 13812345678 脱敏为 138-****-5678。
+ * 原值长度不超过要保留的字符总数时，保留的字符也替换为脱敏字符
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class CustomFormatTemplate {
+
+    /**
+     * 保留开头字符
+     */
+    private static final byte KEEP_START = 0;
+
+    /**
+     * 保留结尾字符
+     */
+    private static final byte KEEP_END = 1;
+
+    /**
+     * 固定长度脱敏
+     */
+    private static final byte MASK_FIXED = 2;
+
+    /**
+     * 按长度脱敏未保留的字符
+     */
+    private static final byte MASK_REST = 3;
+
+    /**
+     * 字面量
+     */
+    private static final byte LITERAL = 4;
+
+    /**
+     * 保留字符数取自调用参数
+     */
+    private static final int FROM_PARAM = -1;
+
+    /**
+     * 单个占位符允许的最大字符数
+     */
+    private static final int MAX_COUNT = 1 << 16;
+
+    /**
+     * 原始格式
+     */
+    private final String format;
+
+    /**
+     * 操作类型序列
+     */
+    private final byte[] ops;
+
+    /**
+     * 操作参数：保留或脱敏的字符数，字面量为其在字面量数组中的起始下标
+     */
+    private final int[] args;
+
+    /**
+     * 字面量操作的字符数
+     */
+    private final int[] lengths;
+
+    /**
+     * 全部字面量字符
+     */
+    private final char[] literals;
+
+    /**
+     * 固定的开头保留字符数及引用开始保留参数的次数
+     */
+    private final int fixedStart;
+
+    private final int paramStart;
+
+    /**
+     * 固定的结尾保留字符数及引用结尾保留参数的次数
+     */
+    private final int fixedEnd;
+
+    private final int paramEnd;
+
+    /**
+     * 字面量与固定长度脱敏的字符总数
+     */
+    private final int fixedLength;
+
+    /**
+     * 是否包含按长度脱敏操作
+     */
+    private final boolean maskRest;
+
+    private CustomFormatTemplate(String format, byte[] ops, int[] args, int[] lengths, char[] literals,
+                                 int fixedStart, int paramStart, int fixedEnd, int paramEnd,
+                                 int fixedLength, boolean maskRest) {
+        this.format = format;
+        this.ops = ops;
+        this.args = args;
+        this.lengths = lengths;
+        this.literals = literals;
+        this.fixedStart = fixedStart;
+        this.paramStart = paramStart;
+        this.fixedEnd = fixedEnd;
+        this.paramEnd = paramEnd;
+        this.fixedLength = fixedLength;
+        this.maskRest = maskRest;
+    }
+
+    /**
+     * 解析自定义脱敏格式
+     *
+     * @param format 自定义脱敏格式
+     * @return 编译后的格式
+     * @throws IllegalArgumentException 格式为空、占位符未闭合、名称未知或参数不合法时抛出
+     */
+    public static CustomFormatTemplate compile(String format) {
+        if (!StringUtil.hasText(format)) {
+            throw new IllegalArgumentException("自定义脱敏格式不能为空");
+        }
+
+        int length = format.length();
+        byte[] ops = new byte[length];
+        int[] args = new int[length];
+        int[] lengths = new int[length];
+        char[] literals = new char[length];
+        int count = 0;
+        int literalCount = 0;
+        int fixedStart = 0;
+        int paramStart = 0;
+        int fixedEnd = 0;
+        int paramEnd = 0;
+        int fixedLength = 0;
+        boolean maskRest = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = format.charAt(i);
+            if (c != '$' || i + 1 >= length || format.charAt(i + 1) != '{') {
+                // 连续的字面量字符合并为一个操作
+                if (count == 0 || ops[count - 1] != LITERAL) {
+                    ops[count] = LITERAL;
+                    args[count] = literalCount;
+                    count++;
+                }
+                literals[literalCount++] = c;
+                lengths[count - 1]++;
+                fixedLength++;
+                i++;
+                continue;
+            }
+
+            int close = format.indexOf('}', i + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("占位符未闭合: " + format.substring(i));
+            }
+            String placeholder = format.substring(i + 2, close);
+            int colon = placeholder.indexOf(':');
+            String name = (colon < 0 ? placeholder : placeholder.substring(0, colon)).trim();
+            String arg = colon < 0 ? null : placeholder.substring(colon + 1);
+
+            switch (name) {
+                case "start":
+                    ops[count] = KEEP_START;
+                    args[count] = arg == null ? FROM_PARAM : parseCount(placeholder, arg);
+                    if (args[count] == FROM_PARAM) {
+                        paramStart++;
+                    } else {
+                        fixedStart += args[count];
+                    }
+                    break;
+                case "end":
+                    ops[count] = KEEP_END;
+                    args[count] = arg == null ? FROM_PARAM : parseCount(placeholder, arg);
+                    if (args[count] == FROM_PARAM) {
+                        paramEnd++;
+                    } else {
+                        fixedEnd += args[count];
+                    }
+                    break;
+                case "mask":
+                    if (arg == null) {
+                        if (maskRest) {
+                            throw new IllegalArgumentException("${mask} 最多只能出现一次: " + format);
+                        }
+                        ops[count] = MASK_REST;
+                        maskRest = true;
+                    } else {
+                        // 与start/end一致，数字参数两侧的空白不计入脱敏长度
+                        String trimmed = arg.trim();
+                        if (trimmed.isEmpty()) {
+                            throw new IllegalArgumentException("脱敏长度不能为空: ${" + placeholder + "}");
+                        }
+                        ops[count] = MASK_FIXED;
+                        args[count] = isDigits(trimmed) ? parseCount(placeholder, trimmed) : arg.length();
+                        fixedLength += args[count];
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知的占位符: ${" + placeholder + "}");
+            }
+            count++;
+            i = close + 1;
+        }
+
+        return new CustomFormatTemplate(format, Arrays.copyOf(ops, count), Arrays.copyOf(args, count),
+                Arrays.copyOf(lengths, count), Arrays.copyOf(literals, literalCount),
+                fixedStart, paramStart, fixedEnd, paramEnd, fixedLength, maskRest);
+    }
+
+    /**
+     * 按格式脱敏
+     *
+     * @param origin    原始字符串，不为null
+     * @param startKeep 开始保留字符数，用于未指定字符数的 ${start}
+     * @param endKeep   结尾保留字符数，用于未指定字符数的 ${end}
+     * @param maskChar  脱敏字符
+     * @return 脱敏后的字符串
+     */
+    public String apply(String origin, int startKeep, int endKeep, char maskChar) {
+        int length = length(origin, startKeep, endKeep);
+        char[] buffer = MaskBuffer.acquire(length);
+        int written = apply(origin, startKeep, endKeep, maskChar, buffer);
+        return new String(buffer, 0, written);
+    }
+
+    /**
+     * 按格式脱敏，结果写入字符数组
+     *
+     * @param origin    原始字符串，不为null
+     * @param startKeep 开始保留字符数，用于未指定字符数的 ${start}
+     * @param endKeep   结尾保留字符数，用于未指定字符数的 ${end}
+     * @param maskChar  脱敏字符
+     * @param dst       目标字符数组，从下标0开始写入
+     * @return 写入的字符数，目标数组容量不足时返回-1
+     */
+    public int apply(String origin, int startKeep, int endKeep, char maskChar, char[] dst) {
+        int length = origin.length();
+        long startTotal = fixedStart + (long) paramStart * Math.max(0, startKeep);
+        long endTotal = fixedEnd + (long) paramEnd * Math.max(0, endKeep);
+        int head = (int) Math.min(startTotal, length);
+        int tail = (int) Math.min(endTotal, length - head);
+        int total = fixedLength + (maskRest ? length : head + tail);
+        if (dst.length < total) {
+            return -1;
+        }
+
+        // 原值不长于要保留的字符总数时不暴露任何原始字符
+        boolean reveal = length > startTotal + endTotal;
+        int headPos = 0;
+        int tailPos = length - tail;
+        int pos = 0;
+        for (int op = 0; op < ops.length; op++) {
+            switch (ops[op]) {
+                case KEEP_START: {
+                    int n = Math.min(args[op] == FROM_PARAM ? Math.max(0, startKeep) : args[op], head - headPos);
+                    pos = copy(origin, headPos, n, reveal, maskChar, dst, pos);
+                    headPos += n;
+                    break;
+                }
+                case KEEP_END: {
+                    int n = Math.min(args[op] == FROM_PARAM ? Math.max(0, endKeep) : args[op], length - tailPos);
+                    pos = copy(origin, tailPos, n, reveal, maskChar, dst, pos);
+                    tailPos += n;
+                    break;
+                }
+                case MASK_FIXED:
+                    Arrays.fill(dst, pos, pos + args[op], maskChar);
+                    pos += args[op];
+                    break;
+                case MASK_REST: {
+                    int n = length - head - tail;
+                    Arrays.fill(dst, pos, pos + n, maskChar);
+                    pos += n;
+                    break;
+                }
+                default:
+                    System.arraycopy(literals, args[op], dst, pos, lengths[op]);
+                    pos += lengths[op];
+                    break;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 计算脱敏结果的长度
+     *
+     * @param origin    原始字符串，不为null
+     * @param startKeep 开始保留字符数
+     * @param endKeep   结尾保留字符数
+     * @return 脱敏结果的字符数
+     */
+    public int length(String origin, int startKeep, int endKeep) {
+        int length = origin.length();
+        if (maskRest) {
+            return fixedLength + length;
+        }
+        long keep = fixedStart + (long) paramStart * Math.max(0, startKeep)
+                + fixedEnd + (long) paramEnd * Math.max(0, endKeep);
+        return fixedLength + (int) Math.min(keep, length);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    private static int copy(String origin, int from, int count, boolean reveal, char maskChar, char[] dst, int pos) {
+        if (reveal) {
+            origin.getChars(from, from + count, dst, pos);
+        } else {
+            Arrays.fill(dst, pos, pos + count, maskChar);
+        }
+        return pos + count;
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseCount(String placeholder, String value) {
+        try {
+            int count = Integer.parseInt(value.trim());
+            if (count < 0 || count > MAX_COUNT) {
+                throw new IllegalArgumentException("字符数超出范围[0, " + MAX_COUNT + "]: ${" + placeholder + "}");
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("字符数不合法: ${" + placeholder + "}");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CustomFormatTemplate{" + format + "}";
+    }
+}
@@ -0,0 +1,936 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * JSON字段脱敏处理器
+ * 支持对JSON字符串中的特定字段应用不同类型的脱敏规则
+ * 完全自定义实现，不依赖外部策略映射
+ *
+ * 配置格式：字段路径:脱敏类型[:参数]
+ * 多个字段配置用分号(;)分隔，参数用逗号(,)分隔
+ *
+ * 示例配置：
+ * "user.phone:PHONE;user.idCard:ID_CARD"
+ * "items[*].phone:PHONE:startKeep:2,endKeep:3;items[*].idCard:ID_CARD:startKeep:4,endKeep:2"
+ * "[*].phone:PHONE" （根节点为数组）
+ *
+ * 实例线程安全，通过 {@link #builder()} 构建后可在多线程间共享：
+ * JsonFieldDesensitizer.builder().fieldConfigs("user.phone:PHONE").maskChar('#').build()
+ * 保留的已废弃修改方法以写时复制方式整体替换规则计划，进行中的调用继续使用调用开始时的计划
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class JsonFieldDesensitizer {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 编译后的字段规则计划，只会被整体替换
+     */
+    private volatile JsonFieldRulePlan plan;
+
+    /**
+     * 默认脱敏字符
+     */
+    private volatile char defaultMaskChar;
+
+    /**
+     * 树模式下数组并行处理的元素数阈值，小于等于0时不启用并行
+     */
+    private final int parallelThreshold;
+
+    /**
+     * 并行处理使用的线程池，为null时使用ForkJoinPool.commonPool()
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * 创建无规则的脱敏处理器
+     *
+     * @deprecated 使用 {@link #builder()} 构建
+     */
+    @Deprecated
+    public JsonFieldDesensitizer() {
+        this(JsonFieldRulePlan.EMPTY);
+    }
+
+    /**
+     * 使用已编译的规则计划创建脱敏处理器
+     *
+     * @param plan 规则计划
+     */
+    public JsonFieldDesensitizer(JsonFieldRulePlan plan) {
+        this(plan, '*', 0, null);
+    }
+
+    private JsonFieldDesensitizer(JsonFieldRulePlan plan, char defaultMaskChar, int parallelThreshold,
+                                  ForkJoinPool forkJoinPool) {
+        this.plan = plan != null ? plan : JsonFieldRulePlan.EMPTY;
+        this.defaultMaskChar = defaultMaskChar;
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 使用构建时指定的默认脱敏字符对JSON字符串进行字段级脱敏处理
+     *
+     * @param jsonString JSON字符串
+     * @return 脱敏后的JSON字符串
+     */
+    public String desensitize(String jsonString) {
+        return desensitize(jsonString, defaultMaskChar);
+    }
+
+    /**
+     * 对JSON字符串进行字段级脱敏处理
+     *
+     * @param jsonString JSON字符串
+     * @param defaultMaskChar 默认脱敏字符
+     * @return 脱敏后的JSON字符串
+     */
+    public String desensitize(String jsonString, char defaultMaskChar) {
+        JsonFieldRulePlan currentPlan = this.plan;
+        if (!StringUtil.hasText(jsonString) || currentPlan.isEmpty()) {
+            return jsonString;
+        }
+
+        try {
+            JsonNode rootNode = objectMapper.readTree(jsonString);
+            if (rootNode.isObject()) {
+                ObjectNode objectNode = (ObjectNode) rootNode;
+                desensitizeObject(objectNode, currentPlan.root(), null, defaultMaskChar);
+                return objectMapper.writeValueAsString(objectNode);
+            }
+            if (rootNode.isArray()) {
+                // 根节点为数组时，元素路径以[*]开头，如 "[*].phone"
+                ArrayNode arrayNode = (ArrayNode) rootNode;
+                desensitizeArray(arrayNode, currentPlan.root(), null, defaultMaskChar);
+                return objectMapper.writeValueAsString(arrayNode);
+            }
+        } catch (IOException e) {
+            System.err.println("JSON解析失败，返回原始字符串: " + e.getMessage());
+            return jsonString;
+        }
+
+        return jsonString;
+    }
+
+    /**
+     * 使用构建时指定的默认脱敏字符，以流式方式对JSON字符串进行字段级脱敏处理
+     *
+     * @param jsonString JSON字符串
+     * @return 脱敏后的JSON字符串
+     */
+    public String desensitizeStreaming(String jsonString) {
+        return desensitizeStreaming(jsonString, defaultMaskChar);
+    }
+
+    /**
+     * 以流式方式对JSON字符串进行字段级脱敏处理
+     * 解析器的token直接写入生成器，只重写命中规则的值，不构建JsonNode树，也无需预先校验JSON格式
+     * 与{@link #desensitize(String, char)}一致，只处理根节点为对象或数组的JSON，JSON无效时返回原始字符串
+     *
+     * @param jsonString JSON字符串
+     * @param defaultMaskChar 默认脱敏字符
+     * @return 脱敏后的JSON字符串
+     */
+    public String desensitizeStreaming(String jsonString, char defaultMaskChar) {
+        JsonFieldRulePlan currentPlan = this.plan;
+        if (!StringUtil.hasText(jsonString) || currentPlan.isEmpty()) {
+            return jsonString;
+        }
+
+        StringWriter writer = new StringWriter(jsonString.length() + 16);
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonString)) {
+            if (!isContainerStart(parser.nextToken())) {
+                return jsonString;
+            }
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+                JsonFieldTokenRewriter.rewrite(parser, generator, currentPlan, defaultMaskChar);
+            }
+        } catch (IOException e) {
+            // 解析失败说明不是合法JSON，直接返回原始字符串
+            return jsonString;
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 使用构建时指定的默认脱敏字符，以流式方式对输入流中的JSON进行字段级脱敏
+     *
+     * @param in  JSON输入流，编码自动识别
+     * @param out 输出流
+     * @throws IOException 读写失败或JSON格式错误时抛出，此时输出可能已部分写入
+     */
+    public void desensitize(InputStream in, OutputStream out) throws IOException {
+        desensitize(in, out, defaultMaskChar);
+    }
+
+    /**
+     * 以流式方式对输入流中的JSON进行字段级脱敏，结果写入输出流（UTF-8编码）
+     * 内存占用取决于嵌套深度和最长的单个字符串值，与文档总大小无关，适用于大型导出文件；
+     * 输入开头的UTF-8 BOM会被跳过，输入中可以依次包含多个JSON值，调用方负责关闭输入输出流
+     *
+     * @param in  JSON输入流，编码自动识别
+     * @param out 输出流
+     * @param defaultMaskChar 默认脱敏字符
+     * @throws IOException 读写失败或JSON格式错误时抛出，此时输出可能已部分写入
+     */
+    public void desensitize(InputStream in, OutputStream out, char defaultMaskChar) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            rewriteAll(parser, generator, defaultMaskChar);
+        }
+    }
+
+    /**
+     * 使用构建时指定的默认脱敏字符，以流式方式对字符输入中的JSON进行字段级脱敏
+     *
+     * @param reader JSON输入
+     * @param writer 输出
+     * @throws IOException 读写失败或JSON格式错误时抛出，此时输出可能已部分写入
+     */
+    public void desensitize(Reader reader, Writer writer) throws IOException {
+        desensitize(reader, writer, defaultMaskChar);
+    }
+
+    /**
+     * 以流式方式对字符输入中的JSON进行字段级脱敏，结果写入字符输出
+     * 内存占用取决于嵌套深度和最长的单个字符串值，与文档总大小无关；
+     * 输入中可以依次包含多个JSON值，调用方负责关闭输入输出
+     *
+     * @param reader JSON输入
+     * @param writer 输出
+     * @param defaultMaskChar 默认脱敏字符
+     * @throws IOException 读写失败或JSON格式错误时抛出，此时输出可能已部分写入
+     */
+    public void desensitize(Reader reader, Writer writer, char defaultMaskChar) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(reader);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            rewriteAll(parser, generator, defaultMaskChar);
+        }
+    }
+
+    /**
+     * 依次重写输入中的所有JSON值，不关闭底层输入输出
+     */
+    private void rewriteAll(JsonParser parser, JsonGenerator generator, char defaultMaskChar) throws IOException {
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        JsonFieldRulePlan currentPlan = this.plan;
+        while (parser.nextToken() != null) {
+            JsonFieldTokenRewriter.rewrite(parser, generator, currentPlan, defaultMaskChar);
+        }
+        generator.flush();
+    }
+
+    /**
+     * 以流式方式脱敏，并将结果作为字符串值直接写入外层生成器
+     * 脱敏后的字符复用线程内缓冲区，不产生中间String
+     *
+     * @param jsonString JSON字符串
+     * @param defaultMaskChar 默认脱敏字符
+     * @param target 外层JSON生成器
+     * @throws IOException 写入外层生成器失败时抛出
+     */
+    public void writeAsString(String jsonString, char defaultMaskChar, JsonGenerator target) throws IOException {
+        JsonFieldRulePlan currentPlan = this.plan;
+        if (!StringUtil.hasText(jsonString) || currentPlan.isEmpty()) {
+            target.writeString(jsonString);
+            return;
+        }
+
+        CharBufferWriter buffer = CharBufferWriter.acquire();
+        try {
+            boolean rewritten = false;
+            try (JsonParser parser = objectMapper.getFactory().createParser(jsonString)) {
+                if (isContainerStart(parser.nextToken())) {
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+                        JsonFieldTokenRewriter.rewrite(parser, generator, currentPlan, defaultMaskChar);
+                    }
+                    rewritten = true;
+                }
+            } catch (IOException e) {
+                // 解析失败说明不是合法JSON，输出原始字符串
+                rewritten = false;
+            }
+
+            if (rewritten) {
+                target.writeString(buffer.array(), 0, buffer.size());
+            } else {
+                target.writeString(jsonString);
+            }
+        } finally {
+            CharBufferWriter.release(buffer);
+        }
+    }
+
+    /**
+     * 以流式方式脱敏，并将结果作为内嵌JSON对象（而非字符串）直接写入外层生成器
+     * 脱敏后的token先暂存于TokenBuffer，确认输入合法后整体回放，避免外层输出残缺的JSON；
+     * 输入不是JSON对象或数组时按原始字符串输出
+     *
+     * @param jsonString JSON字符串
+     * @param defaultMaskChar 默认脱敏字符
+     * @param target 外层JSON生成器
+     * @throws IOException 写入外层生成器失败时抛出
+     */
+    public void writeAsJson(String jsonString, char defaultMaskChar, JsonGenerator target) throws IOException {
+        if (!StringUtil.hasText(jsonString)) {
+            target.writeString(jsonString);
+            return;
+        }
+
+        TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonString)) {
+            if (!isContainerStart(parser.nextToken())) {
+                target.writeString(jsonString);
+                return;
+            }
+            JsonFieldTokenRewriter.rewrite(parser, tokens, plan, defaultMaskChar);
+        } catch (IOException e) {
+            // 解析失败说明不是合法JSON，输出原始字符串
+            target.writeString(jsonString);
+            return;
+        }
+        tokens.serialize(target);
+    }
+
+    /**
+     * 判断根token是否为对象或数组的开始
+     */
+    private static boolean isContainerStart(JsonToken token) {
+        return token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+    }
+
+    /**
+     * 递归处理对象节点的脱敏
+     * 与路径字典树同步下行，node为当前对象对应的树节点（可能为null），fallback为当前生效的前缀规则
+     */
+    private void desensitizeObject(ObjectNode objectNode, JsonFieldRulePlan.PathNode node,
+                                   JsonFieldRule fallback, char maskChar) {
+        // 子树中不可能命中规则时直接跳过
+        if (objectNode == null || !JsonFieldRulePlan.canMatchInObject(node, fallback)) {
+            return;
+        }
+
+        JsonFieldRule childFallback = node != null ? node.getFieldFallback() : fallback;
+
+        try {
+            Iterator<Map.Entry<String, JsonNode>> fields = objectNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String fieldName = field.getKey();
+                JsonNode fieldValue = field.getValue();
+                JsonFieldRulePlan.PathNode childNode = node != null ? node.child(fieldName) : null;
+
+                if (fieldValue != null) {
+                    if (fieldValue.isObject()) {
+                        // 递归处理嵌套对象
+                        desensitizeObject((ObjectNode) fieldValue, childNode, childFallback, maskChar);
+                    } else if (fieldValue.isArray()) {
+                        // 处理数组
+                        desensitizeArray((ArrayNode) fieldValue, childNode, childFallback, maskChar);
+                    } else if (fieldValue.isValueNode()) {
+                        // 处理值节点（字符串、数字等）
+                        JsonFieldRule rule = JsonFieldRulePlan.resolveRule(childNode, childFallback);
+                        if (rule != null) {
+                            String desensitizedValue = desensitizeValue(fieldValue.asText(), rule, maskChar);
+                            objectNode.put(fieldName, desensitizedValue);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("处理对象节点时发生错误: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 递归处理数组节点的脱敏
+     */
+    private void desensitizeArray(ArrayNode arrayNode, JsonFieldRulePlan.PathNode node,
+                                  JsonFieldRule fallback, char maskChar) {
+        if (arrayNode == null || arrayNode.size() == 0 || !JsonFieldRulePlan.canMatchInArray(node, fallback)) {
+            return;
+        }
+
+        JsonFieldRulePlan.PathNode elementNode = node != null ? node.element() : null;
+        JsonFieldRule elementFallback = node != null ? node.getElementFallback() : fallback;
+
+        // 超过阈值的大数组拆分为fork/join任务并行处理，结果与顺序处理完全一致
+        if (parallelThreshold > 0 && arrayNode.size() > parallelThreshold) {
+            ArraySliceTask task = new ArraySliceTask(arrayNode, 0, arrayNode.size(), elementNode, elementFallback, maskChar);
+            ForkJoinPool pool = forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+            // 只有已在目标线程池中（如嵌套的大数组）才直接执行，否则提交到目标线程池，不占用调用方所在的线程池
+            if (ForkJoinTask.getPool() == pool) {
+                task.invoke();
+            } else {
+                pool.invoke(task);
+            }
+            return;
+        }
+
+        desensitizeArrayRange(arrayNode, 0, arrayNode.size(), elementNode, elementFallback, maskChar);
+    }
+
+    /**
+     * 处理数组中[from, to)范围内的元素
+     */
+    private void desensitizeArrayRange(ArrayNode arrayNode, int from, int to, JsonFieldRulePlan.PathNode elementNode,
+                                       JsonFieldRule elementFallback, char maskChar) {
+        for (int i = from; i < to; i++) {
+            try {
+                JsonNode element = arrayNode.get(i);
+                if (element == null) {
+                    continue; // 跳过null元素
+                }
+
+                if (element.isObject()) {
+                    desensitizeObject((ObjectNode) element, elementNode, elementFallback, maskChar);
+                } else if (element.isArray()) {
+                    desensitizeArray((ArrayNode) element, elementNode, elementFallback, maskChar);
+                } else if (element.isValueNode()) {
+                    // 处理数组中的值节点
+                    JsonFieldRule rule = JsonFieldRulePlan.resolveRule(elementNode, elementFallback);
+                    if (rule != null) {
+                        String desensitizedValue = desensitizeValue(element.asText(), rule, maskChar);
+                        arrayNode.set(i, objectMapper.getNodeFactory().textNode(desensitizedValue));
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("处理数组元素时发生错误: " + e.getMessage());
+                continue;
+            }
+        }
+    }
+
+    /**
+     * 数组分片脱敏任务
+     * 元素数超过并行阈值时对半拆分，各分片只修改自身范围内的元素，互不干扰
+     */
+    private final class ArraySliceTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayNode arrayNode;
+
+        private final int from;
+
+        private final int to;
+
+        private final JsonFieldRulePlan.PathNode elementNode;
+
+        private final JsonFieldRule elementFallback;
+
+        private final char maskChar;
+
+        ArraySliceTask(ArrayNode arrayNode, int from, int to, JsonFieldRulePlan.PathNode elementNode,
+                       JsonFieldRule elementFallback, char maskChar) {
+            this.arrayNode = arrayNode;
+            this.from = from;
+            this.to = to;
+            this.elementNode = elementNode;
+            this.elementFallback = elementFallback;
+            this.maskChar = maskChar;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= parallelThreshold) {
+                desensitizeArrayRange(arrayNode, from, to, elementNode, elementFallback, maskChar);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ArraySliceTask(arrayNode, from, mid, elementNode, elementFallback, maskChar),
+                    new ArraySliceTask(arrayNode, mid, to, elementNode, elementFallback, maskChar));
+        }
+    }
+
+    /**
+     * 对单个值进行脱敏处理 - 完全自定义实现
+     */
+    static String desensitizeValue(String value, JsonFieldRule rule, char defaultMaskChar) {
+        // 加强null和空值检查
+        if (value == null || value.trim().isEmpty()) {
+            return value;
+        }
+
+        int startKeep = rule.getStartKeep();
+        int endKeep = rule.getEndKeep();
+        char maskChar = rule.resolveMaskChar(defaultMaskChar);
+
+        // 根据脱敏类型执行相应的脱敏逻辑
+        switch (rule.getType()) {
+            case USERNAME:
+                return desensitizeUsername(value, startKeep, endKeep, maskChar);
+            case ID_CARD:
+                return desensitizeIdCard(value, startKeep, endKeep, maskChar);
+            case PHONE:
+                return desensitizePhone(value, startKeep, endKeep, maskChar);
+            case EMAIL:
+                return desensitizeEmail(value, startKeep, endKeep, maskChar);
+            case BANK_CARD:
+                return desensitizeBankCard(value, startKeep, endKeep, maskChar);
+            case CHINESE_NAME:
+                return desensitizeChineseName(value, startKeep, endKeep, maskChar);
+            case PASSWORD:
+                return desensitizePassword(value, startKeep, endKeep, maskChar);
+            case ADDRESS:
+                return desensitizeAddress(value, startKeep, endKeep, maskChar);
+            case CUSTOM:
+                return desensitizeCustom(value, startKeep, endKeep, maskChar);
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * 用户名脱敏 - 隐藏首字符
+     */
+    private static String desensitizeUsername(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：隐藏首字符
+        return MaskKernel.mask(value, 0, value.length() - 1, maskChar);
+    }
+
+    /**
+     * 身份证号脱敏 - 保留前6后4
+     */
+    private static String desensitizeIdCard(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：保留前6后4
+        return maskOrMaskAll(value, 6, 4, maskChar);
+    }
+
+    /**
+     * 手机号脱敏 - 保留前3后4
+     */
+    private static String desensitizePhone(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：保留前3后4
+        return maskOrMaskAll(value, 3, 4, maskChar);
+    }
+
+    /**
+     * 邮箱脱敏 - 隐藏@前部分的部分字符
+     */
+    private static String desensitizeEmail(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：隐藏@前部分的部分字符，不含@时与邮箱脱敏策略一致返回原值
+        int atIndex = value.indexOf('@');
+        if (atIndex < 0) {
+            return value;
+        }
+        int domainLength = value.length() - atIndex;
+        return MaskKernel.mask(value, atIndex <= 1 ? 0 : 1, domainLength, maskChar);
+    }
+
+    /**
+     * 银行卡号脱敏 - 保留后4
+     */
+    private static String desensitizeBankCard(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：保留后4
+        return maskOrMaskAll(value, 0, 4, maskChar);
+    }
+
+    /**
+     * 中文姓名脱敏 - 隐藏首字符
+     */
+    private static String desensitizeChineseName(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：隐藏首字符
+        return MaskKernel.mask(value, 0, value.length() - 1, maskChar);
+    }
+
+    /**
+     * 密码脱敏 - 全部隐藏
+     */
+    private static String desensitizePassword(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：全部隐藏
+        return MaskKernel.repeat(maskChar, value.length());
+    }
+
+    /**
+     * 地址脱敏 - 保留前6后4
+     */
+    private static String desensitizeAddress(String value, int startKeep, int endKeep, char maskChar) {
+        if (startKeep > 0 || endKeep > 0) {
+            // 如果有参数，使用通用脱敏方法
+            return desensitizeCustom(value, startKeep, endKeep, maskChar);
+        }
+        // 默认行为：保留前6后4
+        return maskOrMaskAll(value, 6, 4, maskChar);
+    }
+
+    /**
+     * 自定义脱敏 - 根据参数保留前后字符
+     */
+    private static String desensitizeCustom(String value, int startKeep, int endKeep, char maskChar) {
+        if (!StringUtil.hasText(value)) {
+            return value;
+        }
+
+        int length = value.length();
+
+        // 如果字符串长度小于等于要保留的字符总数
+        if (length <= startKeep + endKeep) {
+            // 要保留的字符数达到字符串长度或字符串过短时全部脱敏
+            if (startKeep >= length || endKeep >= length || length <= 2) {
+                return MaskKernel.repeat(maskChar, length);
+            }
+            // 保留首尾，中间脱敏
+            return MaskKernel.mask(value, 1, 1, maskChar);
+        }
+
+        return MaskKernel.mask(value, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 保留首尾指定字符数，长度不超过保留字符总数时全部脱敏
+     */
+    private static String maskOrMaskAll(String value, int startKeep, int endKeep, char maskChar) {
+        if (value.length() <= startKeep + endKeep) {
+            return MaskKernel.repeat(maskChar, value.length());
+        }
+        return MaskKernel.mask(value, startKeep, endKeep, maskChar);
+    }
+
+    /**
+     * 线程内复用的字符缓冲区
+     * 用于承接流式脱敏的输出，避免为每个值创建中间String
+     */
+    private static final class CharBufferWriter extends Writer {
+
+        /**
+         * 归还时保留的最大容量，超出后丢弃，避免超大文档长期占用内存
+         */
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        private static final ThreadLocal<CharBufferWriter> LOCAL = new ThreadLocal<>();
+
+        private char[] buffer = new char[1024];
+
+        private int size;
+
+        static CharBufferWriter acquire() {
+            CharBufferWriter writer = LOCAL.get();
+            if (writer == null) {
+                return new CharBufferWriter();
+            }
+            LOCAL.remove();
+            return writer;
+        }
+
+        static void release(CharBufferWriter writer) {
+            if (writer.buffer.length <= MAX_RETAINED_CAPACITY) {
+                writer.size = 0;
+                LOCAL.set(writer);
+            }
+        }
+
+        char[] array() {
+            return buffer;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+            }
+        }
+
+        @Override
+        public void write(int c) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (char) c;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            ensureCapacity(size + len);
+            System.arraycopy(cbuf, off, buffer, size, len);
+            size += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            ensureCapacity(size + len);
+            str.getChars(off, off + len, buffer, size);
+            size += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 添加字段脱敏配置
+     *
+     * @param fieldPath 字段路径，如 "user.phone", "items[*].idCard"
+     * @param type      脱敏类型
+     * @deprecated 使用 {@link Builder#fieldConfig(String, DesensitizeType)}
+     */
+    @Deprecated
+    public void addFieldConfig(String fieldPath, DesensitizeType type) {
+        addFieldConfig(fieldPath, type, null);
+    }
+
+    /**
+     * 添加字段脱敏配置（带参数）
+     *
+     * @param fieldPath 字段路径
+     * @param type      脱敏类型
+     * @param params    脱敏参数，格式为 "startKeep:2,endKeep:4,maskChar:#"
+     * @deprecated 使用 {@link Builder#fieldConfig(String, DesensitizeType, String)}
+     */
+    @Deprecated
+    public synchronized void addFieldConfig(String fieldPath, DesensitizeType type, String params) {
+        if (StringUtil.hasText(fieldPath) && type != null) {
+            plan = plan.withRule(JsonFieldRule.of(fieldPath, type, params));
+        }
+    }
+
+    /**
+     * 批量添加字段配置
+     *
+     * @param configs 字段配置列表，每项格式为 "fieldPath:type[:params]"
+     * @deprecated 使用 {@link Builder#fieldConfigs(List)}
+     */
+    @Deprecated
+    public synchronized void addFieldConfigs(List<String> configs) {
+        if (configs != null) {
+            JsonFieldRulePlan updated = plan;
+            for (String config : configs) {
+                JsonFieldRule rule = JsonFieldRulePlan.parseFieldConfig(config);
+                if (rule != null) {
+                    updated = updated.withRule(rule);
+                }
+            }
+            plan = updated;
+        }
+    }
+
+    /**
+     * 设置默认脱敏字符
+     *
+     * @deprecated 使用 {@link Builder#maskChar(char)}
+     */
+    @Deprecated
+    public void setDefaultMaskChar(char maskChar) {
+        this.defaultMaskChar = maskChar;
+    }
+
+    /**
+     * 清空所有配置
+     *
+     * @deprecated 使用新的规则构建新实例
+     */
+    @Deprecated
+    public synchronized void clearConfigs() {
+        plan = JsonFieldRulePlan.EMPTY;
+    }
+
+    /**
+     * 获取规则计划
+     */
+    public JsonFieldRulePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * 获取默认脱敏字符
+     */
+    public char getDefaultMaskChar() {
+        return defaultMaskChar;
+    }
+
+    /**
+     * 获取配置的字段数量
+     */
+    public int getConfigCount() {
+        return plan.size();
+    }
+
+    /**
+     * 验证JSON字符串格式
+     */
+    public static boolean isValidJson(String jsonString) {
+        if (!StringUtil.hasText(jsonString)) {
+            return false;
+        }
+
+        try {
+            objectMapper.readTree(jsonString);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * JsonFieldDesensitizer构建器
+     * 构建出的实例线程安全，可作为单例在多线程间共享
+     */
+    public static final class Builder {
+
+        private JsonFieldRulePlan plan = JsonFieldRulePlan.EMPTY;
+
+        private char maskChar = '*';
+
+        private int parallelThreshold = 0;
+
+        private ForkJoinPool forkJoinPool;
+
+        private Builder() {
+        }
+
+        /**
+         * 使用已编译的规则计划，会与已添加的配置合并
+         */
+        public Builder plan(JsonFieldRulePlan plan) {
+            this.plan = this.plan.merge(plan);
+            return this;
+        }
+
+        /**
+         * 添加字段配置，多个配置用分号(;)分隔，如 "user.phone:PHONE;items[*].idCard:ID_CARD"
+         */
+        public Builder fieldConfigs(String fieldConfigs) {
+            return plan(JsonFieldRulePlan.compile(fieldConfigs));
+        }
+
+        /**
+         * 批量添加字段配置，每项格式为 "fieldPath:type[:params]"
+         */
+        public Builder fieldConfigs(List<String> configs) {
+            if (configs != null) {
+                for (String config : configs) {
+                    JsonFieldRule rule = JsonFieldRulePlan.parseFieldConfig(config);
+                    if (rule != null) {
+                        plan = plan.withRule(rule);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 添加字段脱敏配置
+         *
+         * @param fieldPath 字段路径，如 "user.phone", "items[*].idCard"
+         * @param type      脱敏类型
+         */
+        public Builder fieldConfig(String fieldPath, DesensitizeType type) {
+            return fieldConfig(fieldPath, type, null);
+        }
+
+        /**
+         * 添加字段脱敏配置（带参数）
+         *
+         * @param fieldPath 字段路径
+         * @param type      脱敏类型
+         * @param params    脱敏参数，格式为 "startKeep:2,endKeep:4,maskChar:#"
+         */
+        public Builder fieldConfig(String fieldPath, DesensitizeType type, String params) {
+            if (StringUtil.hasText(fieldPath) && type != null) {
+                plan = plan.withRule(JsonFieldRule.of(fieldPath, type, params));
+            }
+            return this;
+        }
+
+        /**
+         * 设置默认脱敏字符，调用时未指定脱敏字符的方法使用该值
+         */
+        public Builder maskChar(char maskChar) {
+            this.maskChar = maskChar;
+            return this;
+        }
+
+        /**
+         * 设置树模式下数组并行处理的元素数阈值
+         * 元素数超过阈值的数组会拆分为不超过阈值的分片并行脱敏，小于等于0时关闭并行
+         */
+        public Builder parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * 设置并行处理使用的线程池，未设置时使用ForkJoinPool.commonPool()
+         */
+        public Builder forkJoinPool(ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        public JsonFieldDesensitizer build() {
+            return new JsonFieldDesensitizer(plan, maskChar, parallelThreshold, forkJoinPool);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.enumtype.DesensitizeType;
+
+/**
+ * JSON字段脱敏规则
+ * 单个字段路径编译后的不可变规则，参数在构建时一次性解析完成
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class JsonFieldRule {
+
+    /**
+     * 保留字符数的合理上限
+     */
+    private static final int MAX_KEEP = 1000;
+
+    /**
+     * 字段路径，如 "user.phone", "items[*].idCard"
+     */
+    private final String path;
+
+    /**
+     * 脱敏类型
+     */
+    private final DesensitizeType type;
+
+    /**
+     * 开始保留字符数
+     */
+    private final int startKeep;
+
+    /**
+     * 结尾保留字符数
+     */
+    private final int endKeep;
+
+    /**
+     * 规则指定的脱敏字符
+     */
+    private final char maskChar;
+
+    /**
+     * 是否在规则中指定了脱敏字符
+     */
+    private final boolean customMaskChar;
+
+    private JsonFieldRule(String path, DesensitizeType type, int startKeep, int endKeep,
+                          char maskChar, boolean customMaskChar) {
+        this.path = path;
+        this.type = type;
+        this.startKeep = startKeep;
+        this.endKeep = endKeep;
+        this.maskChar = maskChar;
+        this.customMaskChar = customMaskChar;
+    }
+
+    /**
+     * 创建字段脱敏规则
+     *
+     * @param path   字段路径
+     * @param type   脱敏类型
+     * @param params 脱敏参数，格式为 "startKeep:2,endKeep:4,maskChar:#"，可为空
+     * @return 脱敏规则
+     */
+    public static JsonFieldRule of(String path, DesensitizeType type, String params) {
+        int startKeep = 0;
+        int endKeep = 0;
+        char maskChar = '*';
+        boolean customMaskChar = false;
+
+        if (StringUtil.hasText(params)) {
+            String[] paramPairs = params.split(",");
+            for (String pair : paramPairs) {
+                String[] keyValue = pair.split(":");
+                if (keyValue.length == 2) {
+                    String key = keyValue[0].trim();
+                    String value = keyValue[1].trim();
+                    switch (key) {
+                        case "startKeep":
+                            startKeep = parseKeep(key, value, startKeep);
+                            break;
+                        case "endKeep":
+                            endKeep = parseKeep(key, value, endKeep);
+                            break;
+                        case "maskChar":
+                            if (value.length() == 1) {
+                                maskChar = value.charAt(0);
+                                customMaskChar = true;
+                            } else {
+                                System.err.println("maskChar参数必须是单个字符: " + value + ", 使用默认值*");
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+
+        return new JsonFieldRule(path, type, startKeep, endKeep, maskChar, customMaskChar);
+    }
+
+    /**
+     * 解析保留字符数参数
+     */
+    private static int parseKeep(String key, String value, int defaultValue) {
+        try {
+            int parsedValue = Integer.parseInt(value);
+            if (parsedValue >= 0 && parsedValue <= MAX_KEEP) { // 合理范围限制
+                return parsedValue;
+            }
+            System.err.println(key + "参数超出有效范围[0-" + MAX_KEEP + "]: " + value);
+        } catch (NumberFormatException e) {
+            System.err.println(key + "参数格式错误: " + value + ", 使用默认值0");
+        }
+        return defaultValue;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public DesensitizeType getType() {
+        return type;
+    }
+
+    public int getStartKeep() {
+        return startKeep;
+    }
+
+    public int getEndKeep() {
+        return endKeep;
+    }
+
+    /**
+     * 获取实际使用的脱敏字符
+     *
+     * @param defaultMaskChar 规则未指定时使用的默认脱敏字符
+     * @return 脱敏字符
+     */
+    public char resolveMaskChar(char defaultMaskChar) {
+        return customMaskChar ? maskChar : defaultMaskChar;
+    }
+}
@@ -0,0 +1,586 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.enumtype.DesensitizeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON字段脱敏规则计划
+ * 由字段配置字符串编译得到的不可变规则集合，相同的配置字符串只编译一次并缓存复用
+ *
+ * 配置格式：字段路径:脱敏类型[:参数]
+ * 多个字段配置用分号(;)分隔，参数用逗号(,)分隔
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class JsonFieldRulePlan {
+
+    /**
+     * 空规则计划
+     */
+    public static final JsonFieldRulePlan EMPTY = new JsonFieldRulePlan(Collections.<String, JsonFieldRule>emptyMap());
+
+    /**
+     * 缓存的规则计划数量上限，超过后淘汰最久未使用的计划
+     */
+    static final int MAX_CACHED_PLANS = 512;
+
+    /**
+     * 规则计划缓存
+     * Map<字段配置字符串, 缓存的规则计划>
+     */
+    private static final ConcurrentMap<String, CachedPlan> PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存写入锁，只在未命中时使用，命中路径不加锁
+     */
+    private static final Object PLAN_CACHE_LOCK = new Object();
+
+    /**
+     * 访问时钟，每次未命中写入时递增，命中时把当前值记到计划上作为最近访问时间
+     */
+    private static volatile long accessClock;
+
+    /**
+     * 字段路径到规则的映射，保持配置顺序
+     */
+    private final Map<String, JsonFieldRule> rules;
+
+    /**
+     * 按配置顺序排列的规则列表
+     */
+    private final List<JsonFieldRule> ruleList;
+
+    /**
+     * 路径字典树根节点
+     */
+    private final PathNode root;
+
+    private JsonFieldRulePlan(Map<String, JsonFieldRule> rules) {
+        this.rules = rules;
+        this.ruleList = Collections.unmodifiableList(new ArrayList<>(rules.values()));
+        this.root = buildTrie(ruleList);
+    }
+
+    /**
+     * 获取字段配置对应的规则计划，优先从缓存中读取
+     *
+     * @param fieldConfigs 字段配置，多个配置用分号(;)分隔
+     * @return 规则计划
+     */
+    public static JsonFieldRulePlan compile(String fieldConfigs) {
+        if (!StringUtil.hasText(fieldConfigs)) {
+            return EMPTY;
+        }
+
+        CachedPlan cached = PLAN_CACHE.get(fieldConfigs);
+        if (cached != null) {
+            cached.touch(accessClock);
+            return cached.plan;
+        }
+
+        JsonFieldRulePlan plan = parse(fieldConfigs);
+        synchronized (PLAN_CACHE_LOCK) {
+            cached = PLAN_CACHE.get(fieldConfigs);
+            if (cached != null) {
+                return cached.plan;
+            }
+            if (PLAN_CACHE.size() >= MAX_CACHED_PLANS) {
+                evictLeastRecentlyUsed();
+            }
+            PLAN_CACHE.put(fieldConfigs, new CachedPlan(plan, ++accessClock));
+        }
+        return plan;
+    }
+
+    /**
+     * 淘汰最久未使用的规则计划，调用方须持有缓存写入锁
+     * 只在缓存已满且未命中时执行，遍历代价与一次配置解析相当
+     */
+    private static void evictLeastRecentlyUsed() {
+        String eldestKey = null;
+        long eldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<String, CachedPlan> entry : PLAN_CACHE.entrySet()) {
+            long lastAccess = entry.getValue().lastAccess;
+            if (lastAccess < eldestAccess) {
+                eldestAccess = lastAccess;
+                eldestKey = entry.getKey();
+            }
+        }
+        if (eldestKey != null) {
+            PLAN_CACHE.remove(eldestKey);
+        }
+    }
+
+    /**
+     * 解析字段配置字符串，不经过缓存
+     *
+     * @param fieldConfigs 字段配置，多个配置用分号(;)分隔
+     * @return 规则计划
+     */
+    public static JsonFieldRulePlan parse(String fieldConfigs) {
+        if (!StringUtil.hasText(fieldConfigs)) {
+            return EMPTY;
+        }
+
+        Map<String, JsonFieldRule> rules = new LinkedHashMap<>();
+        for (String config : fieldConfigs.split(";")) {
+            JsonFieldRule rule = parseFieldConfig(config);
+            if (rule != null) {
+                rules.put(rule.getPath(), rule);
+            }
+        }
+        return rules.isEmpty() ? EMPTY : new JsonFieldRulePlan(rules);
+    }
+
+    /**
+     * 解析单个字段配置字符串
+     * 格式：fieldPath:type[:params]
+     * 其中params格式为：startKeep:2,endKeep:3,maskChar:#
+     *
+     * @param config 字段配置
+     * @return 脱敏规则，配置无效时返回null
+     */
+    static JsonFieldRule parseFieldConfig(String config) {
+        if (!StringUtil.hasText(config)) {
+            return null;
+        }
+
+        // 先分割前两部分（fieldPath和type），最多分割3部分
+        String[] firstSplit = config.split(":", 3);
+        if (firstSplit.length >= 2) {
+            String fieldPath = firstSplit[0].trim();
+            if (!StringUtil.hasText(fieldPath)) {
+                return null;
+            }
+            try {
+                DesensitizeType type = DesensitizeType.valueOf(firstSplit[1].trim().toUpperCase());
+                return JsonFieldRule.of(fieldPath, type, firstSplit.length == 3 ? firstSplit[2] : null);
+            } catch (IllegalArgumentException e) {
+                System.err.println("无效的脱敏类型: " + firstSplit[1] + ", 跳过配置: " + config);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在当前计划基础上追加规则，返回新的规则计划
+     *
+     * @param rule 脱敏规则
+     * @return 新的规则计划
+     */
+    public JsonFieldRulePlan withRule(JsonFieldRule rule) {
+        Map<String, JsonFieldRule> merged = new LinkedHashMap<>(rules);
+        merged.put(rule.getPath(), rule);
+        return new JsonFieldRulePlan(merged);
+    }
+
+    /**
+     * 在当前计划基础上合并另一个规则计划，返回新的规则计划
+     *
+     * @param other 另一个规则计划
+     * @return 新的规则计划
+     */
+    public JsonFieldRulePlan merge(JsonFieldRulePlan other) {
+        if (other == null || other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Map<String, JsonFieldRule> merged = new LinkedHashMap<>(rules);
+        merged.putAll(other.rules);
+        return new JsonFieldRulePlan(merged);
+    }
+
+    /**
+     * 获取路径字典树的根节点
+     * 遍历JSON时与树结构同步下行，每个叶子节点可在O(深度)内确定匹配的规则
+     *
+     * @return 根节点
+     */
+    public PathNode root() {
+        return root;
+    }
+
+    /**
+     * 确定叶子节点匹配的规则：精确匹配优先，其次为继承的前缀规则
+     *
+     * @param node     叶子对应的树节点，可能为null
+     * @param fallback 当前生效的前缀规则，可能为null
+     * @return 匹配的规则，没有匹配时返回null
+     */
+    public static JsonFieldRule resolveRule(PathNode node, JsonFieldRule fallback) {
+        if (node != null && node.rule != null) {
+            return node.rule;
+        }
+        return fallback;
+    }
+
+    /**
+     * 判断对象内部是否可能命中规则，不可能时整个对象子树可以跳过
+     *
+     * @param node     对象对应的树节点，可能为null
+     * @param fallback 当前生效的前缀规则，可能为null
+     * @return 是否可能命中
+     */
+    public static boolean canMatchInObject(PathNode node, JsonFieldRule fallback) {
+        return node != null ? node.fieldsReachable : fallback != null;
+    }
+
+    /**
+     * 判断数组内部是否可能命中规则，不可能时整个数组子树可以跳过
+     *
+     * @param node     数组对应的树节点，可能为null
+     * @param fallback 当前生效的前缀规则，可能为null
+     * @return 是否可能命中
+     */
+    public static boolean canMatchInArray(PathNode node, JsonFieldRule fallback) {
+        return node != null ? node.elementsReachable : fallback != null;
+    }
+
+    /**
+     * 查找与字段路径匹配的规则
+     *
+     * @param fullPath 字段完整路径，如 "items[0].phone"
+     * @return 匹配的规则，没有匹配时返回null
+     */
+    public JsonFieldRule findRule(String fullPath) {
+        if (fullPath == null) {
+            return null;
+        }
+
+        PathNode node = root;
+        JsonFieldRule fallback = null;
+        int length = fullPath.length();
+        int i = 0;
+        while (i < length) {
+            char c = fullPath.charAt(i);
+            if (c == '[') {
+                int close = fullPath.indexOf(']', i);
+                if (close < 0) {
+                    return null;
+                }
+                fallback = node != null ? node.elementFallback : fallback;
+                node = node != null ? node.element : null;
+                i = close + 1;
+            } else {
+                if (c == '.') {
+                    i++;
+                }
+                int end = i;
+                while (end < length && fullPath.charAt(end) != '.' && fullPath.charAt(end) != '[') {
+                    end++;
+                }
+                fallback = node != null ? node.fieldFallback : fallback;
+                node = node != null ? node.child(fullPath.substring(i, end)) : null;
+                i = end;
+            }
+        }
+        return resolveRule(node, fallback);
+    }
+
+    /**
+     * 将规则编译为路径字典树
+     * 匹配语义：标准化路径精确匹配优先；不含[*]的规则额外匹配以"规则路径."开头的所有路径，
+     * 多个前缀规则同时匹配时按配置顺序取第一个
+     */
+    private static PathNode buildTrie(List<JsonFieldRule> rules) {
+        PathNode root = new PathNode();
+        for (JsonFieldRule rule : rules) {
+            String path = rule.getPath();
+            PathNode node = root;
+            boolean wildcard = false;
+            boolean valid = true;
+            int length = path.length();
+            int i = 0;
+            while (i < length) {
+                char c = path.charAt(i);
+                if (c == '[') {
+                    int close = path.indexOf(']', i);
+                    // 只有[*]能匹配标准化后的数组路径
+                    if (close != i + 2 || path.charAt(i + 1) != '*') {
+                        valid = false;
+                        break;
+                    }
+                    wildcard = true;
+                    if (node.element == null) {
+                        node.element = new PathNode();
+                    }
+                    node = node.element;
+                    i = close + 1;
+                } else {
+                    if (c == '.') {
+                        i++;
+                    }
+                    int end = i;
+                    while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                        end++;
+                    }
+                    node = node.getOrCreateChild(path.substring(i, end));
+                    i = end;
+                }
+            }
+            if (!valid) {
+                continue;
+            }
+            if (node.rule == null) {
+                node.rule = rule;
+            }
+            if (!wildcard && node.prefixRule == null) {
+                node.prefixRule = rule;
+            }
+        }
+        resolveFallbacks(root, null, rules);
+        return root;
+    }
+
+    /**
+     * 计算每个节点向下继承的前缀规则，以及其下是否还可能命中规则
+     *
+     * @return 以该节点为根的子树中是否存在规则
+     */
+    private static boolean resolveFallbacks(PathNode node, JsonFieldRule inherited, List<JsonFieldRule> rules) {
+        node.elementFallback = inherited;
+        node.fieldFallback = earliest(inherited, node.prefixRule, rules);
+
+        boolean childHasRule = false;
+        for (PathNode child : node.children.values()) {
+            childHasRule |= resolveFallbacks(child, node.fieldFallback, rules);
+        }
+        boolean elementHasRule = node.element != null
+                && resolveFallbacks(node.element, node.elementFallback, rules);
+
+        node.indexChildNames();
+        node.fieldsReachable = node.fieldFallback != null || childHasRule;
+        node.elementsReachable = node.elementFallback != null || elementHasRule;
+        return node.rule != null || childHasRule || elementHasRule;
+    }
+
+    /**
+     * 按配置顺序取先出现的规则
+     */
+    private static JsonFieldRule earliest(JsonFieldRule a, JsonFieldRule b, List<JsonFieldRule> rules) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null || a == b) {
+            return a;
+        }
+        return rules.indexOf(a) <= rules.indexOf(b) ? a : b;
+    }
+
+    /**
+     * 获取按配置顺序排列的规则
+     *
+     * @return 不可修改的规则列表
+     */
+    public List<JsonFieldRule> getRules() {
+        return ruleList;
+    }
+
+    /**
+     * 获取规则数量
+     */
+    public int size() {
+        return ruleList.size();
+    }
+
+    /**
+     * 是否没有任何规则
+     */
+    public boolean isEmpty() {
+        return ruleList.isEmpty();
+    }
+
+    /**
+     * 缓存的规则计划及其最近访问时间
+     */
+    private static final class CachedPlan {
+
+        private final JsonFieldRulePlan plan;
+
+        private volatile long lastAccess;
+
+        private CachedPlan(JsonFieldRulePlan plan, long lastAccess) {
+            this.plan = plan;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * 记录访问时间，时钟未前进时不重复写入
+         */
+        private void touch(long now) {
+            if (lastAccess != now) {
+                lastAccess = now;
+            }
+        }
+    }
+
+    /**
+     * 路径字典树节点
+     * 构建完成后不再修改，可在多线程间共享
+     */
+    public static final class PathNode {
+
+        private static final byte[][] NO_NAMES = new byte[0][];
+
+        private static final PathNode[] NO_NODES = new PathNode[0];
+
+        /**
+         * 对象字段子节点
+         */
+        private Map<String, PathNode> children = Collections.emptyMap();
+
+        /**
+         * 对象字段子节点名的UTF-8编码，与childNodes按下标对应，供字节级匹配使用
+         */
+        private byte[][] childNames = NO_NAMES;
+
+        /**
+         * 与childNames对应的对象字段子节点
+         */
+        private PathNode[] childNodes = NO_NODES;
+
+        /**
+         * 数组元素子节点（对应[*]）
+         */
+        private PathNode element;
+
+        /**
+         * 以当前节点结尾的规则（精确匹配）
+         */
+        private JsonFieldRule rule;
+
+        /**
+         * 以当前节点结尾且不含[*]的规则，用于前缀匹配
+         */
+        private JsonFieldRule prefixRule;
+
+        /**
+         * 经由对象字段进入下一级时生效的前缀规则
+         */
+        private JsonFieldRule fieldFallback;
+
+        /**
+         * 经由数组元素进入下一级时生效的前缀规则
+         */
+        private JsonFieldRule elementFallback;
+
+        /**
+         * 对象字段下是否可能命中规则
+         */
+        private boolean fieldsReachable;
+
+        /**
+         * 数组元素下是否可能命中规则
+         */
+        private boolean elementsReachable;
+
+        private PathNode getOrCreateChild(String name) {
+            if (children.isEmpty()) {
+                children = new HashMap<>(4);
+            }
+            PathNode child = children.get(name);
+            if (child == null) {
+                child = new PathNode();
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        /**
+         * 获取对象字段子节点
+         *
+         * @param name 字段名
+         * @return 子节点，不存在时返回null
+         */
+        public PathNode child(String name) {
+            return children.get(name);
+        }
+
+        /**
+         * 按UTF-8编码的字段名获取对象字段子节点，字段名不含转义字符时可直接在字节上匹配而无需解码
+         *
+         * @param name 字段名所在的字节数组
+         * @param off  字段名起始位置
+         * @param len  字段名字节数
+         * @return 子节点，不存在时返回null
+         */
+        public PathNode child(byte[] name, int off, int len) {
+            byte[][] names = childNames;
+            for (int i = 0; i < names.length; i++) {
+                byte[] candidate = names[i];
+                if (candidate.length == len && regionEquals(candidate, name, off)) {
+                    return childNodes[i];
+                }
+            }
+            return null;
+        }
+
+        private static boolean regionEquals(byte[] candidate, byte[] name, int off) {
+            for (int i = 0; i < candidate.length; i++) {
+                if (candidate[i] != name[off + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 生成子节点名的UTF-8编码索引，在字典树构建完成时调用一次
+         */
+        private void indexChildNames() {
+            if (children.isEmpty()) {
+                return;
+            }
+            childNames = new byte[children.size()][];
+            childNodes = new PathNode[children.size()];
+            int i = 0;
+            for (Map.Entry<String, PathNode> entry : children.entrySet()) {
+                childNames[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                childNodes[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        /**
+         * 获取数组元素子节点
+         *
+         * @return 子节点，不存在时返回null
+         */
+        public PathNode element() {
+            return element;
+        }
+
+        /**
+         * 获取精确匹配当前节点的规则
+         */
+        public JsonFieldRule getRule() {
+            return rule;
+        }
+
+        /**
+         * 获取经由对象字段进入下一级时生效的前缀规则
+         */
+        public JsonFieldRule getFieldFallback() {
+            return fieldFallback;
+        }
+
+        /**
+         * 获取经由数组元素进入下一级时生效的前缀规则
+         */
+        public JsonFieldRule getElementFallback() {
+            return elementFallback;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * JSON字段流式脱敏重写器
+ * 将JsonParser的token直接写入JsonGenerator，遍历过程中同步下行路径字典树，
+ * 只重写命中规则的标量token，不构建JsonNode树，也不需要额外的格式校验
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class JsonFieldTokenRewriter {
+
+    private JsonFieldTokenRewriter() {
+    }
+
+    /**
+     * 重写当前token开始的完整JSON值
+     * 调用前parser必须已定位到该值的第一个token
+     *
+     * @param parser    JSON解析器
+     * @param generator JSON生成器
+     * @param plan      规则计划
+     * @param maskChar  默认脱敏字符
+     * @throws IOException 读写失败或JSON格式错误时抛出
+     */
+    public static void rewrite(JsonParser parser, JsonGenerator generator, JsonFieldRulePlan plan,
+                               char maskChar) throws IOException {
+        rewriteValue(parser, generator, plan.root(), null, maskChar);
+    }
+
+    /**
+     * 重写单个值，parser位于该值的第一个token
+     */
+    static void rewriteValue(JsonParser parser, JsonGenerator generator, JsonFieldRulePlan.PathNode node,
+                             JsonFieldRule fallback, char maskChar) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            if (JsonFieldRulePlan.canMatchInObject(node, fallback)) {
+                rewriteObject(parser, generator, node, fallback, maskChar);
+            } else {
+                // 子树中不可能命中规则，整体原样复制
+                generator.copyCurrentStructure(parser);
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            if (JsonFieldRulePlan.canMatchInArray(node, fallback)) {
+                rewriteArray(parser, generator, node, fallback, maskChar);
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        } else {
+            JsonFieldRule rule = JsonFieldRulePlan.resolveRule(node, fallback);
+            if (rule == null) {
+                generator.copyCurrentEvent(parser);
+            } else {
+                generator.writeString(JsonFieldDesensitizer.desensitizeValue(scalarText(parser, token), rule, maskChar));
+            }
+        }
+    }
+
+    /**
+     * 重写对象，parser位于START_OBJECT
+     */
+    private static void rewriteObject(JsonParser parser, JsonGenerator generator, JsonFieldRulePlan.PathNode node,
+                                      JsonFieldRule fallback, char maskChar) throws IOException {
+        JsonFieldRule childFallback = node != null ? node.getFieldFallback() : fallback;
+
+        generator.writeStartObject();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            generator.writeFieldName(fieldName);
+            parser.nextToken();
+            rewriteValue(parser, generator, node != null ? node.child(fieldName) : null, childFallback, maskChar);
+        }
+        expectEnd(token, JsonToken.END_OBJECT);
+        generator.writeEndObject();
+    }
+
+    /**
+     * 重写数组，parser位于START_ARRAY
+     */
+    private static void rewriteArray(JsonParser parser, JsonGenerator generator, JsonFieldRulePlan.PathNode node,
+                                     JsonFieldRule fallback, char maskChar) throws IOException {
+        JsonFieldRulePlan.PathNode elementNode = node != null ? node.element() : null;
+        JsonFieldRule elementFallback = node != null ? node.getElementFallback() : fallback;
+
+        generator.writeStartArray();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                expectEnd(null, JsonToken.END_ARRAY);
+            }
+            rewriteValue(parser, generator, elementNode, elementFallback, maskChar);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * 获取标量token的文本，与JsonNode.asText()的结果保持一致
+     */
+    private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_FLOAT && parser.getNumberType() != JsonParser.NumberType.BIG_DECIMAL) {
+            return Double.toString(parser.getDoubleValue());
+        }
+        return parser.getText();
+    }
+
+    private static void expectEnd(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("JSON结构不完整，期望 " + expected + "，实际为 " + actual);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * JSON记录流脱敏处理器
+ * 支持NDJSON（每行一条JSON记录）以及根节点为数组的JSON（每个元素为一条记录），
+ * 记录按批次提交到工作线程池并行脱敏，输出严格保持输入顺序；
+ * 同时在途的批次数量有上限，内存占用与记录总数无关，约为 单条记录大小 × 每批记录数 × 在途批次数。
+ * 单条记录（一行或一个数组元素）会完整读入内存，不适合单条记录本身就很大的输入，
+ * 这类文档应使用 {@link JsonFieldDesensitizer#desensitize(Reader, Writer)} 整体流式处理
+ *
+ * 字段路径相对于每条记录本身，如 "user.phone:PHONE;items[*].idCard:ID_CARD"
+ * 线程池由调用方管理，传入null时在当前线程中顺序处理
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class JsonRecordStreamDesensitizer {
+
+    /**
+     * 默认每批记录数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * 不自动关闭输入，与逐行处理一致，输入流由调用方关闭
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * 规则计划
+     */
+    private final JsonFieldRulePlan plan;
+
+    /**
+     * 默认脱敏字符
+     */
+    private final char maskChar;
+
+    /**
+     * 工作线程池
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 每批记录数
+     */
+    private final int batchSize;
+
+    /**
+     * 同时在途的最大批次数
+     */
+    private final int maxPendingBatches;
+
+    public JsonRecordStreamDesensitizer(JsonFieldRulePlan plan, char maskChar, ExecutorService executor) {
+        this(plan, maskChar, executor, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public JsonRecordStreamDesensitizer(JsonFieldRulePlan plan, char maskChar, ExecutorService executor,
+                                        int batchSize, int maxPendingBatches) {
+        if (batchSize <= 0 || maxPendingBatches <= 0) {
+            throw new IllegalArgumentException("batchSize和maxPendingBatches必须大于0");
+        }
+        this.plan = plan != null ? plan : JsonFieldRulePlan.EMPTY;
+        this.maskChar = maskChar;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxPendingBatches = maxPendingBatches;
+    }
+
+    /**
+     * 对NDJSON输入逐行脱敏，输出按UTF-8编码
+     *
+     * @param in  输入流
+     * @param out 输出流
+     * @return 处理的记录数（含空行）
+     * @throws IOException 读写失败时抛出
+     */
+    public long desensitizeLines(InputStream in, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        long count = desensitizeLines(new InputStreamReader(in, StandardCharsets.UTF_8), writer);
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * 对NDJSON输入逐行脱敏
+     * 空行和非法JSON行原样输出，行分隔符统一为\n
+     *
+     * @param reader 输入
+     * @param writer 输出
+     * @return 处理的记录数（含空行）
+     * @throws IOException 读写失败时抛出
+     */
+    public long desensitizeLines(Reader reader, Writer writer) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        OrderedPipeline pipeline = new OrderedPipeline(writer, "");
+        long count = 0;
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = lines.readLine()) != null) {
+                batch.add(line);
+                count++;
+                if (batch.size() == batchSize) {
+                    pipeline.submit(lineTask(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                pipeline.submit(lineTask(batch));
+            }
+            pipeline.finish();
+        } finally {
+            pipeline.cancel();
+        }
+        return count;
+    }
+
+    /**
+     * 对根节点为数组的JSON输入按元素脱敏，输出按UTF-8编码
+     *
+     * @param in  输入流
+     * @param out 输出流
+     * @return 处理的元素数
+     * @throws IOException 读写失败或根节点不是数组时抛出
+     */
+    public long desensitizeArray(InputStream in, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        long count = desensitizeArray(new InputStreamReader(in, StandardCharsets.UTF_8), writer);
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * 对根节点为数组的JSON输入按元素脱敏
+     * 元素以token形式暂存后交给工作线程，不会将整个数组读入内存；输入不会被关闭
+     *
+     * @param reader 输入
+     * @param writer 输出
+     * @return 处理的元素数
+     * @throws IOException 读写失败或根节点不是数组时抛出
+     */
+    public long desensitizeArray(Reader reader, Writer writer) throws IOException {
+        OrderedPipeline pipeline = new OrderedPipeline(writer, ",");
+        long count = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("根节点不是JSON数组");
+            }
+            writer.write('[');
+
+            List<TokenBuffer> batch = new ArrayList<>(batchSize);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("JSON数组不完整");
+                }
+                TokenBuffer element = new TokenBuffer(parser);
+                element.copyCurrentStructure(parser);
+                batch.add(element);
+                count++;
+                if (batch.size() == batchSize) {
+                    pipeline.submit(elementTask(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                pipeline.submit(elementTask(batch));
+            }
+            pipeline.finish();
+            writer.write(']');
+        } finally {
+            pipeline.cancel();
+        }
+        return count;
+    }
+
+    /**
+     * 创建一批NDJSON行的脱敏任务
+     * 与数组元素任务一样整批复用同一个生成器；根节点不是对象或数组的行原样输出，
+     * 解析失败的行回退到该行开始前的位置后原样输出，并为后续行重建生成器
+     */
+    private Callable<String> lineTask(final List<String> batch) {
+        return () -> {
+            StringWriter result = new StringWriter();
+            StringBuffer chars = result.getBuffer();
+            JsonGenerator generator = createLineGenerator(result);
+            for (String line : batch) {
+                if (plan.isEmpty()) {
+                    generator.writeRaw(line);
+                    generator.writeRaw('\n');
+                    continue;
+                }
+                try (JsonParser parser = JSON_FACTORY.createParser(line)) {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                        generator.flush();
+                        int mark = chars.length();
+                        try {
+                            JsonFieldTokenRewriter.rewrite(parser, generator, plan, maskChar);
+                        } catch (IOException e) {
+                            // 丢弃写了一半的生成器及其缓冲内容，该行原样输出
+                            chars.setLength(mark);
+                            generator = createLineGenerator(result);
+                            generator.writeRaw(line);
+                        }
+                    } else {
+                        generator.writeRaw(line);
+                    }
+                } catch (IOException e) {
+                    // 第一个token就无法解析，原样输出
+                    generator.writeRaw(line);
+                }
+                generator.writeRaw('\n');
+            }
+            generator.close();
+            return result.toString();
+        };
+    }
+
+    /**
+     * 创建逐行输出的生成器，根节点之间不写分隔符，换行由调用方写出
+     */
+    private static JsonGenerator createLineGenerator(Writer writer) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * 创建一批数组元素的脱敏任务，元素之间以逗号分隔
+     */
+    private Callable<String> elementTask(final List<TokenBuffer> batch) {
+        return () -> {
+            StringWriter result = new StringWriter();
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(result)) {
+                generator.setRootValueSeparator(new SerializedString(","));
+                for (TokenBuffer element : batch) {
+                    try (JsonParser parser = element.asParser()) {
+                        parser.nextToken();
+                        JsonFieldTokenRewriter.rewrite(parser, generator, plan, maskChar);
+                    }
+                }
+            }
+            return result.toString();
+        };
+    }
+
+    /**
+     * 保序输出管道
+     * 按提交顺序写出各批次结果，在途批次达到上限时阻塞等待最早的批次完成
+     */
+    private final class OrderedPipeline {
+
+        private final Writer writer;
+
+        private final String separator;
+
+        private final Deque<Future<String>> pending = new ArrayDeque<>();
+
+        private boolean first = true;
+
+        OrderedPipeline(Writer writer, String separator) {
+            this.writer = writer;
+            this.separator = separator;
+        }
+
+        void submit(Callable<String> task) throws IOException {
+            if (executor == null) {
+                try {
+                    write(task.call());
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException("记录脱敏失败", e);
+                }
+                return;
+            }
+            while (pending.size() >= maxPendingBatches) {
+                write(await(pending.pollFirst()));
+            }
+            pending.addLast(executor.submit(task));
+        }
+
+        void finish() throws IOException {
+            while (!pending.isEmpty()) {
+                write(await(pending.pollFirst()));
+            }
+        }
+
+        void cancel() {
+            Future<String> future;
+            while ((future = pending.pollFirst()) != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void write(String chunk) throws IOException {
+            if (!first) {
+                writer.write(separator);
+            }
+            writer.write(chunk);
+            first = false;
+        }
+
+        private String await(Future<String> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("等待记录脱敏结果时被中断");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("记录脱敏失败", cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.strategy.MaskFunction;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * 批量脱敏执行器
+ * 对同一列数据使用同一个预编译的脱敏函数，策略查找和参数校验在整批数据上只执行一次，
+ * 逐值处理只剩一个紧凑的循环；数据量较大时可按分块在指定线程池中并行处理
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class MaskBatch {
+
+    /**
+     * 并行处理时默认的分块元素数
+     */
+    public static final int PARALLEL_CHUNK_SIZE = 8192;
+
+    private MaskBatch() {
+    }
+
+    /**
+     * 对数组逐个脱敏，结果按下标写入结果数组
+     *
+     * @param function 脱敏函数
+     * @param origins  原始值数组
+     * @param results  结果数组，长度不小于原始值数组，可以与原始值数组相同
+     * @throws IllegalArgumentException 数组为null或结果数组长度不足时抛出
+     */
+    public static void apply(MaskFunction function, String[] origins, String[] results) {
+        checkArrays(origins, results);
+        apply(function, origins, 0, origins.length, results, 0);
+    }
+
+    /**
+     * 对数组区间逐个脱敏，结果写入目标数组
+     * 源数组和目标数组可以是同一个数组，此时原地替换
+     *
+     * @param function  脱敏函数
+     * @param origins   原始值数组
+     * @param from      起始下标（包含）
+     * @param to        结束下标（不包含）
+     * @param results   结果数组
+     * @param offset    结果数组的起始下标
+     */
+    public static void apply(MaskFunction function, String[] origins, int from, int to,
+                             String[] results, int offset) {
+        for (int i = from, j = offset; i < to; i++, j++) {
+            results[j] = maskOne(function, origins[i]);
+        }
+    }
+
+    /**
+     * 对数组逐个脱敏，元素数不少于两个分块时在ForkJoinPool.commonPool()中
+     * 按 {@link #PARALLEL_CHUNK_SIZE} 分块并行处理
+     *
+     * @param function 脱敏函数，需线程安全
+     * @param origins  原始值数组
+     * @param results  结果数组，长度不小于原始值数组，可以与原始值数组相同
+     * @throws IllegalArgumentException 数组为null或结果数组长度不足时抛出
+     */
+    public static void applyParallel(MaskFunction function, String[] origins, String[] results) {
+        applyParallel(function, origins, results, null, PARALLEL_CHUNK_SIZE);
+    }
+
+    /**
+     * 对数组逐个脱敏，元素数不少于两个分块时在指定线程池中分块并行处理
+     * 结果按下标写入，与顺序处理完全一致
+     *
+     * @param function  脱敏函数，需线程安全
+     * @param origins   原始值数组
+     * @param results   结果数组，长度不小于原始值数组，可以与原始值数组相同
+     * @param pool      并行处理使用的线程池，为null时使用ForkJoinPool.commonPool()
+     * @param chunkSize 每个分块的元素数，必须大于0
+     * @throws IllegalArgumentException 数组为null、结果数组长度不足或分块大小不合法时抛出
+     */
+    public static void applyParallel(MaskFunction function, String[] origins, String[] results,
+                                     ForkJoinPool pool, int chunkSize) {
+        checkArrays(origins, results);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0: " + chunkSize);
+        }
+        int length = origins.length;
+        if (length / chunkSize < 2) {
+            apply(function, origins, 0, length, results, 0);
+            return;
+        }
+        ChunkTask task = new ChunkTask(function, origins, results, 0, length, chunkSize);
+        ForkJoinPool target = pool != null ? pool : ForkJoinPool.commonPool();
+        // 已在目标线程池中时直接执行，否则提交到目标线程池，不占用调用方所在的线程池
+        if (ForkJoinTask.getPool() == target) {
+            task.invoke();
+        } else {
+            target.invoke(task);
+        }
+    }
+
+    /**
+     * 按迭代顺序逐个脱敏，结果依次交给接收方
+     * 支持随机访问的列表按下标遍历，避免创建迭代器
+     *
+     * @param function 脱敏函数
+     * @param origins  原始值
+     * @param sink     结果接收方
+     * @throws IllegalArgumentException 原始值或接收方为null时抛出
+     */
+    public static void apply(MaskFunction function, Iterable<String> origins, Consumer<? super String> sink) {
+        if (origins == null || sink == null) {
+            throw new IllegalArgumentException("批量脱敏的原始值和结果接收方不能为null");
+        }
+        if (origins instanceof List && origins instanceof RandomAccess) {
+            List<String> list = (List<String>) origins;
+            for (int i = 0, size = list.size(); i < size; i++) {
+                sink.accept(maskOne(function, list.get(i)));
+            }
+            return;
+        }
+        for (String origin : origins) {
+            sink.accept(maskOne(function, origin));
+        }
+    }
+
+    private static void checkArrays(String[] origins, String[] results) {
+        if (origins == null || results == null) {
+            throw new IllegalArgumentException("批量脱敏的原始值数组和结果数组不能为null");
+        }
+        if (results.length < origins.length) {
+            throw new IllegalArgumentException("结果数组长度不足: " + results.length + " < " + origins.length);
+        }
+    }
+
+    /**
+     * 脱敏单个值，null和空字符串原样返回，脱敏失败时返回原值
+     */
+    private static String maskOne(MaskFunction function, String origin) {
+        if (origin == null || origin.isEmpty()) {
+            return origin;
+        }
+        try {
+            String result = function.apply(origin);
+            return result != null ? result : origin;
+        } catch (Exception e) {
+            System.err.println("批量脱敏处理失败: " + e.getMessage() + "，返回原字符串");
+            return origin;
+        }
+    }
+
+    /**
+     * 数组区间并行脱敏任务，区间不超过分块大小时在当前线程处理，否则二分后并行执行
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MaskFunction function;
+
+        private final String[] origins;
+
+        private final String[] results;
+
+        private final int from;
+
+        private final int to;
+
+        private final int chunkSize;
+
+        ChunkTask(MaskFunction function, String[] origins, String[] results, int from, int to, int chunkSize) {
+            this.function = function;
+            this.origins = origins;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                apply(function, origins, from, to, results, from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(function, origins, results, from, mid, chunkSize),
+                    new ChunkTask(function, origins, results, mid, to, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.xjt.desensitize.util;
+
+/**
+ * 线程内复用的脱敏字符缓冲区
+ * 脱敏结果写入该缓冲区后直接交给JsonGenerator，避免为每个字段创建中间字符串
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class MaskBuffer {
+
+    /**
+     * 脱敏结果相对原值的预留扩展长度（邮箱、密码等策略的结果可能长于原值）
+     */
+    public static final int SLACK = 16;
+
+    /**
+     * 线程内缓冲区最大保留长度，超过该长度的缓冲区用完即丢弃
+     */
+    private static final int MAX_RETAINED = 8192;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+    private MaskBuffer() {
+    }
+
+    /**
+     * 获取至少为指定容量的缓冲区
+     * 不超过保留上限的缓冲区在线程内复用，更大的缓冲区只用于本次调用；
+     * 返回的缓冲区在同一线程下次调用前有效
+     *
+     * @param capacity 所需容量
+     * @return 字符缓冲区
+     */
+    public static char[] acquire(int capacity) {
+        char[] buffer = BUFFER.get();
+        if (buffer.length >= capacity) {
+            return buffer;
+        }
+        buffer = new char[capacity];
+        if (capacity <= MAX_RETAINED) {
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,376 @@
+package com.xjt.desensitize.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 脱敏结果缓存
+ * 以（脱敏参数, 原值）为键缓存脱敏结果，适用于列表中大量重复出现的手机号、地址、姓名等值。
+ * 缓存按键的哈希值分段加锁，每段按最近最少使用顺序淘汰，总条目数不超过最大容量（每段至少保留一个条目）；
+ * 条目写入后超过存活时间即视为失效。每段另按写入顺序维护条目链表，读写时从最早写入的一端移除该段全部失效条目；
+ * 没有访问的段需定期调用 {@link #cleanUp()} 清理，避免原文长时间驻留内存
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class MaskCache {
+
+    /**
+     * 分段数，必须为2的幂
+     */
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    /**
+     * 条目存活时间（纳秒）
+     */
+    private final long ttlNanos;
+
+    private final int maximumSize;
+
+    /**
+     * 纳秒时钟
+     */
+    private final LongSupplier ticker;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 创建脱敏结果缓存
+     *
+     * @param maximumSize 最大条目数
+     * @param ttl         条目存活时间
+     * @param unit        存活时间单位
+     * @throws IllegalArgumentException 最大条目数或存活时间不为正数时抛出
+     */
+    public MaskCache(int maximumSize, long ttl, TimeUnit unit) {
+        this(maximumSize, ttl, unit, System::nanoTime);
+    }
+
+    /**
+     * 使用指定时钟创建脱敏结果缓存，供测试控制时间
+     */
+    MaskCache(int maximumSize, long ttl, TimeUnit unit, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("缓存最大条目数必须为正数: " + maximumSize);
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("缓存存活时间必须为正数: " + ttl);
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        int segmentCapacity = Math.max(1, maximumSize / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 读取缓存的脱敏结果
+     *
+     * @param scope 脱敏参数，需正确实现equals和hashCode
+     * @param value 原值
+     * @return 脱敏结果，未命中或已失效时返回null
+     */
+    public String get(Object scope, String value) {
+        Key key = new Key(scope, value);
+        Segment segment = segmentFor(key.hash);
+        long now = ticker.getAsLong();
+        synchronized (segment) {
+            segment.purgeExpired(now);
+            CacheEntry entry = segment.get(key);
+            if (entry != null) {
+                hitCount.increment();
+                return entry.masked;
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 写入脱敏结果
+     *
+     * @param scope  脱敏参数，需正确实现equals和hashCode
+     * @param value  原值
+     * @param masked 脱敏结果
+     */
+    public void put(Object scope, String value, String masked) {
+        Key key = new Key(scope, value);
+        Segment segment = segmentFor(key.hash);
+        long now = ticker.getAsLong();
+        synchronized (segment) {
+            segment.purgeExpired(now);
+            segment.write(key, new CacheEntry(key, masked, now));
+        }
+    }
+
+    /**
+     * 清理全部已失效的条目
+     */
+    public void cleanUp() {
+        long now = ticker.getAsLong();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.purgeExpired(now);
+            }
+        }
+    }
+
+    /**
+     * 清空缓存，统计数据保留
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clearAll();
+            }
+        }
+    }
+
+    /**
+     * 当前条目数，包含尚未清理的失效条目
+     *
+     * @return 条目数
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * 获取命中率等统计数据的快照
+     *
+     * @return 统计数据
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * 缓存分段，按访问顺序排列，超过容量时淘汰最久未访问的条目；
+     * 条目另按写入顺序串成链表，用于按存活时间清理
+     */
+    private final class Segment extends LinkedHashMap<Key, CacheEntry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        /**
+         * 最早写入的条目
+         */
+        private transient CacheEntry oldest;
+
+        /**
+         * 最近写入的条目
+         */
+        private transient CacheEntry newest;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+            if (size() > capacity) {
+                unlink(eldest.getValue());
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 写入条目，替换同键的旧条目
+         */
+        void write(Key key, CacheEntry entry) {
+            link(entry);
+            CacheEntry previous = put(key, entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+
+        /**
+         * 从最早写入的一端移除失效条目，遇到第一个未失效的条目即停止
+         *
+         * @param now 当前时间（纳秒）
+         */
+        void purgeExpired(long now) {
+            while (oldest != null && now - oldest.writeTime >= ttlNanos) {
+                CacheEntry expired = oldest;
+                unlink(expired);
+                remove(expired.key);
+                evictionCount.increment();
+            }
+        }
+
+        void clearAll() {
+            clear();
+            oldest = null;
+            newest = null;
+        }
+
+        private void link(CacheEntry entry) {
+            entry.older = newest;
+            if (newest != null) {
+                newest.newer = entry;
+            } else {
+                oldest = entry;
+            }
+            newest = entry;
+        }
+
+        private void unlink(CacheEntry entry) {
+            if (entry.older != null) {
+                entry.older.newer = entry.newer;
+            } else {
+                oldest = entry.newer;
+            }
+            if (entry.newer != null) {
+                entry.newer.older = entry.older;
+            } else {
+                newest = entry.older;
+            }
+            entry.older = null;
+            entry.newer = null;
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+
+        private final Object scope;
+
+        private final String value;
+
+        private final int hash;
+
+        Key(Object scope, String value) {
+            this.scope = scope;
+            this.value = value;
+            this.hash = 31 * scope.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key that = (Key) obj;
+            return hash == that.hash && value.equals(that.value) && scope.equals(that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class CacheEntry {
+
+        private final Key key;
+
+        private final String masked;
+
+        private final long writeTime;
+
+        /**
+         * 写入顺序链表中的前后条目
+         */
+        private CacheEntry older;
+
+        private CacheEntry newer;
+
+        CacheEntry(Key key, String masked, long writeTime) {
+            this.key = key;
+            this.masked = masked;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * 缓存统计数据
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long evictionCount;
+
+        private final long size;
+
+        public Stats(long hitCount, long missCount, long evictionCount, long size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * 因容量或存活时间被移除的条目数
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * 命中率，没有请求时为0
+         *
+         * @return 命中率
+         */
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0.0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate()
+                    + ", evictionCount=" + evictionCount + ", size=" + size + "}";
+        }
+    }
+}
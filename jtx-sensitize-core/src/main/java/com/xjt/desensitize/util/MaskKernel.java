@@ -0,0 +1,206 @@
+package com.xjt.desensitize.util;
+
+import java.util.Arrays;
+
+/**
+ * 脱敏内核
+ * 各脱敏策略和JSON字段脱敏共用的字符级脱敏实现：
+ * 结果在线程内复用的字符数组中一次拼装，脱敏段用Arrays.fill填充，
+ * 默认脱敏字符的连续段直接从预生成的脱敏串中截取，每个脱敏值只创建结果字符串本身
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class MaskKernel {
+
+    /**
+     * 默认脱敏字符
+     */
+    public static final char DEFAULT_MASK = '*';
+
+    /**
+     * 预生成的默认脱敏字符串长度
+     */
+    private static final int MASK_RUN_LENGTH = 64;
+
+    /**
+     * 预生成的默认脱敏字符串
+     */
+    private static final char[] MASK_RUN = new char[MASK_RUN_LENGTH];
+
+    /**
+     * 线程内缓冲区最大保留长度，超过该长度的缓冲区用完即丢弃
+     */
+    private static final int MAX_RETAINED = 8192;
+
+    /**
+     * 线程内复用的拼装缓冲区，与MaskBuffer相互独立，
+     * 以免在向MaskBuffer写入结果的过程中被覆盖
+     */
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+    static {
+        Arrays.fill(MASK_RUN, DEFAULT_MASK);
+    }
+
+    private MaskKernel() {
+    }
+
+    /**
+     * 保留首尾指定字符数，中间全部替换为脱敏字符，结果长度与原字符串相同
+     * 保留字符数超出范围时按字符串长度截断
+     *
+     * @param origin    原始字符串，不为null
+     * @param keepStart 开头保留字符数
+     * @param keepEnd   结尾保留字符数
+     * @param maskChar  脱敏字符
+     * @return 脱敏后的字符串
+     */
+    public static String mask(String origin, int keepStart, int keepEnd, char maskChar) {
+        int length = origin.length();
+        int from = clamp(keepStart, length);
+        int to = Math.max(from, length - clamp(keepEnd, length));
+        if (from == to) {
+            return origin;
+        }
+        if (from == 0 && to == length) {
+            return repeat(maskChar, length);
+        }
+        char[] buffer = scratch(length);
+        origin.getChars(0, length, buffer, 0);
+        Arrays.fill(buffer, from, to, maskChar);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * 保留首尾指定字符数，中间全部替换为脱敏字符，结果写入字符数组
+     *
+     * @param origin    原始字符串，不为null
+     * @param keepStart 开头保留字符数
+     * @param keepEnd   结尾保留字符数
+     * @param maskChar  脱敏字符
+     * @param dst       目标字符数组，从下标0开始写入
+     * @return 写入的字符数，目标数组容量不足时返回-1
+     */
+    public static int mask(String origin, int keepStart, int keepEnd, char maskChar, char[] dst) {
+        int length = origin.length();
+        if (dst.length < length) {
+            return -1;
+        }
+        int from = clamp(keepStart, length);
+        int to = Math.max(from, length - clamp(keepEnd, length));
+        origin.getChars(0, length, dst, 0);
+        Arrays.fill(dst, from, to, maskChar);
+        return length;
+    }
+
+    /**
+     * 保留首尾指定字符数，将字符数组前length个字符的中间部分原地替换为脱敏字符
+     *
+     * @param chars     字符数组
+     * @param length    字符数
+     * @param keepStart 开头保留字符数
+     * @param keepEnd   结尾保留字符数
+     * @param maskChar  脱敏字符
+     * @return 脱敏后的字符数，始终等于length
+     */
+    public static int mask(char[] chars, int length, int keepStart, int keepEnd, char maskChar) {
+        int from = clamp(keepStart, length);
+        int to = Math.max(from, length - clamp(keepEnd, length));
+        Arrays.fill(chars, from, to, maskChar);
+        return length;
+    }
+
+    /**
+     * 将原字符串的 [from, to) 区间替换为指定数量的脱敏字符，结果长度可以与原字符串不同
+     *
+     * @param origin    原始字符串，不为null
+     * @param from      替换起始下标（包含）
+     * @param to        替换结束下标（不包含）
+     * @param maskCount 脱敏字符数量
+     * @param maskChar  脱敏字符
+     * @return 脱敏后的字符串
+     */
+    public static String replace(String origin, int from, int to, int maskCount, char maskChar) {
+        int length = origin.length();
+        int total = length - (to - from) + maskCount;
+        char[] buffer = scratch(total);
+        int written = replace(origin, from, to, maskCount, maskChar, buffer);
+        return new String(buffer, 0, written);
+    }
+
+    /**
+     * 将原字符串的 [from, to) 区间替换为指定数量的脱敏字符，结果写入字符数组
+     *
+     * @param origin    原始字符串，不为null
+     * @param from      替换起始下标（包含）
+     * @param to        替换结束下标（不包含）
+     * @param maskCount 脱敏字符数量
+     * @param maskChar  脱敏字符
+     * @param dst       目标字符数组，从下标0开始写入
+     * @return 写入的字符数，目标数组容量不足时返回-1
+     */
+    public static int replace(String origin, int from, int to, int maskCount, char maskChar, char[] dst) {
+        int length = origin.length();
+        int total = length - (to - from) + maskCount;
+        if (dst.length < total) {
+            return -1;
+        }
+        origin.getChars(0, from, dst, 0);
+        Arrays.fill(dst, from, from + maskCount, maskChar);
+        origin.getChars(to, length, dst, from + maskCount);
+        return total;
+    }
+
+    /**
+     * 生成指定长度的脱敏字符串
+     *
+     * @param maskChar 脱敏字符
+     * @param count    长度
+     * @return 脱敏字符串，长度小于等于0时返回空字符串
+     */
+    public static String repeat(char maskChar, int count) {
+        if (count <= 0) {
+            return "";
+        }
+        if (maskChar == DEFAULT_MASK && count <= MASK_RUN_LENGTH) {
+            return new String(MASK_RUN, 0, count);
+        }
+        char[] buffer = scratch(count);
+        Arrays.fill(buffer, 0, count, maskChar);
+        return new String(buffer, 0, count);
+    }
+
+    /**
+     * 将字符数组的 [from, to) 区间原地替换为脱敏字符
+     *
+     * @param chars    字符数组
+     * @param from     起始下标（包含）
+     * @param to       结束下标（不包含）
+     * @param maskChar 脱敏字符
+     */
+    public static void maskInPlace(char[] chars, int from, int to, char maskChar) {
+        if (from < to) {
+            Arrays.fill(chars, from, to, maskChar);
+        }
+    }
+
+    private static int clamp(int keep, int length) {
+        return keep <= 0 ? 0 : Math.min(keep, length);
+    }
+
+    /**
+     * 获取至少为指定容量的拼装缓冲区
+     */
+    private static char[] scratch(int capacity) {
+        char[] buffer = SCRATCH.get();
+        if (buffer.length >= capacity) {
+            return buffer;
+        }
+        buffer = new char[capacity];
+        if (capacity <= MAX_RETAINED) {
+            SCRATCH.set(buffer);
+        }
+        return buffer;
+    }
+}
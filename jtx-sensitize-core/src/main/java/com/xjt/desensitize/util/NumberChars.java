@@ -0,0 +1,143 @@
+package com.xjt.desensitize.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 数值字符渲染工具
+ * 将整数和小数直接渲染到字符数组，结果与对应类型的toString完全一致，
+ * 供数值字段脱敏时在字符数组上原地脱敏，避免创建中间字符串
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class NumberChars {
+
+    /**
+     * 渲染结果的最大字符数，目标数组容量不应小于该值
+     */
+    public static final int MAX_LENGTH = 48;
+
+    /**
+     * Long.MIN_VALUE的字符形式，其绝对值无法用long表示
+     */
+    private static final String MIN_LONG = Long.toString(Long.MIN_VALUE);
+
+    /**
+     * BigDecimal.toString使用普通计数法的最小调整指数
+     */
+    private static final int MIN_PLAIN_EXPONENT = -6;
+
+    private NumberChars() {
+    }
+
+    /**
+     * 将long值渲染到字符数组，结果与Long.toString一致
+     *
+     * @param value 数值
+     * @param dst   目标字符数组，从下标0开始写入，容量不小于20
+     * @return 写入的字符数
+     */
+    public static int render(long value, char[] dst) {
+        if (value == Long.MIN_VALUE) {
+            MIN_LONG.getChars(0, MIN_LONG.length(), dst, 0);
+            return MIN_LONG.length();
+        }
+        int pos = 0;
+        if (value < 0) {
+            dst[pos++] = '-';
+            value = -value;
+        }
+        int length = pos + digits(value);
+        writeDigits(value, dst, length);
+        return length;
+    }
+
+    /**
+     * 将数值渲染到字符数组，结果与其toString一致
+     * 支持整型包装类、不超过long范围的BigInteger，以及非标度值不超过long范围且使用普通计数法的BigDecimal
+     *
+     * @param value 数值，不为null
+     * @param dst   目标字符数组，从下标0开始写入，容量不小于 {@link #MAX_LENGTH}
+     * @return 写入的字符数；不支持的类型或取值返回-1，调用方应改用toString
+     */
+    public static int render(Number value, char[] dst) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return render(value.longValue(), dst);
+        }
+        if (value instanceof BigInteger) {
+            BigInteger integer = (BigInteger) value;
+            return integer.bitLength() < Long.SIZE ? render(integer.longValue(), dst) : -1;
+        }
+        if (value instanceof BigDecimal) {
+            return render((BigDecimal) value, dst);
+        }
+        return -1;
+    }
+
+    private static int render(BigDecimal value, char[] dst) {
+        int scale = value.scale();
+        if (scale == 0 || (scale > 0 && value.precision() - scale - 1 >= MIN_PLAIN_EXPONENT)) {
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() >= Long.SIZE) {
+                return -1;
+            }
+            long number = unscaled.longValue();
+            if (scale == 0) {
+                return render(number, dst);
+            }
+
+            if (number == Long.MIN_VALUE) {
+                return -1;
+            }
+            int pos = 0;
+            if (number < 0) {
+                dst[pos++] = '-';
+                number = -number;
+            }
+            int digits = digits(number);
+            if (digits > scale) {
+                // 整数部分、小数点、小数部分
+                int length = pos + digits + 1;
+                writeDigits(number, dst, pos + digits);
+                int point = pos + digits - scale;
+                System.arraycopy(dst, point, dst, point + 1, scale);
+                dst[point] = '.';
+                return length;
+            }
+            // 0.后补足前导零
+            dst[pos++] = '0';
+            dst[pos++] = '.';
+            for (int i = digits; i < scale; i++) {
+                dst[pos++] = '0';
+            }
+            int length = pos + digits;
+            writeDigits(number, dst, length);
+            return length;
+        }
+        return -1;
+    }
+
+    /**
+     * 非负long值的十进制位数
+     */
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * 将非负long值的各位数字从end向前写入
+     */
+    private static void writeDigits(long value, char[] dst, int end) {
+        int pos = end;
+        do {
+            dst[--pos] = (char) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+}
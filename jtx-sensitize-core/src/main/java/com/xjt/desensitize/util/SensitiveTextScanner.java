@@ -0,0 +1,385 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.impl.BankCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.IdCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PhoneDesensitizeStrategy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 自由文本敏感信息扫描器
+ * 在日志消息等自由文本中查找手机号、身份证号、银行卡号和邮箱，并按对应脱敏策略的规则原地脱敏：
+ * 手机号、身份证号、银行卡号保留的首尾字符数与对应策略的常量一致，邮箱与邮箱脱敏策略的结果一致。
+ * <p>
+ * 整段文本只扫描一遍，不使用正则表达式；数字串必须以ASCII字母数字以外的字符（包括中文）为边界，
+ * 身份证号校验末位校验码，银行卡号校验Luhn校验位，以减少订单号、时间戳等数字的误判。
+ * 只支持上述四种格式可识别的类型，姓名、地址、密码等类型无法在自由文本中定位，不在扫描范围内。
+ * 扫描器不可变，可在多线程间共享
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class SensitiveTextScanner {
+
+    /**
+     * 支持在自由文本中识别的脱敏类型
+     */
+    private static final Set<DesensitizeType> SUPPORTED_TYPES = Collections.unmodifiableSet(EnumSet.of(
+            DesensitizeType.PHONE, DesensitizeType.ID_CARD, DesensitizeType.BANK_CARD, DesensitizeType.EMAIL));
+
+    /**
+     * 识别全部支持类型的默认扫描器
+     */
+    public static final SensitiveTextScanner DEFAULT = new SensitiveTextScanner(SUPPORTED_TYPES, MaskKernel.DEFAULT_MASK);
+
+    private static final int PHONE_LENGTH = 11;
+
+    private static final int ID_CARD_LENGTH = 18;
+
+    private static final int MIN_BANK_CARD_LENGTH = 16;
+
+    private static final int MAX_BANK_CARD_LENGTH = 19;
+
+    /**
+     * 身份证号前17位的加权因子
+     */
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    /**
+     * 身份证号校验码，按加权和模11取值
+     */
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    /**
+     * 线程内缓冲区最大保留容量，超过后丢弃
+     */
+    private static final int MAX_RETAINED = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final boolean phone;
+
+    private final boolean idCard;
+
+    private final boolean bankCard;
+
+    private final boolean email;
+
+    /**
+     * 可能包含敏感信息的最短数字串长度
+     */
+    private final int minDigits;
+
+    private final char maskChar;
+
+    /**
+     * 创建只识别指定类型的扫描器
+     *
+     * @param types    脱敏类型，不支持的类型被忽略
+     * @param maskChar 脱敏字符
+     */
+    public SensitiveTextScanner(Collection<DesensitizeType> types, char maskChar) {
+        this.phone = types.contains(DesensitizeType.PHONE);
+        this.idCard = types.contains(DesensitizeType.ID_CARD);
+        this.bankCard = types.contains(DesensitizeType.BANK_CARD);
+        this.email = types.contains(DesensitizeType.EMAIL);
+        this.minDigits = phone ? PHONE_LENGTH : bankCard ? MIN_BANK_CARD_LENGTH : ID_CARD_LENGTH - 1;
+        this.maskChar = maskChar;
+        for (DesensitizeType type : types) {
+            if (!SUPPORTED_TYPES.contains(type)) {
+                System.err.println("自由文本脱敏不支持该类型，已忽略: " + type);
+            }
+        }
+    }
+
+    /**
+     * 按类型名称创建扫描器，名称不区分大小写
+     * 无效的名称被忽略；没有有效名称时返回 {@link #DEFAULT}
+     *
+     * @param typeNames 脱敏类型名称，如PHONE、EMAIL
+     * @return 扫描器
+     */
+    public static SensitiveTextScanner of(Iterable<String> typeNames) {
+        Set<DesensitizeType> types = EnumSet.noneOf(DesensitizeType.class);
+        if (typeNames != null) {
+            for (String name : typeNames) {
+                if (!StringUtil.hasText(name)) {
+                    continue;
+                }
+                try {
+                    types.add(DesensitizeType.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("无效的脱敏类型: " + name + "，已忽略");
+                }
+            }
+        }
+        types.retainAll(SUPPORTED_TYPES);
+        return types.isEmpty() ? DEFAULT : new SensitiveTextScanner(types, MaskKernel.DEFAULT_MASK);
+    }
+
+    /**
+     * 支持在自由文本中识别的脱敏类型
+     *
+     * @return 脱敏类型集合
+     */
+    public static Set<DesensitizeType> supportedTypes() {
+        return SUPPORTED_TYPES;
+    }
+
+    /**
+     * 脱敏文本中的敏感信息
+     * 先快速定位第一个可能的敏感信息，不存在时直接返回原文本；
+     * 否则从该位置起在线程内复用的StringBuilder中原地脱敏
+     *
+     * @param text 文本
+     * @return 脱敏后的文本，未发现敏感信息时返回原对象
+     */
+    public String mask(String text) {
+        if (text == null) {
+            return null;
+        }
+        int from = firstCandidate(text);
+        if (from < 0) {
+            return text;
+        }
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(text);
+        String result = mask(buffer, from) > 0 ? buffer.toString() : text;
+        if (buffer.capacity() > MAX_RETAINED) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * 从指定位置起原地脱敏StringBuilder中的敏感信息
+     * 手机号、身份证号、银行卡号长度不变；邮箱用户名过短时与邮箱脱敏策略一致补足脱敏字符，长度可能增加
+     *
+     * @param text 文本
+     * @param from 起始下标，之前的内容不做处理
+     * @return 脱敏的敏感信息个数
+     */
+    public int mask(StringBuilder text, int from) {
+        int count = 0;
+        int length = text.length();
+        int i = Math.max(0, from);
+        while (i < length) {
+            if (!isLocalChar(text.charAt(i)) || (i > from && isLocalChar(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+
+            // 邮箱用户名字符组成的连续片段
+            int end = i + 1;
+            while (end < length && isLocalChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (email && end < length && text.charAt(end) == '@') {
+                int domainEnd = domainEnd(text, end + 1);
+                if (domainEnd > 0) {
+                    int delta = maskEmail(text, i, end);
+                    count++;
+                    length += delta;
+                    i = domainEnd + delta;
+                    continue;
+                }
+            }
+
+            count += maskNumbers(text, i, end);
+            i = end;
+        }
+        return count;
+    }
+
+    /**
+     * 查找第一个可能包含敏感信息的片段的起始位置
+     */
+    private int firstCandidate(String text) {
+        int length = text.length();
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits >= minDigits && (phone || idCard || bankCard)) {
+                    return runStart(text, i);
+                }
+            } else {
+                digits = 0;
+                if (c == '@' && email && i > 0) {
+                    return runStart(text, i - 1);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 向前查找包含指定位置的邮箱用户名字符片段的起始位置
+     */
+    private static int runStart(String text, int index) {
+        int start = index;
+        while (start > 0 && isLocalChar(text.charAt(start - 1))) {
+            start--;
+        }
+        return start;
+    }
+
+    /**
+     * 脱敏片段中以非ASCII字母数字字符为边界的数字串，返回脱敏个数
+     */
+    private int maskNumbers(StringBuilder text, int from, int to) {
+        int count = 0;
+        int k = from;
+        while (k < to) {
+            if (!isDigit(text.charAt(k)) || (k > 0 && isAsciiLetterOrDigit(text.charAt(k - 1)))) {
+                k++;
+                continue;
+            }
+            int m = k + 1;
+            while (m < to && isDigit(text.charAt(m))) {
+                m++;
+            }
+            int digits = m - k;
+            int end = m;
+            boolean idCardX = idCard && digits == ID_CARD_LENGTH - 1 && m < to
+                    && (text.charAt(m) == 'X' || text.charAt(m) == 'x');
+            if (idCardX) {
+                end = m + 1;
+            }
+            if (digits >= minDigits && (end == text.length() || !isAsciiLetterOrDigit(text.charAt(end)))
+                    && maskNumber(text, k, end)) {
+                count++;
+            }
+            k = end;
+        }
+        return count;
+    }
+
+    /**
+     * 按长度和校验规则识别数字串并原地脱敏
+     */
+    private boolean maskNumber(StringBuilder text, int start, int end) {
+        int length = end - start;
+        if (phone && length == PHONE_LENGTH && text.charAt(start) == '1'
+                && text.charAt(start + 1) >= '3' && text.charAt(start + 1) <= '9') {
+            fill(text, start + PhoneDesensitizeStrategy.START_KEEP, end - PhoneDesensitizeStrategy.END_KEEP);
+            return true;
+        }
+        if (idCard && length == ID_CARD_LENGTH && isIdCard(text, start)) {
+            fill(text, start + IdCardDesensitizeStrategy.START_KEEP, end - IdCardDesensitizeStrategy.END_KEEP);
+            return true;
+        }
+        if (bankCard && length >= MIN_BANK_CARD_LENGTH && length <= MAX_BANK_CARD_LENGTH
+                && isDigit(text.charAt(end - 1)) && isLuhn(text, start, end)) {
+            fill(text, start + BankCardDesensitizeStrategy.START_KEEP, end - BankCardDesensitizeStrategy.END_KEEP);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 与邮箱脱敏策略一致：用户名只有一个字符时替换为3个脱敏字符，
+     * 否则保留首字符，其余替换为脱敏字符且至少2个；返回文本长度的变化量
+     */
+    private int maskEmail(StringBuilder text, int start, int at) {
+        int local = at - start;
+        if (local == 1) {
+            text.setCharAt(start, maskChar);
+            text.insert(at, maskChar).insert(at, maskChar);
+            return 2;
+        }
+        fill(text, start + 1, at);
+        if (local == 2) {
+            text.insert(at, maskChar);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * 校验@之后的域名，返回域名结束位置；不是有效域名时返回-1
+     * 域名由字母、数字、连字符和点组成，至少包含一个点，且以字母结尾
+     */
+    private static int domainEnd(StringBuilder text, int from) {
+        int length = text.length();
+        int end = from;
+        int lastDot = -1;
+        while (end < length) {
+            char c = text.charAt(end);
+            if (c == '.') {
+                if (end == from || text.charAt(end - 1) == '.') {
+                    break;
+                }
+                lastDot = end;
+            } else if (!(c < 128 && (Character.isLetterOrDigit(c) || c == '-'))) {
+                break;
+            }
+            end++;
+        }
+        // 去掉句末的点
+        if (lastDot == end - 1) {
+            end--;
+            lastDot = -1;
+            for (int i = end - 1; i > from; i--) {
+                if (text.charAt(i) == '.') {
+                    lastDot = i;
+                    break;
+                }
+            }
+        }
+        return lastDot > from && Character.isLetter(text.charAt(end - 1)) ? end : -1;
+    }
+
+    private static boolean isIdCard(StringBuilder text, int start) {
+        int sum = 0;
+        for (int i = 0; i < ID_CARD_LENGTH - 1; i++) {
+            sum += (text.charAt(start + i) - '0') * ID_CARD_WEIGHTS[i];
+        }
+        return Character.toUpperCase(text.charAt(start + ID_CARD_LENGTH - 1)) == ID_CARD_CHECK_CODES[sum % 11];
+    }
+
+    private static boolean isLuhn(StringBuilder text, int start, int end) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = end - 1; i >= start; i--) {
+            int digit = text.charAt(i) - '0';
+            if (doubled) {
+                digit <<= 1;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0;
+    }
+
+    private void fill(StringBuilder text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            text.setCharAt(i, maskChar);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return c < 128 && Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * 邮箱用户名允许的字符
+     */
+    private static boolean isLocalChar(char c) {
+        return c < 128 && (Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-');
+    }
+}
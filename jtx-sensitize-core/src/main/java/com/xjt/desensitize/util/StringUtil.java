@@ -0,0 +1,49 @@
+package com.xjt.desensitize.util;
+
+/**
+ * 字符串工具类
+ * 核心模块不依赖Spring，提供与org.springframework.util.StringUtils一致的常用判断
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class StringUtil {
+
+    private StringUtil() {
+    }
+
+    /**
+     * 判断字符串是否包含非空白字符
+     *
+     * @param str 字符串
+     * @return 不为null、长度大于0且包含至少一个非空白字符时返回true
+     */
+    public static boolean hasText(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断字符数组的前length个字符是否包含非空白字符
+     *
+     * @param chars  字符数组
+     * @param length 字符数
+     * @return 包含至少一个非空白字符时返回true
+     */
+    public static boolean hasText(char[] chars, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,1023 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.impl.AddressDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.BankCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.ChineseNameDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.CustomDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.IdCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PasswordDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PhoneDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.UsernameDesensitizeStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8字节脱敏处理器
+ * 直接在UTF-8字节上执行脱敏，避免消息队列、HTTP报文等字节数据先解码为String再编码回字节；
+ * 保留和脱敏均按码点计算，不会截断中文等多字节字符
+ *
+ * 不带参数的按类型脱敏与 com.xjt.desensitize.strategy 下各策略的默认规则一致；
+ * 带保留字符数和脱敏字符的按类型脱敏以及JSON脱敏与 {@link JsonFieldDesensitizer} 的字段规则一致。
+ * 区别在于按码点而非UTF-16字符计数，两者仅在包含增补平面字符（如emoji）时存在差异
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class Utf8Desensitizer {
+
+    /**
+     * 默认脱敏字符
+     */
+    private static final char DEFAULT_MASK = '*';
+
+    private Utf8Desensitizer() {
+    }
+
+    /**
+     * 计算脱敏结果可能占用的最大字节数，用于预先分配输出缓冲区
+     *
+     * @param length   原始字节数
+     * @param maskChar 脱敏字符
+     * @return 最大字节数
+     */
+    public static int maxOutputLength(int length, char maskChar) {
+        // 每个码点至少占1字节，最坏情况下全部替换为多字节脱敏字符；另加密码和邮箱的最少脱敏字符数
+        return (length + PasswordDesensitizeStrategy.MASKED.length()) * Math.max(encodedLength(maskChar), 1);
+    }
+
+    /**
+     * 按脱敏类型的默认规则对UTF-8字节脱敏，结果写入目标缓冲区
+     * 不支持JSON_FIELD，JSON请使用{@link #desensitizeJson}
+     *
+     * @param src    原始字节
+     * @param off    起始位置
+     * @param len    字节数
+     * @param type   脱敏类型
+     * @param dst    目标缓冲区，剩余容量至少为{@link #maxOutputLength(int, char)}
+     * @param dstOff 目标起始位置
+     * @return 写入的字节数
+     */
+    public static int desensitize(byte[] src, int off, int len, DesensitizeType type, byte[] dst, int dstOff) {
+        if (type == null || !hasText(src, off, len)) {
+            return copy(src, off, len, dst, dstOff);
+        }
+
+        switch (type) {
+            case USERNAME:
+                return mask(src, off, len, UsernameDesensitizeStrategy.START_KEEP,
+                        UsernameDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case ID_CARD:
+                return mask(src, off, len, IdCardDesensitizeStrategy.START_KEEP,
+                        IdCardDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case PHONE:
+                return mask(src, off, len, PhoneDesensitizeStrategy.START_KEEP,
+                        PhoneDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case BANK_CARD:
+                return mask(src, off, len, BankCardDesensitizeStrategy.START_KEEP,
+                        BankCardDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case CHINESE_NAME:
+                return mask(src, off, len, ChineseNameDesensitizeStrategy.START_KEEP,
+                        ChineseNameDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case ADDRESS:
+                return mask(src, off, len, AddressDesensitizeStrategy.START_KEEP,
+                        AddressDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case CUSTOM:
+                return mask(src, off, len, CustomDesensitizeStrategy.START_KEEP,
+                        CustomDesensitizeStrategy.END_KEEP, DEFAULT_MASK, dst, dstOff);
+            case PASSWORD:
+                return fill(dst, dstOff, DEFAULT_MASK, PasswordDesensitizeStrategy.MASKED.length());
+            case EMAIL:
+                return desensitizeEmail(src, off, len, dst, dstOff);
+            default:
+                return copy(src, off, len, dst, dstOff);
+        }
+    }
+
+    /**
+     * 按脱敏类型和参数对UTF-8字节脱敏，结果写入目标缓冲区
+     * 规则与JSON字段脱敏一致：保留字符数大于0时按自定义规则保留首尾，否则使用该类型的默认规则，
+     * 脱敏字符对所有类型生效；JSON_FIELD原样复制
+     *
+     * @param src       原始字节
+     * @param off       起始位置
+     * @param len       字节数
+     * @param type      脱敏类型
+     * @param startKeep 开始保留码点数，0表示使用类型默认规则
+     * @param endKeep   结尾保留码点数，0表示使用类型默认规则
+     * @param maskChar  脱敏字符
+     * @param dst       目标缓冲区，剩余容量至少为{@link #maxOutputLength(int, char)}
+     * @param dstOff    目标起始位置
+     * @return 写入的字节数
+     */
+    public static int desensitize(byte[] src, int off, int len, DesensitizeType type, int startKeep, int endKeep,
+                                  char maskChar, byte[] dst, int dstOff) {
+        if (type == null || type == DesensitizeType.JSON_FIELD || isBlank(src, off, len)) {
+            return copy(src, off, len, dst, dstOff);
+        }
+        if (startKeep > 0 || endKeep > 0 || type == DesensitizeType.CUSTOM) {
+            return maskCustom(src, off, len, Math.max(0, startKeep), Math.max(0, endKeep), maskChar, dst, dstOff);
+        }
+
+        int end = off + len;
+        int count = codePointCount(src, off, end);
+        switch (type) {
+            case USERNAME:
+            case CHINESE_NAME:
+                // 隐藏首字符
+                return keep(src, off, end, count, 0, count - 1, maskChar, dst, dstOff);
+            case ID_CARD:
+            case ADDRESS:
+                return keepOrMaskAll(src, off, end, count, IdCardDesensitizeStrategy.START_KEEP,
+                        IdCardDesensitizeStrategy.END_KEEP, maskChar, dst, dstOff);
+            case PHONE:
+                return keepOrMaskAll(src, off, end, count, PhoneDesensitizeStrategy.START_KEEP,
+                        PhoneDesensitizeStrategy.END_KEEP, maskChar, dst, dstOff);
+            case BANK_CARD:
+                return keepOrMaskAll(src, off, end, count, BankCardDesensitizeStrategy.START_KEEP,
+                        BankCardDesensitizeStrategy.END_KEEP, maskChar, dst, dstOff);
+            case PASSWORD:
+                return fill(dst, dstOff, maskChar, count);
+            case EMAIL:
+                return maskEmailLocalPart(src, off, end, maskChar, dst, dstOff);
+            default:
+                return copy(src, off, len, dst, dstOff);
+        }
+    }
+
+    /**
+     * 按码点保留开始和结尾部分，中间替换为脱敏字符，结果写入目标缓冲区
+     * 规则与AbstractDesensitizeStrategy.mask一致：码点数不超过保留总数时，
+     * 不超过2个码点则全部脱敏，否则只保留首尾各一个码点
+     *
+     * @param src       原始字节
+     * @param off       起始位置
+     * @param len       字节数
+     * @param startKeep 开始保留码点数
+     * @param endKeep   结尾保留码点数
+     * @param maskChar  脱敏字符
+     * @param dst       目标缓冲区，剩余容量至少为{@link #maxOutputLength(int, char)}
+     * @param dstOff    目标起始位置
+     * @return 写入的字节数
+     */
+    public static int mask(byte[] src, int off, int len, int startKeep, int endKeep, char maskChar,
+                           byte[] dst, int dstOff) {
+        if (!hasText(src, off, len)) {
+            return copy(src, off, len, dst, dstOff);
+        }
+
+        int end = off + len;
+        int count = codePointCount(src, off, end);
+        startKeep = Math.max(0, startKeep);
+        endKeep = Math.max(0, endKeep);
+
+        if (count <= startKeep + endKeep) {
+            if (count <= 2) {
+                return fill(dst, dstOff, maskChar, count);
+            }
+            // 保留首尾，中间脱敏
+            startKeep = 1;
+            endKeep = 1;
+        }
+
+        return keep(src, off, end, count, startKeep, endKeep, maskChar, dst, dstOff);
+    }
+
+    /**
+     * 在原缓冲区中就地脱敏，结果长度不会超过原长度
+     * 脱敏字符必须为ASCII字符，以保证每个被替换的码点都不会变长
+     *
+     * @param buf       字节缓冲区
+     * @param off       起始位置
+     * @param len       字节数
+     * @param startKeep 开始保留码点数
+     * @param endKeep   结尾保留码点数
+     * @param maskChar  ASCII脱敏字符
+     * @return 脱敏后的字节数
+     */
+    public static int maskInPlace(byte[] buf, int off, int len, int startKeep, int endKeep, char maskChar) {
+        if (maskChar > 0x7F) {
+            throw new IllegalArgumentException("就地脱敏只支持ASCII脱敏字符: " + maskChar);
+        }
+        // 输出不会超过输入，且保留部分只会向前移动，因此可直接以自身作为目标缓冲区
+        return mask(buf, off, len, startKeep, endKeep, maskChar, buf, off);
+    }
+
+    /**
+     * 按字段路径规则对UTF-8编码的JSON脱敏，结果写入可复用的输出缓冲区
+     * 直接扫描字节并同步下行路径字典树：未命中规则的内容按原始字节整段复制，保留原有的空白和转义；
+     * 命中规则的字符串在字节上按码点脱敏，只有含转义字符的字符串和字段名需要先还原转义。
+     * 数字和布尔等标量与流式脱敏一致，按文本脱敏后写为字符串。
+     * 输入以对象或数组开始时，其后以空白分隔的多个根值（如NDJSON）都会按同一规则处理；
+     * 输入不是合法的JSON对象或数组时原样输出
+     *
+     * @param src      JSON字节
+     * @param off      起始位置
+     * @param len      字节数
+     * @param plan     规则计划
+     * @param maskChar 默认脱敏字符
+     * @param out      输出缓冲区，写入前会被重置
+     * @return 是否执行了脱敏
+     */
+    public static boolean desensitizeJson(byte[] src, int off, int len, JsonFieldRulePlan plan, char maskChar,
+                                          ByteArrayBuilder out) {
+        out.reset();
+        if (src == null) {
+            return false;
+        }
+        if (plan != null && !plan.isEmpty()) {
+            try {
+                if (new JsonMasker(src, off, off + len, plan, maskChar, out).rewrite()) {
+                    return true;
+                }
+            } catch (MalformedJsonException e) {
+                // 不是合法JSON，原样输出
+            }
+        }
+        out.reset();
+        out.write(src, off, len);
+        return false;
+    }
+
+    /**
+     * 按字段路径规则对UTF-8编码的JSON脱敏
+     *
+     * @param json     JSON字节
+     * @param plan     规则计划
+     * @param maskChar 默认脱敏字符
+     * @return 脱敏后的JSON字节
+     */
+    public static byte[] desensitizeJson(byte[] json, JsonFieldRulePlan plan, char maskChar) {
+        if (json == null) {
+            return null;
+        }
+        ByteArrayBuilder out = new ByteArrayBuilder(json.length + 16);
+        desensitizeJson(json, 0, json.length, plan, maskChar, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 邮箱脱敏，与EmailDesensitizeStrategy一致：保留@前的首字符，其余替换为*，域名部分保留
+     */
+    private static int desensitizeEmail(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        int end = off + len;
+        int atIndex = -1;
+        for (int i = off; i < end; i++) {
+            if (src[i] == '@') {
+                atIndex = i;
+                break;
+            }
+        }
+        if (atIndex <= off) {
+            return copy(src, off, len, dst, dstOff);
+        }
+
+        int localCount = codePointCount(src, off, atIndex);
+        int pos = dstOff;
+        if (localCount <= 1) {
+            pos += fill(dst, pos, DEFAULT_MASK, Math.max(localCount, 3));
+        } else {
+            int firstEnd = advance(src, off, atIndex, 1);
+            pos += copy(src, off, firstEnd - off, dst, pos);
+            pos += fill(dst, pos, DEFAULT_MASK, Math.max(localCount - 1, 2));
+        }
+        pos += copy(src, atIndex, end - atIndex, dst, pos);
+        return pos - dstOff;
+    }
+
+    /**
+     * 按JSON字段规则的邮箱脱敏：@前只有一个码点时全部脱敏，否则保留首个码点，域名部分保留；不含@时原样复制
+     */
+    private static int maskEmailLocalPart(byte[] src, int off, int end, char maskChar, byte[] dst, int dstOff) {
+        int atIndex = indexOf(src, off, end, (byte) '@');
+        if (atIndex < 0) {
+            return copy(src, off, end - off, dst, dstOff);
+        }
+        int localCount = codePointCount(src, off, atIndex);
+        int pos = dstOff;
+        if (localCount <= 1) {
+            pos += fill(dst, pos, maskChar, localCount);
+        } else {
+            pos += keep(src, off, atIndex, localCount, 1, 0, maskChar, dst, pos);
+        }
+        pos += copy(src, atIndex, end - atIndex, dst, pos);
+        return pos - dstOff;
+    }
+
+    /**
+     * 按JSON字段规则的自定义脱敏：码点数不超过保留总数时，任一保留数达到码点数或不超过2个码点则全部脱敏，
+     * 否则只保留首尾各一个码点
+     */
+    private static int maskCustom(byte[] src, int off, int len, int startKeep, int endKeep, char maskChar,
+                                  byte[] dst, int dstOff) {
+        if (!hasText(src, off, len)) {
+            return copy(src, off, len, dst, dstOff);
+        }
+        int end = off + len;
+        int count = codePointCount(src, off, end);
+        if (count <= startKeep + endKeep) {
+            if (startKeep >= count || endKeep >= count || count <= 2) {
+                return fill(dst, dstOff, maskChar, count);
+            }
+            return keep(src, off, end, count, 1, 1, maskChar, dst, dstOff);
+        }
+        return keep(src, off, end, count, startKeep, endKeep, maskChar, dst, dstOff);
+    }
+
+    /**
+     * 码点数不超过保留总数时全部脱敏，否则保留首尾
+     */
+    private static int keepOrMaskAll(byte[] src, int off, int end, int count, int startKeep, int endKeep,
+                                     char maskChar, byte[] dst, int dstOff) {
+        if (count <= startKeep + endKeep) {
+            return fill(dst, dstOff, maskChar, count);
+        }
+        return keep(src, off, end, count, startKeep, endKeep, maskChar, dst, dstOff);
+    }
+
+    /**
+     * 保留开始startKeep个和结尾endKeep个码点，中间替换为脱敏字符，调用方保证保留总数不超过码点数
+     */
+    private static int keep(byte[] src, int off, int end, int count, int startKeep, int endKeep, char maskChar,
+                            byte[] dst, int dstOff) {
+        int keepHeadEnd = advance(src, off, end, startKeep);
+        int keepTailStart = retreat(src, off, end, endKeep);
+
+        int pos = dstOff;
+        pos += copy(src, off, keepHeadEnd - off, dst, pos);
+        pos += fill(dst, pos, maskChar, count - startKeep - endKeep);
+        pos += copy(src, keepTailStart, end - keepTailStart, dst, pos);
+        return pos - dstOff;
+    }
+
+    private static int indexOf(byte[] src, int off, int end, byte target) {
+        for (int i = off; i < end; i++) {
+            if (src[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 判断字节是否全部为空白或控制字符，与String.trim().isEmpty()语义一致
+     */
+    private static boolean isBlank(byte[] src, int off, int len) {
+        if (src == null) {
+            return true;
+        }
+        for (int i = off, end = off + len; i < end; i++) {
+            if ((src[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断字节中是否包含非空白字符，与StringUtils.hasText语义一致
+     */
+    private static boolean hasText(byte[] src, int off, int len) {
+        if (src == null || len <= 0) {
+            return false;
+        }
+        int end = off + len;
+        int i = off;
+        while (i < end) {
+            int b = src[i] & 0xFF;
+            if (b < 0x80) {
+                if (!Character.isWhitespace(b)) {
+                    return true;
+                }
+                i++;
+            } else {
+                int next = advance(src, i, end, 1);
+                if (!Character.isWhitespace(decode(src, i, next))) {
+                    return true;
+                }
+                i = next;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解码单个多字节码点
+     */
+    private static int decode(byte[] src, int start, int end) {
+        int b = src[start] & 0xFF;
+        int length = end - start;
+        int cp = length == 2 ? b & 0x1F : length == 3 ? b & 0x0F : b & 0x07;
+        for (int i = start + 1; i < end; i++) {
+            cp = (cp << 6) | (src[i] & 0x3F);
+        }
+        return cp;
+    }
+
+    /**
+     * 统计码点数量，续字节（10xxxxxx）不计数
+     */
+    private static int codePointCount(byte[] src, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if ((src[i] & 0xC0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从start开始前进n个码点，返回对应的字节位置
+     */
+    private static int advance(byte[] src, int start, int end, int n) {
+        int i = start;
+        while (n > 0 && i < end) {
+            i++;
+            while (i < end && (src[i] & 0xC0) == 0x80) {
+                i++;
+            }
+            n--;
+        }
+        return i;
+    }
+
+    /**
+     * 从end开始后退n个码点，返回对应的字节位置
+     */
+    private static int retreat(byte[] src, int start, int end, int n) {
+        int i = end;
+        while (n > 0 && i > start) {
+            i--;
+            while (i > start && (src[i] & 0xC0) == 0x80) {
+                i--;
+            }
+            n--;
+        }
+        return i;
+    }
+
+    private static int copy(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        if (len > 0) {
+            System.arraycopy(src, off, dst, dstOff, len);
+        }
+        return Math.max(len, 0);
+    }
+
+    /**
+     * 写入count个脱敏字符的UTF-8编码
+     */
+    private static int fill(byte[] dst, int dstOff, char maskChar, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (maskChar < 0x80) {
+            Arrays.fill(dst, dstOff, dstOff + count, (byte) maskChar);
+            return count;
+        }
+        int pos = dstOff;
+        for (int i = 0; i < count; i++) {
+            pos += encode(maskChar, dst, pos);
+        }
+        return pos - dstOff;
+    }
+
+    private static int encodedLength(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        return c < 0x800 ? 2 : 3;
+    }
+
+    /**
+     * 将码点编码为UTF-8，单独的代理字符无法编码，以?代替
+     */
+    private static int encodeCodePoint(int cp, byte[] dst, int pos) {
+        if (cp < 0x80) {
+            dst[pos] = (byte) cp;
+            return 1;
+        }
+        if (cp < 0x10000) {
+            return encode((char) cp, dst, pos);
+        }
+        dst[pos] = (byte) (0xF0 | (cp >> 18));
+        dst[pos + 1] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        dst[pos + 2] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        dst[pos + 3] = (byte) (0x80 | (cp & 0x3F));
+        return 4;
+    }
+
+    /**
+     * 将BMP字符编码为UTF-8，代理字符无法单独编码，以?代替
+     */
+    private static int encode(char c, byte[] dst, int pos) {
+        if (Character.isSurrogate(c)) {
+            dst[pos] = '?';
+            return 1;
+        }
+        if (c < 0x800) {
+            dst[pos] = (byte) (0xC0 | (c >> 6));
+            dst[pos + 1] = (byte) (0x80 | (c & 0x3F));
+            return 2;
+        }
+        dst[pos] = (byte) (0xE0 | (c >> 12));
+        dst[pos + 1] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        dst[pos + 2] = (byte) (0x80 | (c & 0x3F));
+        return 3;
+    }
+
+    /**
+     * JSON格式错误，只用于在扫描中提前返回，不记录堆栈
+     */
+    private static final class MalformedJsonException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        MalformedJsonException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * 字节级JSON脱敏扫描器
+     * 单次调用内使用，扫描的同时校验JSON语法；未命中规则的字节不逐个写出，
+     * 而是在写出脱敏值或扫描结束时从copyFrom整段复制
+     */
+    private static final class JsonMasker {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        private final byte[] src;
+
+        private final int start;
+
+        private final int end;
+
+        private final JsonFieldRulePlan plan;
+
+        private final char maskChar;
+
+        private final ByteArrayBuilder out;
+
+        private int pos;
+
+        /**
+         * 尚未写出的原始字节起点
+         */
+        private int copyFrom;
+
+        /**
+         * 最近扫描的字符串是否包含转义
+         */
+        private boolean escaped;
+
+        /**
+         * 还原转义后的值或数字文本
+         */
+        private byte[] value = EMPTY;
+
+        /**
+         * 脱敏结果
+         */
+        private byte[] masked = EMPTY;
+
+        JsonMasker(byte[] src, int start, int end, JsonFieldRulePlan plan, char maskChar, ByteArrayBuilder out) {
+            this.src = src;
+            this.start = start;
+            this.end = end;
+            this.plan = plan;
+            this.maskChar = maskChar;
+            this.out = out;
+        }
+
+        /**
+         * 扫描并脱敏全部根值
+         *
+         * @return 首个根值不是对象或数组时返回false，此时未写出任何内容
+         */
+        boolean rewrite() throws MalformedJsonException {
+            pos = start;
+            if (end - pos >= 3 && src[pos] == (byte) 0xEF && src[pos + 1] == (byte) 0xBB && src[pos + 2] == (byte) 0xBF) {
+                pos += 3;
+            }
+            pos = skipWhitespace(pos);
+            if (pos >= end || (src[pos] != '{' && src[pos] != '[')) {
+                return false;
+            }
+            copyFrom = start;
+            JsonFieldRulePlan.PathNode root = plan.root();
+            while (pos < end) {
+                value(root, null);
+                pos = skipWhitespace(pos);
+            }
+            out.write(src, copyFrom, end - copyFrom);
+            return true;
+        }
+
+        private void value(JsonFieldRulePlan.PathNode node, JsonFieldRule fallback) throws MalformedJsonException {
+            byte b = peek();
+            if (b == '{') {
+                object(node, fallback);
+            } else if (b == '[') {
+                array(node, fallback);
+            } else {
+                scalar(JsonFieldRulePlan.resolveRule(node, fallback));
+            }
+        }
+
+        private void object(JsonFieldRulePlan.PathNode node, JsonFieldRule fallback) throws MalformedJsonException {
+            // 不可能命中规则时不再查找子节点，只校验语法
+            boolean reachable = JsonFieldRulePlan.canMatchInObject(node, fallback);
+            JsonFieldRule childFallback = !reachable ? null : node != null ? node.getFieldFallback() : fallback;
+
+            pos = skipWhitespace(pos + 1);
+            if (peek() == '}') {
+                pos++;
+                return;
+            }
+            while (true) {
+                if (peek() != '"') {
+                    throw new MalformedJsonException("字段名必须是字符串");
+                }
+                int nameStart = pos + 1;
+                pos = skipString(pos);
+                int nameEnd = pos - 1;
+                JsonFieldRulePlan.PathNode child = null;
+                if (reachable && node != null && escaped) {
+                    int length = unescape(nameStart, nameEnd);
+                    child = node.child(new String(value, 0, length, StandardCharsets.UTF_8));
+                } else if (reachable && node != null) {
+                    child = node.child(src, nameStart, nameEnd - nameStart);
+                }
+                pos = skipWhitespace(pos);
+                expect(':');
+                pos = skipWhitespace(pos);
+                value(child, childFallback);
+                pos = skipWhitespace(pos);
+                byte b = peek();
+                pos++;
+                if (b == '}') {
+                    return;
+                }
+                if (b != ',') {
+                    throw new MalformedJsonException("对象成员之间缺少逗号");
+                }
+                pos = skipWhitespace(pos);
+            }
+        }
+
+        private void array(JsonFieldRulePlan.PathNode node, JsonFieldRule fallback) throws MalformedJsonException {
+            boolean reachable = JsonFieldRulePlan.canMatchInArray(node, fallback);
+            JsonFieldRulePlan.PathNode elementNode = reachable && node != null ? node.element() : null;
+            JsonFieldRule elementFallback = !reachable ? null : node != null ? node.getElementFallback() : fallback;
+
+            pos = skipWhitespace(pos + 1);
+            if (peek() == ']') {
+                pos++;
+                return;
+            }
+            while (true) {
+                value(elementNode, elementFallback);
+                pos = skipWhitespace(pos);
+                byte b = peek();
+                pos++;
+                if (b == ']') {
+                    return;
+                }
+                if (b != ',') {
+                    throw new MalformedJsonException("数组元素之间缺少逗号");
+                }
+                pos = skipWhitespace(pos);
+            }
+        }
+
+        private void scalar(JsonFieldRule rule) throws MalformedJsonException {
+            int tokenStart = pos;
+            byte b = peek();
+            if (b == '"') {
+                pos = skipString(pos);
+                if (rule != null) {
+                    if (escaped) {
+                        int length = unescape(tokenStart + 1, pos - 1);
+                        writeMasked(value, 0, length, tokenStart, rule);
+                    } else {
+                        writeMasked(src, tokenStart + 1, pos - 1 - (tokenStart + 1), tokenStart, rule);
+                    }
+                }
+            } else if (b == '-' || (b >= '0' && b <= '9')) {
+                boolean floating = skipNumber();
+                if (rule != null) {
+                    if (floating) {
+                        // 与流式脱敏一致，浮点数按double的文本表示脱敏
+                        String text = new String(src, tokenStart, pos - tokenStart, StandardCharsets.US_ASCII);
+                        byte[] normalized = Double.toString(Double.parseDouble(text)).getBytes(StandardCharsets.US_ASCII);
+                        writeMasked(normalized, 0, normalized.length, tokenStart, rule);
+                    } else {
+                        writeMasked(src, tokenStart, pos - tokenStart, tokenStart, rule);
+                    }
+                }
+            } else {
+                skipLiteral();
+                if (rule != null) {
+                    writeMasked(src, tokenStart, pos - tokenStart, tokenStart, rule);
+                }
+            }
+        }
+
+        /**
+         * 写出tokenStart之前尚未写出的原始字节，再写出脱敏后的字符串值，替换[tokenStart, pos)的原始token
+         */
+        private void writeMasked(byte[] text, int off, int len, int tokenStart, JsonFieldRule rule) {
+            out.write(src, copyFrom, tokenStart - copyFrom);
+            char ruleMaskChar = rule.resolveMaskChar(maskChar);
+            int capacity = maxOutputLength(len, ruleMaskChar);
+            if (masked.length < capacity) {
+                masked = new byte[capacity];
+            }
+            int length = desensitize(text, off, len, rule.getType(), rule.getStartKeep(), rule.getEndKeep(),
+                    ruleMaskChar, masked, 0);
+            out.write('"');
+            writeEscaped(masked, length);
+            out.write('"');
+            copyFrom = pos;
+        }
+
+        /**
+         * 按JSON字符串规则转义双引号、反斜杠和控制字符后写出，其余字节原样写出
+         */
+        private void writeEscaped(byte[] bytes, int length) {
+            int runStart = 0;
+            for (int i = 0; i < length; i++) {
+                int b = bytes[i] & 0xFF;
+                if (b >= 0x20 && b != '"' && b != '\\') {
+                    continue;
+                }
+                out.write(bytes, runStart, i - runStart);
+                runStart = i + 1;
+                out.write('\\');
+                switch (b) {
+                    case '"':
+                    case '\\':
+                        out.write(b);
+                        break;
+                    case '\b':
+                        out.write('b');
+                        break;
+                    case '\f':
+                        out.write('f');
+                        break;
+                    case '\n':
+                        out.write('n');
+                        break;
+                    case '\r':
+                        out.write('r');
+                        break;
+                    case '\t':
+                        out.write('t');
+                        break;
+                    default:
+                        out.write('u');
+                        out.write('0');
+                        out.write('0');
+                        out.write(HEX[b >> 4]);
+                        out.write(HEX[b & 0xF]);
+                        break;
+                }
+            }
+            out.write(bytes, runStart, length - runStart);
+        }
+
+        /**
+         * 跳过字符串并校验转义和UTF-8编码，返回结束引号之后的位置，同时记录是否包含转义
+         */
+        private int skipString(int quote) throws MalformedJsonException {
+            escaped = false;
+            int i = quote + 1;
+            while (i < end) {
+                int b = src[i] & 0xFF;
+                if (b == '"') {
+                    return i + 1;
+                }
+                if (b == '\\') {
+                    escaped = true;
+                    i = skipEscape(i);
+                } else if (b < 0x20) {
+                    throw new MalformedJsonException("字符串中包含未转义的控制字符");
+                } else if (b < 0x80) {
+                    i++;
+                } else {
+                    i = skipUtf8(i, b);
+                }
+            }
+            throw new MalformedJsonException("字符串未结束");
+        }
+
+        private int skipEscape(int backslash) throws MalformedJsonException {
+            if (backslash + 1 >= end) {
+                throw new MalformedJsonException("转义字符不完整");
+            }
+            switch (src[backslash + 1]) {
+                case '"':
+                case '\\':
+                case '/':
+                case 'b':
+                case 'f':
+                case 'n':
+                case 'r':
+                case 't':
+                    return backslash + 2;
+                case 'u':
+                    hex4(backslash + 2);
+                    return backslash + 6;
+                default:
+                    throw new MalformedJsonException("无效的转义字符");
+            }
+        }
+
+        private int skipUtf8(int lead, int b) throws MalformedJsonException {
+            int continuation;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+            } else {
+                throw new MalformedJsonException("无效的UTF-8首字节");
+            }
+            int next = lead + 1 + continuation;
+            if (next > end) {
+                throw new MalformedJsonException("UTF-8编码不完整");
+            }
+            for (int i = lead + 1; i < next; i++) {
+                if ((src[i] & 0xC0) != 0x80) {
+                    throw new MalformedJsonException("无效的UTF-8续字节");
+                }
+            }
+            return next;
+        }
+
+        private int hex4(int from) throws MalformedJsonException {
+            if (from + 4 > end) {
+                throw new MalformedJsonException("\\u转义不完整");
+            }
+            int value = 0;
+            for (int i = from; i < from + 4; i++) {
+                int digit = Character.digit(src[i], 16);
+                if (digit < 0) {
+                    throw new MalformedJsonException("\\u转义包含非十六进制字符");
+                }
+                value = (value << 4) | digit;
+            }
+            return value;
+        }
+
+        /**
+         * 将已校验的字符串内容[from, to)还原转义后按UTF-8写入value，返回字节数
+         */
+        private int unescape(int from, int to) throws MalformedJsonException {
+            // 还原转义后不会比原始内容更长
+            if (value.length < to - from) {
+                value = new byte[to - from];
+            }
+            int length = 0;
+            int i = from;
+            while (i < to) {
+                byte b = src[i];
+                if (b != '\\') {
+                    value[length++] = b;
+                    i++;
+                    continue;
+                }
+                byte c = src[i + 1];
+                i += 2;
+                switch (c) {
+                    case 'b':
+                        value[length++] = '\b';
+                        break;
+                    case 'f':
+                        value[length++] = '\f';
+                        break;
+                    case 'n':
+                        value[length++] = '\n';
+                        break;
+                    case 'r':
+                        value[length++] = '\r';
+                        break;
+                    case 't':
+                        value[length++] = '\t';
+                        break;
+                    case 'u':
+                        int cp = hex4(i);
+                        i += 4;
+                        if (Character.isHighSurrogate((char) cp) && i + 6 <= to && src[i] == '\\' && src[i + 1] == 'u') {
+                            int low = hex4(i + 2);
+                            if (Character.isLowSurrogate((char) low)) {
+                                cp = Character.toCodePoint((char) cp, (char) low);
+                                i += 6;
+                            }
+                        }
+                        length += encodeCodePoint(cp, value, length);
+                        break;
+                    default:
+                        // 双引号、反斜杠和斜杠
+                        value[length++] = c;
+                        break;
+                }
+            }
+            return length;
+        }
+
+        /**
+         * 跳过数字并校验格式，返回是否为浮点数
+         */
+        private boolean skipNumber() throws MalformedJsonException {
+            int i = pos;
+            boolean floating = false;
+            if (src[i] == '-') {
+                i++;
+            }
+            if (i < end && src[i] == '0') {
+                i++;
+            } else {
+                int digits = i;
+                i = skipDigits(i);
+                if (i == digits) {
+                    throw new MalformedJsonException("数字格式错误");
+                }
+            }
+            if (i < end && src[i] == '.') {
+                floating = true;
+                int digits = ++i;
+                i = skipDigits(i);
+                if (i == digits) {
+                    throw new MalformedJsonException("小数点后缺少数字");
+                }
+            }
+            if (i < end && (src[i] == 'e' || src[i] == 'E')) {
+                floating = true;
+                i++;
+                if (i < end && (src[i] == '+' || src[i] == '-')) {
+                    i++;
+                }
+                int digits = i;
+                i = skipDigits(i);
+                if (i == digits) {
+                    throw new MalformedJsonException("指数缺少数字");
+                }
+            }
+            pos = i;
+            return floating;
+        }
+
+        private int skipDigits(int i) {
+            while (i < end && src[i] >= '0' && src[i] <= '9') {
+                i++;
+            }
+            return i;
+        }
+
+        private void skipLiteral() throws MalformedJsonException {
+            byte b = src[pos];
+            String literal = b == 't' ? "true" : b == 'f' ? "false" : b == 'n' ? "null" : null;
+            if (literal == null || pos + literal.length() > end) {
+                throw new MalformedJsonException("无效的JSON值");
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (src[pos + i] != literal.charAt(i)) {
+                    throw new MalformedJsonException("无效的JSON值");
+                }
+            }
+            pos += literal.length();
+        }
+
+        private int skipWhitespace(int i) {
+            while (i < end) {
+                byte b = src[i];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        private byte peek() throws MalformedJsonException {
+            if (pos >= end) {
+                throw new MalformedJsonException("JSON结构不完整");
+            }
+            return src[pos];
+        }
+
+        private void expect(char c) throws MalformedJsonException {
+            if (peek() != c) {
+                throw new MalformedJsonException("期望字符 " + c);
+            }
+            pos++;
+        }
+    }
+}
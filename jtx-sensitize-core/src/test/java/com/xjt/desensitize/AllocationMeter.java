@@ -0,0 +1,52 @@
+package com.xjt.desensitize;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 统计当前线程分配字节数的测试工具，基于HotSpot的 {@link com.sun.management.ThreadMXBean}
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * 先预热，再统计执行指定次数期间当前线程平均每次调用分配的字节数
+     * 堆上最小的对象也占16字节，每次调用都有分配时结果不会小于16；
+     * 统计次数足够多时，与其他测试共用JVM时逆优化等一次性事件产生的分配会被摊薄到1字节以下
+     *
+     * @param warmup     预热次数
+     * @param iterations 统计次数
+     * @param action     被测操作
+     * @return 平均每次调用分配的字节数
+     */
+    public static double allocatedBytesPerCall(int warmup, int iterations, Action action) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            action.run(i);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            action.run(i);
+        }
+        return (double) (THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before) / iterations;
+    }
+
+    /**
+     * 被测操作
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * @param iteration 第几次执行
+         */
+        void run(int iteration) throws Exception;
+    }
+}
@@ -0,0 +1,38 @@
+package com.xjt.desensitize;
+
+/**
+ * 测试和基准测试共用的JSON数据
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class JsonTestData {
+
+    private JsonTestData() {
+    }
+
+    /**
+     * 第i个手机号
+     */
+    public static String phone(int i) {
+        return "138" + String.format("%08d", i % 100000000);
+    }
+
+    /**
+     * 生成包含手机号、身份证号和邮箱的用户对象数组
+     */
+    public static String userArray(int size) {
+        StringBuilder json = new StringBuilder(size * 160).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"user").append(i)
+                    .append("\",\"phone\":\"").append(phone(i))
+                    .append("\",\"idCard\":\"11010519491231002X")
+                    .append("\",\"contact\":{\"email\":\"user").append(i).append("@example.com\"}}");
+        }
+        return json.append(']').toString();
+    }
+}
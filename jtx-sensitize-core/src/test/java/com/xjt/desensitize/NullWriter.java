@@ -0,0 +1,29 @@
+package com.xjt.desensitize;
+
+import java.io.Writer;
+
+/**
+ * 丢弃全部输出的Writer，供分配测试和基准测试使用
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class NullWriter extends Writer {
+
+    public static final NullWriter INSTANCE = new NullWriter();
+
+    private NullWriter() {
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
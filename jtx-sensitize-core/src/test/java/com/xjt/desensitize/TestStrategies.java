@@ -0,0 +1,42 @@
+package com.xjt.desensitize;
+
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.strategy.impl.AddressDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.BankCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.ChineseNameDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.CustomDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.EmailDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.IdCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.JsonFieldDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PasswordDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PhoneDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.UsernameDesensitizeStrategy;
+
+/**
+ * 不依赖Spring容器创建脱敏策略服务的测试工具
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public final class TestStrategies {
+
+    private TestStrategies() {
+    }
+
+    /**
+     * 创建包含全部内置策略的脱敏策略服务
+     */
+    public static DesensitizeStrategyServiceImpl service() {
+        return new DesensitizeStrategyServiceImpl(
+                new UsernameDesensitizeStrategy(),
+                new IdCardDesensitizeStrategy(),
+                new PhoneDesensitizeStrategy(),
+                new EmailDesensitizeStrategy(),
+                new BankCardDesensitizeStrategy(),
+                new ChineseNameDesensitizeStrategy(),
+                new PasswordDesensitizeStrategy(),
+                new AddressDesensitizeStrategy(),
+                new JsonFieldDesensitizeStrategy(),
+                new CustomDesensitizeStrategy());
+    }
+}
@@ -0,0 +1,84 @@
+package com.xjt.desensitize.benchmark;
+
+import com.xjt.desensitize.JsonTestData;
+import com.xjt.desensitize.util.JsonFieldDesensitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 树模式大数组并行脱敏基准测试
+ * parallelism为0时顺序处理，其余取值使用对应并行度的独立ForkJoinPool，
+ * 各取值的结果即为随核数变化的扩展曲线。运行方式：
+ * <pre>
+ * mvn -pl jtx-sensitize-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.xjt.desensitize.benchmark.JsonArrayParallelBenchmark
+ * </pre>
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonArrayParallelBenchmark {
+
+    private static final String FIELD_CONFIGS = "[*].phone:PHONE;[*].idCard:ID_CARD;[*].contact.email:EMAIL";
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    private JsonFieldDesensitizer desensitizer;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        JsonFieldDesensitizer.Builder builder = JsonFieldDesensitizer.builder().fieldConfigs(FIELD_CONFIGS);
+        if (parallelism > 0) {
+            pool = new ForkJoinPool(parallelism);
+            builder.parallelThreshold(1024).forkJoinPool(pool);
+        }
+        desensitizer = builder.build();
+        json = JsonTestData.userArray(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public String desensitize() {
+        return desensitizer.desensitize(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonArrayParallelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
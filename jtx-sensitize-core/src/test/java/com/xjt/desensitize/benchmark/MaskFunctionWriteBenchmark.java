@@ -0,0 +1,99 @@
+package com.xjt.desensitize.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.JsonTestData;
+import com.xjt.desensitize.NullWriter;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.MaskFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单字段脱敏写入基准测试
+ * writeBuffered经脱敏函数的线程内缓冲区写入，writeString先生成脱敏字符串再写入，
+ * 结合GC profiler的gc.alloc.rate.norm即可对比每个字段的分配字节数。运行方式：
+ * <pre>
+ * mvn -pl jtx-sensitize-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.xjt.desensitize.benchmark.MaskFunctionWriteBenchmark
+ * </pre>
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaskFunctionWriteBenchmark {
+
+    @Param({"PHONE", "ID_CARD", "EMAIL", "ADDRESS"})
+    private DesensitizeType type;
+
+    private MaskFunction function;
+
+    private JsonGenerator generator;
+
+    private String origin;
+
+    @Setup
+    public void setUp() throws IOException {
+        function = TestStrategies.service().compile(type, "", 0, 0, '*');
+        generator = new JsonFactory().createGenerator(NullWriter.INSTANCE);
+        switch (type) {
+            case ID_CARD:
+                origin = "11010519491231002X";
+                break;
+            case EMAIL:
+                origin = "zhangsan@example.com";
+                break;
+            case ADDRESS:
+                origin = "北京市朝阳区建国路88号";
+                break;
+            default:
+                origin = JsonTestData.phone(12345678);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        generator.close();
+    }
+
+    @Benchmark
+    public void writeBuffered() throws IOException {
+        function.write(origin, generator);
+    }
+
+    @Benchmark
+    public void writeString() throws IOException {
+        generator.writeString(function.apply(origin));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MaskFunctionWriteBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
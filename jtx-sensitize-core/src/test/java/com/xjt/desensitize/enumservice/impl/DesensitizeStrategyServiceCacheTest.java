@@ -0,0 +1,91 @@
+package com.xjt.desensitize.enumservice.impl;
+
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.util.MaskCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 脱敏策略服务结果缓存测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeStrategyServiceCacheTest {
+
+    private final DesensitizeStrategyServiceImpl service = TestStrategies.service();
+
+    @Test
+    void cacheIsDisabledByDefault() {
+        for (DesensitizeType type : DesensitizeType.values()) {
+            assertNull(service.getMaskCache(type));
+        }
+        assertEquals("138****5678", service.desensitize("13812345678", DesensitizeType.PHONE, "", 0, 0, '*'));
+    }
+
+    @Test
+    void directCallsAndCompiledFunctionsShareEntries() {
+        MaskCache cache = new MaskCache(100, 1, TimeUnit.MINUTES);
+        service.setMaskCache(DesensitizeType.PHONE, cache);
+        MaskFunction function = service.compile(DesensitizeType.PHONE, "", 0, 0, '*');
+
+        assertEquals("138****5678", service.desensitize("13812345678", DesensitizeType.PHONE, "", 0, 0, '*'));
+        assertEquals("138****5678", function.apply("13812345678"));
+        // 无自定义格式的非CUSTOM类型结果与保留字符数和脱敏字符无关，共用同一个条目
+        assertEquals("138****5678", service.desensitize("13812345678", DesensitizeType.PHONE, null, 2, 3, '#'));
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.stats().getMissCount());
+        assertEquals(2, cache.stats().getHitCount());
+    }
+
+    @Test
+    void customParametersAreKeptApart() {
+        MaskCache cache = new MaskCache(100, 1, TimeUnit.MINUTES);
+        service.setMaskCache(DesensitizeType.CUSTOM, cache);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ab**ef", service.desensitize("abcdef", DesensitizeType.CUSTOM, "", 2, 2, '*'));
+            assertEquals("a####f", service.desensitize("abcdef", DesensitizeType.CUSTOM, "", 1, 1, '#'));
+        }
+        assertEquals("ab**ef", service.compile(DesensitizeType.CUSTOM, "", 2, 2, '*').apply("abcdef"));
+
+        assertEquals(2, cache.size());
+        assertEquals(5, cache.stats().getHitCount());
+    }
+
+    @Test
+    void charPathReadsCache() {
+        MaskCache cache = new MaskCache(100, 1, TimeUnit.MINUTES);
+        service.setMaskCache(DesensitizeType.EMAIL, cache);
+        char[] dst = new char[32];
+
+        int length = service.desensitize("zhangsan@example.com", DesensitizeType.EMAIL, "", 0, 0, '*', dst);
+        assertEquals("z*******@example.com", new String(dst, 0, length));
+        service.desensitize("zhangsan@example.com", DesensitizeType.EMAIL, "", 0, 0, '*', dst);
+
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(-1, service.desensitize("zhangsan@example.com", DesensitizeType.EMAIL, "", 0, 0, '*',
+                new char[4]));
+    }
+
+    @Test
+    void settingNullDisablesCache() {
+        MaskCache cache = new MaskCache(100, 1, TimeUnit.MINUTES);
+        service.setMaskCache(DesensitizeType.PHONE, cache);
+        assertSame(cache, service.getMaskCache(DesensitizeType.PHONE));
+
+        service.setMaskCache(DesensitizeType.PHONE, null);
+        service.desensitize("13812345678", DesensitizeType.PHONE, "", 0, 0, '*');
+
+        assertNull(service.getMaskCache(DesensitizeType.PHONE));
+        assertEquals(0, cache.size());
+    }
+}
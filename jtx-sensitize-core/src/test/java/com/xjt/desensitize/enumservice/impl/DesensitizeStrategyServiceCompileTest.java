@@ -0,0 +1,116 @@
+package com.xjt.desensitize.enumservice.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.serializer.DesensitizeSerializer;
+import com.xjt.desensitize.strategy.MaskFunction;
+import com.xjt.desensitize.strategy.impl.JsonFieldDesensitizeStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 预编译脱敏函数测试，结果必须与逐次调用desensitize完全一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeStrategyServiceCompileTest {
+
+    private static final String[] VALUES = {"", " ", "a", "ab", "abcdef", "13812345678", "11010519491231002X",
+            "张三丰", "北京市朝阳区建国路88号", "zhangsan@example.com", "a@b.c", "no-at-sign"};
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DesensitizeStrategyServiceImpl service = TestStrategies.service();
+
+    @ParameterizedTest
+    @EnumSource(value = DesensitizeType.class, names = "JSON_FIELD", mode = EnumSource.Mode.EXCLUDE)
+    void compiledFunctionMatchesDesensitize(DesensitizeType type) throws IOException {
+        assertCompiledMatches(type, "", 0, 0, '*');
+        assertCompiledMatches(type, "", 2, 3, '#');
+    }
+
+    @Test
+    void customFormatAndNegativeKeepsBehaveLikeDesensitize() throws IOException {
+        assertCompiledMatches(DesensitizeType.PHONE, "${start:3}", 1, 1, '#');
+        assertCompiledMatches(DesensitizeType.CUSTOM, "", -1, 2, '*');
+        assertCompiledMatches(DesensitizeType.CUSTOM, "", 2, -5, '*');
+    }
+
+    @Test
+    void customFormatTakesPrecedenceForEveryType() throws IOException {
+        String format = "${start:3}-${mask:4}-${end:4}";
+
+        assertEquals("138-****-5678", service.compile(DesensitizeType.PHONE, format, 0, 0, '*').apply("13812345678"));
+        assertEquals("138-****-5678", service.compile(DesensitizeType.CUSTOM, format, 0, 0, '*').apply("13812345678"));
+        assertCompiledMatches(DesensitizeType.ADDRESS, format, 0, 0, '*');
+        // 格式无效时回退到类型本身的策略
+        assertEquals(service.desensitize("13812345678", DesensitizeType.PHONE, "", 0, 0, '*'),
+                service.compile(DesensitizeType.PHONE, "${unknown}", 0, 0, '*').apply("13812345678"));
+    }
+
+    @Test
+    void nullTypeCompilesToIdentity() {
+        assertSame(MaskFunction.IDENTITY, service.compile(null, "", 0, 0, '*'));
+    }
+
+    @Test
+    void jsonFieldFunctionStreamsIntoGenerator() throws IOException {
+        JsonFieldDesensitizeStrategy strategy = (JsonFieldDesensitizeStrategy) service.getStrategy(DesensitizeType.JSON_FIELD);
+        String json = "{\"phone\":\"13812345678\",\"name\":\"zhangsan\"}";
+
+        MaskFunction asString = strategy.compile("phone:PHONE", '*', false);
+        MaskFunction asJson = strategy.compile("phone:PHONE", '*', true);
+
+        assertEquals("{\"phone\":\"138****5678\",\"name\":\"zhangsan\"}", asString.apply(json));
+        assertEquals("\"{\\\"phone\\\":\\\"138****5678\\\",\\\"name\\\":\\\"zhangsan\\\"}\"", write(asString, json));
+        assertEquals("{\"phone\":\"138****5678\",\"name\":\"zhangsan\"}", write(asJson, json));
+        assertEquals("", asString.apply(""));
+    }
+
+    @Test
+    void disabledSerializerWritesOriginalValue() throws IOException {
+        DesensitizeSerializer serializer = new DesensitizeSerializer(service, DesensitizeType.PHONE, "", 0, 0, '*', false);
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            serializer.serialize("13812345678", gen, null);
+        }
+        assertEquals("\"13812345678\"", out.toString());
+    }
+
+    private void assertCompiledMatches(DesensitizeType type, String customFormat, int startKeep, int endKeep,
+                                       char maskChar) throws IOException {
+        MaskFunction function = service.compile(type, customFormat, startKeep, endKeep, maskChar);
+        for (String value : VALUES) {
+            String expected = service.desensitize(value, type, customFormat, startKeep, endKeep, maskChar);
+            String message = type + " [" + value + "] " + startKeep + "/" + endKeep;
+            assertEquals(expected, function.apply(value), message);
+            assertEquals(quote(expected), write(function, value), message);
+        }
+    }
+
+    private static String quote(String text) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            gen.writeString(text);
+        }
+        return out.toString();
+    }
+
+    private static String write(MaskFunction function, String value) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            function.write(value, gen);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.xjt.desensitize.module;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.serializer.DesensitizeSerializerCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 数据脱敏Jackson模块测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeModuleTest {
+
+    private static final String MASKED = "{\"mobile\":\"138****5678\",\"plainMobile\":\"13812345678\"}";
+
+    @Test
+    void moduleMasksWithoutSpringContext() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new DesensitizeModule(TestStrategies.service()));
+
+        assertEquals(MASKED, mapper.writeValueAsString(new Contact()));
+    }
+
+    @Test
+    void serializersComeFromInjectedCache() throws Exception {
+        DesensitizeSerializerCache cache = new DesensitizeSerializerCache(TestStrategies.service());
+        DesensitizeModule module = new DesensitizeModule(cache);
+
+        new ObjectMapper().registerModule(module).writeValueAsString(new Contact());
+
+        assertSame(cache, module.getSerializerCache());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void mapperWithoutModuleMasksWithBuiltInStrategies() throws Exception {
+        assertEquals(MASKED, new ObjectMapper().writeValueAsString(new Contact()));
+    }
+
+    @Test
+    void unmaskedModuleWritesPlainValues() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(DesensitizeModule.unmasked());
+
+        assertEquals("{\"mobile\":\"13812345678\",\"plainMobile\":\"13812345678\"}",
+                mapper.writeValueAsString(new Contact()));
+        assertEquals("{\"account\":6222021234567890,\"tags\":[\"a\"]}",
+                mapper.writeValueAsString(new Account()));
+        assertTrue(DesensitizeModule.unmasked().isUnmasked());
+        assertNull(DesensitizeModule.unmasked().getSerializerCache());
+    }
+
+    @Test
+    void maskingAndUnmaskedModulesAreDistinctRegistrations() {
+        DesensitizeModule masking = new DesensitizeModule(TestStrategies.service());
+
+        assertNotEquals(masking.getTypeId(), DesensitizeModule.unmasked().getTypeId());
+    }
+
+    @Test
+    void requiresSerializerCache() {
+        assertThrows(IllegalArgumentException.class, () -> new DesensitizeModule((DesensitizeSerializerCache) null));
+    }
+
+    static class Account {
+
+        @Desensitize(type = DesensitizeType.BANK_CARD)
+        public long account = 6222021234567890L;
+
+        @Desensitize(type = DesensitizeType.PASSWORD)
+        public List<String> tags = Collections.singletonList("a");
+    }
+
+    static class Contact {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String mobile = "13812345678";
+
+        @Desensitize(type = DesensitizeType.PHONE, enabled = false)
+        public String plainMobile = "13812345678";
+    }
+}
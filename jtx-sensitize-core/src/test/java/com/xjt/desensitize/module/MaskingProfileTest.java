@@ -0,0 +1,135 @@
+package com.xjt.desensitize.module;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.xjt.desensitize.AllocationMeter;
+import com.xjt.desensitize.NullWriter;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.serializer.DesensitizeConfig;
+import com.xjt.desensitize.serializer.DesensitizeSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 脱敏方案测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class MaskingProfileTest {
+
+    private static final String PUBLIC_JSON =
+            "{\"mobile\":\"138****5678\",\"idCard\":\"110105********002X\",\"account\":\"***************0128\"}";
+
+    private final ObjectMapper mapper =
+            new ObjectMapper().registerModule(new DesensitizeModule(TestStrategies.service()));
+
+    @AfterEach
+    void unbind() {
+        assertNull(MaskingProfile.current(), "作用域未恢复线程绑定");
+    }
+
+    @Test
+    void attributeSelectsBuiltInProfiles() throws Exception {
+        Customer customer = new Customer();
+        ObjectWriter writer = mapper.writer();
+        String publicJson = writer.withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.PUBLIC)
+                .writeValueAsString(customer);
+
+        assertEquals(mapper.writeValueAsString(customer), publicJson);
+        assertEquals("{\"mobile\":\"13812345678\",\"idCard\":\"110105********002X\","
+                        + "\"account\":\"***************0128\"}",
+                writer.withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.INTERNAL).writeValueAsString(customer));
+        assertEquals("{\"mobile\":\"13812345678\",\"idCard\":\"11010519491231002X\",\"account\":6222021234567890128}",
+                writer.withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.RAW).writeValueAsString(customer));
+    }
+
+    @Test
+    void internalMaskedTypesAreConfigurable() throws Exception {
+        MaskingProfile internal = MaskingProfile.internal(EnumSet.of(DesensitizeType.PHONE));
+
+        assertEquals("internal", internal.getName());
+        assertEquals("{\"mobile\":\"138****5678\",\"idCard\":\"11010519491231002X\",\"account\":6222021234567890128}",
+                mapper.writer().withAttribute(MaskingProfile.ATTRIBUTE, internal).writeValueAsString(new Customer()));
+    }
+
+    @Test
+    void moduleDefaultProfileApplies() throws Exception {
+        DesensitizeModule module = new DesensitizeModule(TestStrategies.service(), MaskingProfile.RAW);
+        ObjectMapper rawByDefault = new ObjectMapper().registerModule(module);
+
+        assertSame(MaskingProfile.RAW, module.getDefaultProfile());
+        assertSame(MaskingProfile.RAW, module.getSerializerCache().getDefaultProfile());
+        assertEquals("{\"mobile\":\"13812345678\",\"idCard\":\"11010519491231002X\",\"account\":6222021234567890128}",
+                rawByDefault.writeValueAsString(new Customer()));
+        assertEquals(PUBLIC_JSON, rawByDefault.writer().withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.PUBLIC)
+                .writeValueAsString(new Customer()));
+    }
+
+    @Test
+    void scopeBindsAndRestoresThreadProfile() throws Exception {
+        try (MaskingProfile.Scope outer = MaskingProfile.use(MaskingProfile.RAW)) {
+            assertSame(MaskingProfile.RAW, MaskingProfile.current());
+            try (MaskingProfile.Scope inner = MaskingProfile.use(MaskingProfile.PUBLIC)) {
+                assertEquals(PUBLIC_JSON, mapper.writeValueAsString(new Customer()));
+            }
+            assertSame(MaskingProfile.RAW, MaskingProfile.current());
+            assertEquals("{\"mobile\":\"13812345678\",\"idCard\":\"11010519491231002X\",\"account\":6222021234567890128}",
+                    mapper.writeValueAsString(new Customer()));
+            // 序列化属性优先于线程绑定
+            assertEquals(PUBLIC_JSON, mapper.writer().withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.PUBLIC)
+                    .writeValueAsString(new Customer()));
+            outer.close();
+            outer.close();
+            assertNull(MaskingProfile.current());
+        }
+    }
+
+    @Test
+    void forNameResolvesBuiltInProfiles() {
+        assertSame(MaskingProfile.PUBLIC, MaskingProfile.forName("PUBLIC"));
+        assertSame(MaskingProfile.INTERNAL, MaskingProfile.forName(" internal "));
+        assertSame(MaskingProfile.RAW, MaskingProfile.forName("raw"));
+        assertThrows(IllegalArgumentException.class, () -> MaskingProfile.forName("support"));
+        assertThrows(IllegalArgumentException.class, () -> MaskingProfile.of(" "));
+        assertTrue(MaskingProfile.of("phones", DesensitizeType.PHONE).isMasked(DesensitizeType.PHONE));
+        assertFalse(MaskingProfile.of("phones", DesensitizeType.PHONE).isMasked(DesensitizeType.EMAIL));
+        assertFalse(MaskingProfile.PUBLIC.isMasked(null));
+    }
+
+    @Test
+    void unmaskedProfileWritesWithoutAllocation() throws Exception {
+        DesensitizeSerializer serializer = new DesensitizeSerializer(TestStrategies.service(),
+                new DesensitizeConfig(DesensitizeType.PHONE, "", 0, 0, '*', true, "", false), MaskingProfile.RAW);
+        try (JsonGenerator gen = new JsonFactory().createGenerator(NullWriter.INSTANCE)) {
+            double bytes = AllocationMeter.allocatedBytesPerCall(50_000, 200_000,
+                    i -> serializer.serialize("13812345678", gen, null));
+            assertTrue(bytes < 1.0, "不脱敏写入平均每次分配 " + bytes + " 字节");
+        }
+    }
+
+    static class Customer {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String mobile = "13812345678";
+
+        @Desensitize(type = DesensitizeType.ID_CARD)
+        public String idCard = "11010519491231002X";
+
+        @Desensitize(type = DesensitizeType.BANK_CARD)
+        public long account = 6222021234567890128L;
+    }
+}
@@ -0,0 +1,190 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 脱敏Bean序列化器修改器测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeBeanSerializerModifierTest {
+
+    private static final String PHONE = "13812345678";
+
+    private static final String MASKED_PHONE = "138****5678";
+
+    private static ObjectMapper mapper() {
+        DesensitizeSerializerCache cache = new DesensitizeSerializerCache(TestStrategies.service());
+        return new ObjectMapper().registerModule(new SimpleModule("DesensitizeModule")
+                .setSerializerModifier(new DesensitizeBeanSerializerModifier(cache)));
+    }
+
+    @Test
+    void fieldsAndGettersAreMasked() throws Exception {
+        assertEquals("{\"phone\":\"" + MASKED_PHONE + "\",\"contact\":\"" + MASKED_PHONE + "\"}",
+                mapper().writeValueAsString(new GetterUser(PHONE)));
+    }
+
+    @Test
+    void renamedPropertyKeepsMask() throws Exception {
+        assertEquals("{\"mobile\":\"" + MASKED_PHONE + "\"}",
+                mapper().writeValueAsString(new RenamedUser(PHONE)));
+    }
+
+    @Test
+    void nonNullSuppressesNullsOnly() throws Exception {
+        ObjectMapper mapper = mapper();
+
+        assertEquals("{\"phone\":\"\"}", mapper.writeValueAsString(new NonNullUser("")));
+        assertEquals("{}", mapper.writeValueAsString(new NonNullUser(null)));
+    }
+
+    @Test
+    void nonEmptyDelegatesToValueSerializer() throws Exception {
+        ObjectMapper mapper = mapper();
+
+        assertEquals("{}", mapper.writeValueAsString(new NonEmptyUser("", new Secret(""))));
+        assertEquals("{\"phone\":\"" + MASKED_PHONE + "\",\"secret\":\"" + MASKED_PHONE + "\"}",
+                mapper.writeValueAsString(new NonEmptyUser(PHONE, new Secret(PHONE))));
+    }
+
+    @Test
+    void nullsUseProviderNullSerializer() throws Exception {
+        ObjectMapper mapper = mapper();
+        mapper.getSerializerProvider().setNullValueSerializer(new JsonSerializer<Object>() {
+            @Override
+            public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeString("N/A");
+            }
+        });
+
+        assertEquals("{\"phone\":\"N/A\",\"contact\":\"N/A\"}", mapper.writeValueAsString(new GetterUser(null)));
+    }
+
+    @Test
+    void defaultTypingRoundTripsMaskedValue() throws Exception {
+        ObjectMapper mapper = mapper();
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        TypedUser user = new TypedUser();
+        user.phone = PHONE;
+        user.plain = 1L;
+
+        String json = mapper.writeValueAsString(user);
+        TypedUser read = mapper.readValue(json, TypedUser.class);
+
+        assertEquals(MASKED_PHONE, read.phone);
+        assertEquals(1L, read.plain);
+    }
+
+    static class GetterUser {
+
+        private final String phone;
+
+        GetterUser(String phone) {
+            this.phone = phone;
+        }
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String getPhone() {
+            return phone;
+        }
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String getContact() {
+            return phone;
+        }
+    }
+
+    static class RenamedUser {
+
+        @JsonProperty("mobile")
+        @Desensitize(type = DesensitizeType.PHONE)
+        public final String phone;
+
+        RenamedUser(String phone) {
+            this.phone = phone;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class NonNullUser {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public final String phone;
+
+        NonNullUser(String phone) {
+            this.phone = phone;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    static class NonEmptyUser {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public final String phone;
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public final Secret secret;
+
+        NonEmptyUser(String phone, Secret secret) {
+            this.phone = phone;
+            this.secret = secret;
+        }
+    }
+
+    static class TypedUser {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public Object phone;
+
+        public Object plain;
+    }
+
+    /**
+     * 由自身序列化器决定是否为空的值类型
+     */
+    @JsonSerialize(using = SecretSerializer.class)
+    static class Secret {
+
+        private final String text;
+
+        Secret(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    static class SecretSerializer extends JsonSerializer<Secret> {
+
+        @Override
+        public void serialize(Secret value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(value.text);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Secret value) {
+            return value.text.isEmpty();
+        }
+    }
+}
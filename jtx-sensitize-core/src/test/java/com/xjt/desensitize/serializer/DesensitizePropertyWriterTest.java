@@ -0,0 +1,135 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.module.DesensitizeModule;
+import com.xjt.desensitize.module.MaskingProfile;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 脱敏属性写入器数值字段测试
+ * long、int字段按基本类型读取，Long、BigDecimal直接渲染，脱敏结果须与同值字符串字段一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizePropertyWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new DesensitizeModule(DesensitizeStrategyServiceImpl.createDefault()));
+
+    @Test
+    void numericFieldsMaskLikeStrings() throws Exception {
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(new NumberBean()));
+
+        assertEquals("138****5678", json.get("phoneText").asText());
+        assertMaskedLike(json, "phone", "phoneText");
+        assertMaskedLike(json, "boxedPhone", "phoneText");
+        assertMaskedLike(json, "code", "codeText");
+        assertMaskedLike(json, "amount", "amountText");
+        assertMaskedLike(json, "negative", "negativeText");
+    }
+
+    @Test
+    void rawProfileWritesNumbers() throws Exception {
+        String raw = mapper.writer().withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.RAW)
+                .writeValueAsString(new NumberBean());
+
+        assertNumber(raw, "phone", "13812345678");
+        assertNumber(raw, "boxedPhone", "13812345678");
+        assertNumber(raw, "code", "123456789");
+        assertNumber(raw, "amount", "6222021234.50");
+        assertNumber(raw, "negative", "-1234567.890");
+        assertTrue(raw.contains("\"phoneText\":\"13812345678\""), raw);
+    }
+
+    @Test
+    void primitiveFieldsInArrayShapeAreMasked() throws Exception {
+        assertEquals("[\"138****5678\",\"******\"]", mapper.writeValueAsString(new ArrayBean()));
+    }
+
+    @Test
+    void rawPrimitiveFieldUsesRegisteredSerializer() throws Exception {
+        SimpleModule longAsText = new SimpleModule().addSerializer(Long.class, new ToStringSerializer(Long.class));
+        ObjectMapper custom = new ObjectMapper().registerModule(longAsText)
+                .registerModule(new DesensitizeModule(DesensitizeStrategyServiceImpl.createDefault()));
+
+        String raw = custom.writer().withAttribute(MaskingProfile.ATTRIBUTE, MaskingProfile.RAW)
+                .writeValueAsString(new ArrayBean());
+
+        assertEquals("[\"13812345678\",123456789]", raw);
+    }
+
+    private static void assertMaskedLike(JsonNode json, String field, String textField) {
+        assertTrue(json.get(field).isTextual(), field);
+        assertEquals(json.get(textField).asText(), json.get(field).asText(), field);
+    }
+
+    /**
+     * 按原始JSON文本断言，保留BigDecimal的标度
+     */
+    private static void assertNumber(String json, String field, String expected) {
+        String member = "\"" + field + "\":" + expected;
+        assertTrue(json.contains(member + ",") || json.contains(member + "}"), json);
+    }
+
+    /**
+     * 数值与同值字符串字段成对出现
+     */
+    public static class NumberBean {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public long phone = 13812345678L;
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String phoneText = "13812345678";
+
+        @Desensitize(type = DesensitizeType.PASSWORD)
+        public int code = 123456789;
+
+        @Desensitize(type = DesensitizeType.PASSWORD)
+        public String codeText = "123456789";
+
+        @Desensitize(type = DesensitizeType.BANK_CARD)
+        public BigDecimal amount = new BigDecimal("6222021234.50");
+
+        @Desensitize(type = DesensitizeType.BANK_CARD)
+        public String amountText = "6222021234.50";
+
+        @Desensitize(type = DesensitizeType.CUSTOM, startKeep = 2, endKeep = 3)
+        public BigDecimal negative = new BigDecimal("-1234567.890");
+
+        @Desensitize(type = DesensitizeType.CUSTOM, startKeep = 2, endKeep = 3)
+        public String negativeText = "-1234567.890";
+
+        private final Long boxedPhone = 13812345678L;
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public Long getBoxedPhone() {
+            return boxedPhone;
+        }
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"phone", "code"})
+    public static class ArrayBean {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public long phone = 13812345678L;
+
+        @Desensitize(type = DesensitizeType.PASSWORD)
+        public int code = 123456789;
+    }
+}
@@ -0,0 +1,68 @@
+package com.xjt.desensitize.serializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.AllocationMeter;
+import com.xjt.desensitize.NullWriter;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 脱敏结果经线程内缓冲区写入JsonGenerator的分配测试
+ * 预热后每个脱敏字段不应产生堆分配
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeSerializerAllocationTest {
+
+    private static final int WARMUP = 50_000;
+
+    private static final int ITERATIONS = 200_000;
+
+    private final DesensitizeStrategyService service = TestStrategies.service();
+
+    @ParameterizedTest
+    @CsvSource({
+            "PHONE, 13812345678",
+            "ID_CARD, 11010519491231002X",
+            "BANK_CARD, 6222021234567890128",
+            "CHINESE_NAME, 张三丰",
+            "USERNAME, zhangsan",
+            "ADDRESS, 北京市朝阳区建国路88号",
+            "EMAIL, zhangsan@example.com",
+            "PASSWORD, p@ssw0rd",
+            "CUSTOM, abcdefgh"
+    })
+    void writesMaskedValuesWithoutAllocation(DesensitizeType type, String origin) throws Exception {
+        DesensitizeSerializer serializer = new DesensitizeSerializer(service, type, "", 2, 2, '*', true);
+        try (JsonGenerator gen = new JsonFactory().createGenerator(NullWriter.INSTANCE)) {
+            double bytes = AllocationMeter.allocatedBytesPerCall(WARMUP, ITERATIONS,
+                    i -> serializer.serialize(origin, gen, null));
+            assertTrue(bytes < 1.0, type + " 脱敏写入平均每次分配 " + bytes + " 字节");
+        }
+    }
+
+    @Test
+    void bufferedWriteMatchesStringPath() throws IOException {
+        for (DesensitizeType type : new DesensitizeType[]{DesensitizeType.EMAIL, DesensitizeType.PASSWORD,
+                DesensitizeType.ADDRESS}) {
+            DesensitizeSerializer serializer = new DesensitizeSerializer(service, type, "", 0, 0, '*', true);
+            StringWriter out = new StringWriter();
+            try (JsonGenerator gen = new JsonFactory().createGenerator(out)) {
+                serializer.serialize("zhangsan@example.com", gen, null);
+            }
+            assertEquals('"' + service.desensitize("zhangsan@example.com", type, "", 0, 0, '*') + '"', out.toString());
+        }
+    }
+}
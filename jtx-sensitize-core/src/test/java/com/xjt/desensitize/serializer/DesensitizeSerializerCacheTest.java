@@ -0,0 +1,49 @@
+package com.xjt.desensitize.serializer;
+
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 脱敏序列化器缓存测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeSerializerCacheTest {
+
+    private static final DesensitizeConfig PHONE =
+            new DesensitizeConfig(DesensitizeType.PHONE, null, 0, 0, '*', true, null, false);
+
+    @Test
+    void equalConfigsShareOneSerializer() {
+        DesensitizeSerializerCache cache = new DesensitizeSerializerCache(TestStrategies.service());
+        DesensitizeConfig samePhone = new DesensitizeConfig(DesensitizeType.PHONE, "", 0, 0, '*', true, "", false);
+
+        DesensitizeSerializer serializer = cache.get(PHONE);
+
+        assertSame(serializer, cache.get(samePhone));
+        assertEquals(new DesensitizeSerializer(cache.getStrategyService(), PHONE), serializer);
+        assertNotSame(serializer, cache.get(new DesensitizeConfig(DesensitizeType.PHONE, "", 0, 0, '#', true, "", false)));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void cachesBoundToDifferentServicesDoNotShareSerializers() {
+        DesensitizeSerializerCache first = new DesensitizeSerializerCache(TestStrategies.service());
+        DesensitizeSerializerCache second = new DesensitizeSerializerCache(TestStrategies.service());
+
+        assertNotSame(first.get(PHONE), second.get(PHONE));
+        assertEquals(first.get(PHONE), first.get(PHONE));
+    }
+
+    @Test
+    void requiresStrategyService() {
+        assertThrows(IllegalArgumentException.class, () -> new DesensitizeSerializerCache(null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.xjt.desensitize.strategy;
+
+import com.xjt.desensitize.strategy.impl.AddressDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.BankCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.ChineseNameDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.CustomDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.EmailDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.IdCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PasswordDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PhoneDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.UsernameDesensitizeStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 策略字符数组写入路径测试，结果必须与字符串版本完全一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class CharBufferMaskTest {
+
+    private static final List<DesensitizeStrategy> STRATEGIES = Arrays.asList(
+            new UsernameDesensitizeStrategy(),
+            new IdCardDesensitizeStrategy(),
+            new PhoneDesensitizeStrategy(),
+            new EmailDesensitizeStrategy(),
+            new BankCardDesensitizeStrategy(),
+            new ChineseNameDesensitizeStrategy(),
+            new PasswordDesensitizeStrategy(),
+            new AddressDesensitizeStrategy(),
+            new CustomDesensitizeStrategy());
+
+    private static final String ALPHABET = "0123456789abcXYZ@._ 张三北京";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "a", "ab", "abc", "abcd", "13812345678", "11010519491231002X",
+            "6222021234567890128", "张三", "张三丰", "北京市朝阳区建国路88号", "zhangsan@example.com",
+            "a@b.c", "@example.com", "ab@", "no-at-sign", "  padded  "})
+    void charPathMatchesStringPath(String origin) {
+        for (DesensitizeStrategy strategy : STRATEGIES) {
+            assertCharPathMatches(strategy, origin);
+        }
+    }
+
+    @Test
+    void charPathMatchesStringPathOnRandomInputs() {
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            char[] chars = new char[random.nextInt(24)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            }
+            String origin = new String(chars);
+            for (DesensitizeStrategy strategy : STRATEGIES) {
+                assertCharPathMatches(strategy, origin);
+            }
+        }
+    }
+
+    @Test
+    void customKeepCountsMatchStringPath() {
+        CustomDesensitizeStrategy custom = new CustomDesensitizeStrategy();
+        char[] dst = new char[64];
+        for (String origin : new String[]{"abcdefgh", "abc", "ab", "北京市朝阳区"}) {
+            for (int start = 0; start < 4; start++) {
+                for (int end = 0; end < 4; end++) {
+                    int length = custom.desensitize(origin, start, end, '#', dst);
+                    assertEquals(custom.desensitize(origin, start, end, '#'), new String(dst, 0, length),
+                            origin + " " + start + "/" + end);
+                }
+            }
+        }
+    }
+
+    @Test
+    void tooSmallBufferReturnsMinusOne() {
+        for (DesensitizeStrategy strategy : STRATEGIES) {
+            String origin = "zhangsan@example.com";
+            int needed = strategy.desensitize(origin).length();
+            assertEquals(-1, strategy.desensitize(origin, new char[needed - 1]), strategy.getClass().getSimpleName());
+        }
+        assertEquals(-1, new CustomDesensitizeStrategy().desensitize("abcdef", 1, 1, '*', new char[5]));
+    }
+
+    @Test
+    void emailLongerThanOriginNeedsSlack() {
+        EmailDesensitizeStrategy email = new EmailDesensitizeStrategy();
+
+        assertEquals("***@b.c", email.desensitize("a@b.c"));
+        assertEquals(-1, email.desensitize("a@b.c", new char[5]));
+        char[] dst = new char[7];
+        assertEquals(7, email.desensitize("a@b.c", dst));
+        assertEquals("***@b.c", new String(dst));
+    }
+
+    private static void assertCharPathMatches(DesensitizeStrategy strategy, String origin) {
+        char[] dst = new char[origin.length() + 16];
+        int length = strategy.desensitize(origin, dst);
+        assertEquals(strategy.desensitize(origin), new String(dst, 0, length),
+                strategy.getClass().getSimpleName() + " [" + origin + "]");
+    }
+}
@@ -0,0 +1,131 @@
+package com.xjt.desensitize.strategy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 预编译脱敏函数字符数组路径和原地脱敏测试，覆盖返回-1时的回退
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class MaskFunctionTest {
+
+    private static final String[] VALUES = {" ", "a", "ab", "abcdef", "13812345678", "11010519491231002X",
+            "6222021234567890128", "张三丰", "北京市朝阳区建国路88号", "zhangsan@example.com", "a@b.c"};
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DesensitizeStrategyServiceImpl service = TestStrategies.service();
+
+    @ParameterizedTest
+    @EnumSource(value = DesensitizeType.class, names = "JSON_FIELD", mode = EnumSource.Mode.EXCLUDE)
+    void charPathMatchesStringPath(DesensitizeType type) {
+        MaskFunction function = service.compile(type, "", 1, 2, '#');
+        for (String value : VALUES) {
+            String expected = function.apply(value);
+            char[] dst = new char[expected.length()];
+
+            assertEquals(expected.length(), function.apply(value, dst), type + " [" + value + "]");
+            assertEquals(expected, new String(dst), type + " [" + value + "]");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DesensitizeType.class, names = "JSON_FIELD", mode = EnumSource.Mode.EXCLUDE)
+    void tooSmallBufferReturnsMinusOneWithoutWriting(DesensitizeType type) {
+        MaskFunction function = service.compile(type, "", 1, 2, '#');
+        for (String value : VALUES) {
+            char[] dst = new char[function.apply(value).length() - 1];
+
+            assertEquals(-1, function.apply(value, dst), type + " [" + value + "]");
+            assertEquals(new String(new char[dst.length]), new String(dst), type + " [" + value + "]");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DesensitizeType.class, names = "JSON_FIELD", mode = EnumSource.Mode.EXCLUDE)
+    void inPlaceMatchesStringPathOrDefers(DesensitizeType type) {
+        MaskFunction function = service.compile(type, "", 1, 2, '#');
+        for (String value : VALUES) {
+            char[] chars = new char[value.length() + 8];
+            value.getChars(0, value.length(), chars, 0);
+
+            int length = function.applyInPlace(chars, value.length());
+            if (length >= 0) {
+                assertEquals(function.apply(value), new String(chars, 0, length), type + " [" + value + "]");
+            }
+        }
+    }
+
+    @Test
+    void inPlaceEmailDefersWhenAtIsPresent() {
+        MaskFunction email = service.compile(DesensitizeType.EMAIL, "", 0, 0, '*');
+        char[] chars = "zhangsan@example.com".toCharArray();
+        char[] digits = "13812345678".toCharArray();
+
+        assertEquals(-1, email.applyInPlace(chars, chars.length));
+        assertEquals("zhangsan@example.com", new String(chars));
+        assertEquals(digits.length, email.applyInPlace(digits, digits.length));
+        assertEquals("13812345678", new String(digits));
+    }
+
+    @Test
+    void inPlaceMasksPhoneAndTemplatesDefer() {
+        char[] chars = "13812345678".toCharArray();
+
+        assertEquals(11, service.compile(DesensitizeType.PHONE, "", 0, 0, '*').applyInPlace(chars, 11));
+        assertEquals("138****5678", new String(chars));
+        assertEquals(-1, service.compile(DesensitizeType.PHONE, "${start:3}${mask}", 0, 0, '*')
+                .applyInPlace("13812345678".toCharArray(), 11));
+        assertEquals(-1, ((MaskFunction) String::toUpperCase).applyInPlace(new char[4], 4));
+    }
+
+    @Test
+    void templateTooSmallBufferReturnsMinusOne() {
+        MaskFunction function = service.compile(DesensitizeType.PHONE, "${start:3}-${mask:4}-${end:4}", 0, 0, '*');
+
+        assertEquals(-1, function.apply("13812345678", new char[12]));
+        char[] dst = new char[13];
+        assertEquals(13, function.apply("13812345678", dst));
+        assertEquals("138-****-5678", new String(dst));
+    }
+
+    @Test
+    void emailLongerThanOriginFallsBackToStringPath() throws IOException {
+        MaskFunction email = service.compile(DesensitizeType.EMAIL, "", 0, 0, '*');
+
+        // a@b.c 脱敏为 ***@b.c，比原值长，按原值长度分配的数组放不下
+        assertEquals(-1, email.apply("a@b.c", new char["a@b.c".length()]));
+        assertEquals("***@b.c", email.apply("a@b.c"));
+        assertEquals("\"***@b.c\"", write(email, "a@b.c"));
+    }
+
+    @Test
+    void defaultCharPathIsUnsupportedAndWriteFallsBack() throws IOException {
+        MaskFunction upper = String::toUpperCase;
+
+        assertEquals(-1, upper.apply("abc", new char[16]));
+        assertEquals("\"ABC\"", write(upper, "abc"));
+        assertEquals("\"abc\"", write(origin -> null, "abc"));
+    }
+
+    private static String write(MaskFunction function, String value) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            function.write(value, gen);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.xjt.desensitize.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 自定义脱敏格式测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class CustomFormatTemplateTest {
+
+    private static final String PHONE = "13812345678";
+
+    @Test
+    void documentedExample() {
+        assertFormat("138-****-5678", "${start:3}-${mask:4}-${end:4}", PHONE, 0, 0);
+    }
+
+    @Test
+    void literalMaskRunEmitsThatManyMaskChars() {
+        assertFormat("138**5678", "${start:3}${mask:##}${end:4}", PHONE, 0, 0);
+    }
+
+    @Test
+    void whitespaceAroundCountsIsIgnored() {
+        assertFormat("138-****-5678", "${start: 3}-${mask: 4}-${end: 4 }", PHONE, 0, 0);
+    }
+
+    @Test
+    void blankMaskCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CustomFormatTemplate.compile("${mask:  }"));
+    }
+
+    @Test
+    void maskRestCoversUnkeptChars() {
+        assertFormat("138****5678", "${start:3}${mask}${end:4}", PHONE, 0, 0);
+    }
+
+    @Test
+    void startAndEndWithoutCountUseKeepParameters() {
+        assertFormat("13******678", "${start}${mask}${end}", PHONE, 2, 3);
+    }
+
+    @Test
+    void valueNotLongerThanKeepCountIsFullyMasked() {
+        assertFormat("*****", "${start:3}${mask}${end:4}", "12345", 0, 0);
+        assertFormat("***-****-**", "${start:3}-${mask:4}-${end:4}", "12345", 0, 0);
+        assertFormat("*******", "${start:3}${mask}${end:4}", "1234567", 0, 0);
+    }
+
+    @Test
+    void maskRestMayAppearOnlyOnce() {
+        assertThrows(IllegalArgumentException.class, () -> CustomFormatTemplate.compile("${mask}-${mask}"));
+    }
+
+    @Test
+    void unclosedPlaceholderIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CustomFormatTemplate.compile("${start:3}${mask"));
+    }
+
+    @Test
+    void unknownPlaceholderIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CustomFormatTemplate.compile("${middle:3}"));
+    }
+
+    @Test
+    void dollarWithoutBraceIsLiteral() {
+        assertFormat("$138****", "$${start:3}${mask:4}", PHONE, 0, 0);
+    }
+
+    @Test
+    void charArrayPathReportsInsufficientCapacity() {
+        CustomFormatTemplate template = CustomFormatTemplate.compile("${start:3}-${mask:4}-${end:4}");
+
+        assertEquals(-1, template.apply(PHONE, 0, 0, '*', new char[12]));
+    }
+
+    private static void assertFormat(String expected, String format, String origin, int startKeep, int endKeep) {
+        CustomFormatTemplate template = CustomFormatTemplate.compile(format);
+        assertEquals(expected, template.apply(origin, startKeep, endKeep, '*'));
+        assertEquals(expected.length(), template.length(origin, startKeep, endKeep));
+
+        char[] dst = new char[expected.length()];
+        assertEquals(expected.length(), template.apply(origin, startKeep, endKeep, '*', dst));
+        assertEquals(expected, new String(dst));
+    }
+}
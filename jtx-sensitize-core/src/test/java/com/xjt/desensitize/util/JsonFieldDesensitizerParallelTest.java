@@ -0,0 +1,85 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.JsonTestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 树模式大数组并行脱敏测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class JsonFieldDesensitizerParallelTest {
+
+    private static final String FIELD_CONFIGS = "[*].phone:PHONE;[*].idCard:ID_CARD;[*].contact.email:EMAIL";
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private final ForkJoinPool callerPool = new ForkJoinPool(1);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        callerPool.shutdown();
+    }
+
+    @Test
+    void parallelOutputMatchesSequential() {
+        String json = JsonTestData.userArray(5000);
+        String parallel = parallel(64, pool).desensitize(json);
+
+        assertEquals(sequential().desensitize(json), parallel);
+        assertTrue(parallel.contains("\"phone\":\"138****0042\""));
+        assertTrue(pool.getPoolSize() > 0, "大数组应拆分到配置的线程池");
+    }
+
+    @Test
+    void callerOnAnotherForkJoinPoolUsesConfiguredPool() throws Exception {
+        JsonFieldDesensitizer desensitizer = parallel(64, pool);
+        String json = JsonTestData.userArray(5000);
+
+        String result = callerPool.submit(() -> desensitizer.desensitize(json)).get();
+
+        assertTrue(pool.getPoolSize() > 0, "任务应提交到配置的线程池");
+        assertEquals(sequential().desensitize(json), result);
+    }
+
+    @Test
+    void arrayAtOrBelowThresholdRunsSequentially() {
+        String json = JsonTestData.userArray(64);
+
+        assertEquals(sequential().desensitize(json), parallel(64, pool).desensitize(json));
+        assertEquals(0, pool.getPoolSize(), "未超过阈值的数组不应提交到线程池");
+    }
+
+    @Test
+    void nonPositiveThresholdDisablesParallelism() {
+        String json = JsonTestData.userArray(5000);
+
+        assertEquals(sequential().desensitize(json), parallel(0, pool).desensitize(json));
+        assertEquals(sequential().desensitize(json), parallel(-1, pool).desensitize(json));
+        assertEquals(0, pool.getPoolSize(), "关闭并行后不应提交到线程池");
+    }
+
+    @Test
+    void missingPoolFallsBackToCommonPool() {
+        String json = JsonTestData.userArray(5000);
+
+        assertEquals(sequential().desensitize(json), parallel(64, null).desensitize(json));
+    }
+
+    private static JsonFieldDesensitizer sequential() {
+        return JsonFieldDesensitizer.builder().fieldConfigs(FIELD_CONFIGS).build();
+    }
+
+    private static JsonFieldDesensitizer parallel(int threshold, ForkJoinPool forkJoinPool) {
+        return JsonFieldDesensitizer.builder().fieldConfigs(FIELD_CONFIGS)
+                .parallelThreshold(threshold).forkJoinPool(forkJoinPool).build();
+    }
+}
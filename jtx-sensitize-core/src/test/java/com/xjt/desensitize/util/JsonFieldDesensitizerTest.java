@@ -0,0 +1,360 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON字段脱敏器测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class JsonFieldDesensitizerTest {
+
+    private static final String CONFIG = "phone:PHONE;amount:BANK_CARD;ratio:CUSTOM:startKeep:1,endKeep:1;"
+            + "flag:PASSWORD;empty:PASSWORD;memo:CUSTOM:startKeep:2,endKeep:2;items[*].email:EMAIL;"
+            + "user:ADDRESS;[*].phone:PHONE";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonFieldDesensitizer desensitizer = new JsonFieldDesensitizer(JsonFieldRulePlan.parse(CONFIG));
+
+    /**
+     * 流式重写与树模式的脱敏结果一致
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"phone\":\"13812345678\",\"name\":\"zhangsan\"}",
+            "{\"phone\":13812345678,\"amount\":6222021234567890123456,\"ratio\":1.50,\"big\":1e400}",
+            "{\"ratio\":-0.000125,\"other\":3.0E10,\"phone\":-12}",
+            "{\"flag\":true,\"empty\":null,\"phone\":false,\"keep\":null}",
+            "{\"memo\":\"a\\\"b\\\\c\\nd\\u00e9\\ud83d\\ude00f\",\"name\":\"\\t\\u4e2d\"}",
+            "{\"items\":[{\"email\":\"zhangsan@example.com\"},{\"email\":null},[1,2],\"x\"],\"phone\":\"\"}",
+            "{\"user\":{\"city\":\"北京市朝阳区建国路88号\",\"tags\":[\"a\",1,true,{\"deep\":\"中关村大街1号院\"}]}}",
+            "{\"phone\":{\"nested\":\"13812345678\"},\"items\":{\"email\":\"a@b.c\"}}",
+            "{}",
+            "[{\"phone\":\"13812345678\"},{\"phone\":1.0},null,[{\"phone\":\"x\"}],\"13812345678\"]",
+            "[]"
+    })
+    void streamingMatchesTree(String json) {
+        assertEquals(desensitizer.desensitize(json, '*'), desensitizer.desensitizeStreaming(json, '*'));
+    }
+
+    @Test
+    void masksNumbersBooleansAndNullsAsStrings() {
+        assertEquals("{\"phone\":\"138****5678\",\"flag\":\"****\",\"empty\":\"****\"}",
+                desensitizer.desensitizeStreaming("{\"phone\":13812345678,\"flag\":true,\"empty\":null}", '*'));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not json",
+            "{\"phone\":\"13812345678\"",
+            "{\"phone\":13812345678,}",
+            "{\"phone\" \"13812345678\"}",
+            "\"13812345678\"",
+            "   "
+    })
+    void invalidOrScalarRootIsReturnedUnchanged(String json) {
+        assertSame(json, desensitizer.desensitizeStreaming(json, '*'));
+        assertEquals(json, desensitizer.desensitize(json, '*'));
+    }
+
+    @Test
+    void writeAsStringEmbedsMaskedDocumentAsString() throws IOException {
+        String json = "{\"phone\":\"13812345678\"}";
+
+        assertEquals("\"{\\\"phone\\\":\\\"138****5678\\\"}\"",
+                write(gen -> desensitizer.writeAsString(json, '*', gen)));
+        assertEquals("\"not json\"", write(gen -> desensitizer.writeAsString("not json", '*', gen)));
+    }
+
+    @Test
+    void writeAsJsonEmbedsMaskedDocumentAsJson() throws IOException {
+        String json = "{\"phone\":\"13812345678\",\"n\":1}";
+
+        assertEquals("{\"phone\":\"138****5678\",\"n\":1}",
+                write(gen -> desensitizer.writeAsJson(json, '*', gen)));
+        assertEquals("[{\"phone\":\"138****5678\"}]",
+                write(gen -> desensitizer.writeAsJson("[{\"phone\":\"13812345678\"}]", '*', gen)));
+        assertEquals("\"123\"", write(gen -> desensitizer.writeAsJson("123", '*', gen)));
+    }
+
+    /**
+     * 目标生成器在写出外层结果前再次调用writeAsString，内外两层不能共用同一个线程内缓冲区
+     */
+    @Test
+    void writeAsStringIsReentrantOnSameThread() throws IOException {
+        String outer = "{\"phone\":\"13812345678\",\"name\":\"outer\"}";
+        String inner = "{\"phone\":\"13987654321\",\"name\":\"inner\"}";
+        StringWriter innerOut = new StringWriter();
+
+        String outerOut = write(gen -> desensitizer.writeAsString(outer, '*', new JsonGeneratorDelegate(gen) {
+            @Override
+            public void writeString(char[] text, int offset, int len) throws IOException {
+                try (JsonGenerator innerGen = JSON_FACTORY.createGenerator(innerOut)) {
+                    desensitizer.writeAsString(inner, '*', innerGen);
+                }
+                super.writeString(text, offset, len);
+            }
+        }));
+
+        assertEquals(quote(desensitizer.desensitizeStreaming(outer, '*')), outerOut);
+        assertEquals(quote(desensitizer.desensitizeStreaming(inner, '*')), innerOut.toString());
+    }
+
+    /**
+     * 超过线程内缓冲区保留上限的输出不被截断，之后的小文档仍然正确
+     */
+    @Test
+    void writeAsStringHandlesOutputLargerThanRetainedBuffer() throws IOException {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"email\":\"user").append(i).append("@example.com\"}");
+        }
+        String large = json.append("],\"phone\":\"13812345678\"}").toString();
+        assertTrue(large.length() > 64 * 1024);
+
+        assertEquals(quote(desensitizer.desensitizeStreaming(large, '*')),
+                write(gen -> desensitizer.writeAsString(large, '*', gen)));
+        String small = "{\"phone\":\"13812345678\"}";
+        assertEquals(quote(desensitizer.desensitizeStreaming(small, '*')),
+                write(gen -> desensitizer.writeAsString(small, '*', gen)));
+    }
+
+    @Test
+    void inputStreamSkipsUtf8ByteOrderMark() throws IOException {
+        byte[] json = "{\"phone\":\"13812345678\",\"name\":\"张三\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[json.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(json, 0, withBom, 3, json.length);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        desensitizer.desensitize(new ByteArrayInputStream(withBom), out, '*');
+
+        assertEquals("{\"phone\":\"138****5678\",\"name\":\"张三\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamOverloadsMaskEveryRootValue() throws IOException {
+        String json = "{\"phone\":\"13812345678\"}\n[{\"phone\":\"13987654321\"}]\n{\"flag\":true}";
+        String expected = "{\"phone\":\"138****5678\"} [{\"phone\":\"139****4321\"}] {\"flag\":\"****\"}";
+
+        StringWriter writer = new StringWriter();
+        desensitizer.desensitize(new StringReader(json), writer, '*');
+        assertEquals(expected, writer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        desensitizer.desensitize(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out, '*');
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamOverloadsLeaveCallerStreamsOpen() throws IOException {
+        byte[] json = "{\"phone\":\"13812345678\"}".getBytes(StandardCharsets.UTF_8);
+        TrackingInputStream in = new TrackingInputStream(json);
+        TrackingOutputStream out = new TrackingOutputStream();
+        desensitizer.desensitize(in, out, '*');
+        assertFalse(in.closed);
+        assertFalse(out.closed);
+        assertEquals("{\"phone\":\"138****5678\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        TrackingReader reader = new TrackingReader("{\"phone\":\"13812345678\"}");
+        TrackingWriter writer = new TrackingWriter();
+        desensitizer.desensitize(reader, writer, '*');
+        assertFalse(reader.closed);
+        assertFalse(writer.closed);
+        assertEquals("{\"phone\":\"138****5678\"}", writer.toString());
+    }
+
+    @Test
+    void builderFixesMaskCharAndMergesConfigs() {
+        JsonFieldDesensitizer built = JsonFieldDesensitizer.builder()
+                .fieldConfigs("phone:PHONE")
+                .fieldConfigs(Arrays.asList("flag:PASSWORD", "broken"))
+                .fieldConfig("memo", DesensitizeType.CUSTOM, "startKeep:1,endKeep:1")
+                .maskChar('#')
+                .build();
+
+        assertEquals(3, built.getConfigCount());
+        assertEquals('#', built.getDefaultMaskChar());
+        assertEquals("{\"phone\":\"138####5678\",\"flag\":\"####\",\"memo\":\"a##d\"}",
+                built.desensitize("{\"phone\":\"13812345678\",\"flag\":true,\"memo\":\"abcd\"}"));
+    }
+
+    @Test
+    void perCallMaskCharDoesNotChangeInstanceDefault() {
+        JsonFieldDesensitizer built = JsonFieldDesensitizer.builder().fieldConfigs("phone:PHONE").build();
+
+        assertEquals("{\"phone\":\"138####5678\"}", built.desensitize("{\"phone\":\"13812345678\"}", '#'));
+        assertEquals("{\"phone\":\"138****5678\"}", built.desensitize("{\"phone\":\"13812345678\"}"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedMutatorsStillApply() {
+        JsonFieldDesensitizer legacy = new JsonFieldDesensitizer();
+        legacy.addFieldConfig("phone", DesensitizeType.PHONE);
+        legacy.addFieldConfig("memo", DesensitizeType.CUSTOM, "startKeep:1,endKeep:1");
+        legacy.addFieldConfigs(Arrays.asList("flag:PASSWORD", "broken"));
+        legacy.setDefaultMaskChar('#');
+
+        assertEquals(3, legacy.getConfigCount());
+        assertEquals("{\"phone\":\"138####5678\",\"flag\":\"####\",\"memo\":\"a##d\"}",
+                legacy.desensitize("{\"phone\":\"13812345678\",\"flag\":true,\"memo\":\"abcd\"}"));
+
+        legacy.clearConfigs();
+        assertEquals(0, legacy.getConfigCount());
+        assertEquals("{\"phone\":\"13812345678\"}", legacy.desensitize("{\"phone\":\"13812345678\"}"));
+    }
+
+    /**
+     * 共享实例上并发使用不同脱敏字符互不影响
+     */
+    @Test
+    void sharedInstanceIsSafeWithConcurrentMaskChars() throws Exception {
+        String json = "{\"phone\":\"13812345678\",\"items\":[{\"email\":\"zhangsan@example.com\"}]}";
+        char[] maskChars = {'*', '#', 'x', '-'};
+        ExecutorService executor = Executors.newFixedThreadPool(maskChars.length);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (char maskChar : maskChars) {
+                String expected = desensitizer.desensitize(json, maskChar);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        if (!expected.equals(desensitizer.desensitize(json, maskChar))
+                                || !expected.equals(desensitizer.desensitizeStreaming(json, maskChar))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 并发调用已废弃的addFieldConfig不会丢失规则
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    void concurrentDeprecatedAddsKeepEveryRule() throws Exception {
+        JsonFieldDesensitizer legacy = new JsonFieldDesensitizer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        legacy.addFieldConfig("f" + thread + "_" + i, DesensitizeType.PASSWORD);
+                        legacy.desensitize("{\"f0_0\":\"secret\"}");
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400, legacy.getConfigCount());
+    }
+
+    private static String quote(String text) throws IOException {
+        return write(gen -> gen.writeString(text));
+    }
+
+    private static String write(GeneratorAction action) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            action.writeTo(gen);
+        }
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface GeneratorAction {
+        void writeTo(JsonGenerator gen) throws IOException;
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class TrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class TrackingReader extends StringReader {
+        private boolean closed;
+
+        TrackingReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class TrackingWriter extends StringWriter {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.impl.JsonFieldDesensitizeStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON字段脱敏规则计划测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class JsonFieldRulePlanTest {
+
+    @Test
+    void compileReusesPlanForSameConfig() {
+        String config = "user.phone:PHONE;user.email:EMAIL";
+
+        JsonFieldRulePlan plan = JsonFieldRulePlan.compile(config);
+
+        assertSame(plan, JsonFieldRulePlan.compile(config));
+        assertNotSame(plan, JsonFieldRulePlan.parse(config));
+        assertEquals(2, plan.size());
+    }
+
+    @Test
+    void blankConfigCompilesToEmptyPlan() {
+        assertSame(JsonFieldRulePlan.EMPTY, JsonFieldRulePlan.compile(null));
+        assertSame(JsonFieldRulePlan.EMPTY, JsonFieldRulePlan.compile(" "));
+        assertSame(JsonFieldRulePlan.EMPTY, JsonFieldRulePlan.compile("phone:NOT_A_TYPE"));
+    }
+
+    @Test
+    void parsesRuleParametersOnce() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse(" card : custom : startKeep:2,endKeep:3,maskChar:# ");
+
+        JsonFieldRule rule = plan.getRules().get(0);
+        assertEquals("card", rule.getPath());
+        assertEquals(DesensitizeType.CUSTOM, rule.getType());
+        assertEquals(2, rule.getStartKeep());
+        assertEquals(3, rule.getEndKeep());
+        assertEquals('#', rule.resolveMaskChar('*'));
+    }
+
+    @Test
+    void invalidParametersFallBackToDefaults() {
+        JsonFieldRule rule = JsonFieldRule.of("card", DesensitizeType.CUSTOM, "startKeep:-1,endKeep:x,maskChar:##");
+
+        assertEquals(0, rule.getStartKeep());
+        assertEquals(0, rule.getEndKeep());
+        assertEquals('*', rule.resolveMaskChar('*'));
+    }
+
+    @Test
+    void invalidEntriesAreSkipped() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE;broken;:EMAIL;email:NOPE;name:CHINESE_NAME");
+
+        assertEquals(2, plan.size());
+        assertEquals("phone", plan.getRules().get(0).getPath());
+        assertEquals("name", plan.getRules().get(1).getPath());
+    }
+
+    @Test
+    void findsExactWildcardAndPrefixRules() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("user.phone:PHONE;items[*].email:EMAIL;address:ADDRESS");
+
+        assertEquals(DesensitizeType.PHONE, plan.findRule("user.phone").getType());
+        assertEquals(DesensitizeType.EMAIL, plan.findRule("items[3].email").getType());
+        assertEquals(DesensitizeType.ADDRESS, plan.findRule("address.detail").getType());
+        assertNull(plan.findRule("user.name"));
+        assertNull(plan.findRule("items[0].phone"));
+    }
+
+    /**
+     * 字典树匹配语义：精确匹配优先于前缀匹配，不含[*]的规则按前缀匹配子路径，
+     * [*]匹配任意数组下标，多个前缀规则同时匹配时按配置顺序取第一个
+     */
+    @ParameterizedTest(name = "[{index}] {0} @ {1}")
+    @CsvSource(delimiter = '|', value = {
+            // 精确匹配优先于先配置的前缀规则
+            "user:ADDRESS;user.phone:PHONE | user.phone | PHONE",
+            "user:ADDRESS;user.phone:PHONE | user.name | ADDRESS",
+            "user:ADDRESS;user.phone:PHONE | user | ADDRESS",
+            // 前缀回退
+            "user:ADDRESS | user.a.b.c | ADDRESS",
+            "user:ADDRESS | user.list[3].x | ADDRESS",
+            "user:ADDRESS | users.a | ",
+            "user.profile:ADDRESS | user.profileX | ",
+            // 嵌套数组中的[*]
+            "orders[*].items[*].phone:PHONE | orders[0].items[12].phone | PHONE",
+            "orders[*].items[*].phone:PHONE | orders[0].items.phone | ",
+            "orders[*].items[*].phone:PHONE | orders[1].phone | ",
+            "orders[*].items[*].phone:PHONE | orders.items[0].phone | ",
+            "matrix[*][*]:BANK_CARD | matrix[0][1] | BANK_CARD",
+            "matrix[*][*]:BANK_CARD | matrix[0] | ",
+            // 含[*]的规则只做精确匹配
+            "items[*]:PHONE | items[0].x | ",
+            // 多个前缀规则按配置顺序取第一个
+            "a.b:EMAIL;a:PHONE | a.b.c | EMAIL",
+            "a:PHONE;a.b:EMAIL | a.b.c | PHONE",
+            "a:PHONE;a.b:EMAIL | a.b | EMAIL",
+            // 非[*]的数组下标规则无效
+            "items[0]:PHONE;x:EMAIL | items[0] | ",
+    })
+    void trieMatchesLikePathSemantics(String config, String path, DesensitizeType expected) {
+        JsonFieldRule rule = JsonFieldRulePlan.parse(config).findRule(path);
+
+        assertEquals(expected, rule != null ? rule.getType() : null);
+    }
+
+    @Test
+    void prunesOnlySubtreesWithoutReachableRules() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("a.b:ADDRESS;items[*].phone:PHONE;items.meta.id:ID_CARD");
+        JsonFieldRulePlan.PathNode root = plan.root();
+        JsonFieldRulePlan.PathNode a = root.child("a");
+        JsonFieldRulePlan.PathNode items = root.child("items");
+
+        assertTrue(JsonFieldRulePlan.canMatchInObject(root, null));
+        assertFalse(JsonFieldRulePlan.canMatchInArray(root, null));
+        // a本身没有规则，但字段b下有前缀规则
+        assertTrue(JsonFieldRulePlan.canMatchInObject(a, null));
+        assertFalse(JsonFieldRulePlan.canMatchInArray(a, null));
+        // b以下任意深度都继承前缀规则
+        JsonFieldRulePlan.PathNode b = a.child("b");
+        assertTrue(JsonFieldRulePlan.canMatchInObject(b.child("deep"), b.getFieldFallback()));
+        assertTrue(JsonFieldRulePlan.canMatchInArray(b.child("deep"), b.getFieldFallback()));
+        assertFalse(JsonFieldRulePlan.canMatchInObject(a.child("x"), a.getFieldFallback()));
+        // [*]和同名对象字段两条分支各自可达
+        assertTrue(JsonFieldRulePlan.canMatchInArray(items, null));
+        assertTrue(JsonFieldRulePlan.canMatchInObject(items, null));
+        assertFalse(JsonFieldRulePlan.canMatchInArray(items.element(), null));
+        assertFalse(JsonFieldRulePlan.canMatchInObject(items.child("other"), items.getFieldFallback()));
+    }
+
+    @Test
+    void prunedTraversalMasksPrefixAndWildcardSiblings() {
+        JsonFieldDesensitizer desensitizer = new JsonFieldDesensitizer(
+                JsonFieldRulePlan.parse("a.b:ADDRESS;items[*].phone:PHONE;items.meta.id:ID_CARD"));
+        String json = "{\"a\":{\"x\":{\"b\":\"keep\"},\"b\":{\"deep\":[{\"z\":\"北京市朝阳区建国路88号\"}]}},"
+                + "\"other\":{\"items\":[{\"phone\":\"13812345678\"}]},"
+                + "\"items\":[{\"phone\":\"13812345678\",\"meta\":{\"id\":\"keep\"}}]}";
+        String expected = "{\"a\":{\"x\":{\"b\":\"keep\"},\"b\":{\"deep\":[{\"z\":\"北京市朝阳区**路88号\"}]}},"
+                + "\"other\":{\"items\":[{\"phone\":\"13812345678\"}]},"
+                + "\"items\":[{\"phone\":\"138****5678\",\"meta\":{\"id\":\"keep\"}}]}";
+
+        assertEquals(expected, desensitizer.desensitizeStreaming(json, '*'));
+        assertEquals(expected, desensitizer.desensitize(json, '*'));
+
+        String objectItems = "{\"items\":{\"meta\":{\"id\":\"11010519491231002X\"},\"phone\":\"13812345678\"}}";
+        assertEquals("{\"items\":{\"meta\":{\"id\":\"110105********002X\"},\"phone\":\"13812345678\"}}",
+                desensitizer.desensitizeStreaming(objectItems, '*'));
+    }
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedPlan() {
+        String prefix = "lru" + System.nanoTime() + "_";
+        JsonFieldRulePlan[] plans = new JsonFieldRulePlan[JsonFieldRulePlan.MAX_CACHED_PLANS];
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = JsonFieldRulePlan.compile(prefix + i + ":PHONE");
+        }
+        // 最早写入的计划被访问后不再是最久未使用的
+        assertSame(plans[0], JsonFieldRulePlan.compile(prefix + "0:PHONE"));
+
+        JsonFieldRulePlan.compile(prefix + "new:PHONE");
+
+        assertSame(plans[0], JsonFieldRulePlan.compile(prefix + "0:PHONE"));
+        assertNotSame(plans[1], JsonFieldRulePlan.compile(prefix + "1:PHONE"));
+        assertSame(plans[plans.length - 1], JsonFieldRulePlan.compile(prefix + (plans.length - 1) + ":PHONE"));
+    }
+
+    @Test
+    void mergeAndWithRuleReturnNewPlans() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+        JsonFieldRulePlan extended = plan.withRule(JsonFieldRule.of("email", DesensitizeType.EMAIL, null));
+
+        assertEquals(1, plan.size());
+        assertEquals(2, extended.size());
+        assertSame(plan, plan.merge(JsonFieldRulePlan.EMPTY));
+        assertEquals(2, plan.merge(JsonFieldRulePlan.parse("email:EMAIL")).size());
+    }
+
+    @Test
+    void strategyMasksWithCompiledPlan() {
+        JsonFieldDesensitizeStrategy strategy = new JsonFieldDesensitizeStrategy();
+        String json = "{\"user\":{\"phone\":\"13812345678\",\"name\":\"zhangsan\"}}";
+
+        String masked = strategy.desensitize(json, "user.phone:PHONE", '*');
+
+        assertTrue(masked.contains("\"phone\":\"138****5678\""), masked);
+        assertTrue(masked.contains("\"name\":\"zhangsan\""), masked);
+        assertEquals("not json", strategy.desensitize("not json", "user.phone:PHONE", '*'));
+    }
+}
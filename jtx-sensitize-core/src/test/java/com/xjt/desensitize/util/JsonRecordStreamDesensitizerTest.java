@@ -0,0 +1,140 @@
+package com.xjt.desensitize.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * JSON记录流脱敏处理器测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class JsonRecordStreamDesensitizerTest {
+
+    private final JsonRecordStreamDesensitizer desensitizer =
+            new JsonRecordStreamDesensitizer(JsonFieldRulePlan.compile("phone:PHONE"), '*', null);
+
+    @Test
+    void desensitizeArrayMasksEachElement() throws IOException {
+        StringWriter out = new StringWriter();
+        long count = desensitizer.desensitizeArray(
+                new StringReader("[{\"phone\":\"13812345678\"},{\"phone\":\"13900001111\"}]"), out);
+
+        assertEquals(2, count);
+        assertEquals("[{\"phone\":\"138****5678\"},{\"phone\":\"139****1111\"}]", out.toString());
+    }
+
+    @Test
+    void desensitizeArrayLeavesReaderOpen() throws IOException {
+        TrackingReader reader = new TrackingReader("[{\"phone\":\"13812345678\"}]");
+        desensitizer.desensitizeArray(reader, new StringWriter());
+
+        assertFalse(reader.closed);
+    }
+
+    @Test
+    void desensitizeArrayLeavesInputStreamOpen() throws IOException {
+        TrackingInputStream in = new TrackingInputStream("[{\"phone\":\"13812345678\"}]");
+        desensitizer.desensitizeArray(in, new ByteArrayOutputStream());
+
+        assertFalse(in.closed);
+    }
+
+    @Test
+    void desensitizeLinesLeavesReaderOpen() throws IOException {
+        TrackingReader reader = new TrackingReader("{\"phone\":\"13812345678\"}\n");
+        StringWriter out = new StringWriter();
+        desensitizer.desensitizeLines(reader, out);
+
+        assertFalse(reader.closed);
+        assertEquals("{\"phone\":\"138****5678\"}\n", out.toString());
+    }
+
+    /**
+     * 整批复用一个生成器时，每行结果与单独流式脱敏该行一致，非法行回退后不影响后续行
+     */
+    @Test
+    void desensitizeLinesMatchesPerLineStreaming() throws IOException {
+        String[] lines = {
+                "{\"phone\":\"13812345678\",\"n\":1.5,\"s\":\"a\\\"b\\u00e9\"}",
+                "",
+                "{\"phone\":\"13900001111\",\"broken\":",
+                "{\"phone\":\"13700002222\"}",
+                "[1,2]",
+                "not json",
+                "{\"phone\":\"13812345678\",}",
+                "  {\"phone\" : 13600003333}  "
+        };
+        JsonFieldDesensitizer single = new JsonFieldDesensitizer(JsonFieldRulePlan.compile("phone:PHONE"));
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            for (String line : lines) {
+                input.append(line).append('\n');
+                expected.append(single.desensitizeStreaming(line, '*')).append('\n');
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            JsonRecordStreamDesensitizer batched = new JsonRecordStreamDesensitizer(
+                    JsonFieldRulePlan.compile("phone:PHONE"), '*', executor, 7, 2);
+            StringWriter out = new StringWriter();
+
+            assertEquals(20L * lines.length, batched.desensitizeLines(new StringReader(input.toString()), out));
+            assertEquals(expected.toString(), out.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void emptyPlanCopiesLinesUnchanged() throws IOException {
+        JsonRecordStreamDesensitizer empty = new JsonRecordStreamDesensitizer(JsonFieldRulePlan.EMPTY, '*', null);
+        StringWriter out = new StringWriter();
+        empty.desensitizeLines(new StringReader("{ \"phone\" : \"13812345678\" }\n\n"), out);
+
+        assertEquals("{ \"phone\" : \"13812345678\" }\n\n", out.toString());
+    }
+
+    private static final class TrackingReader extends StringReader {
+
+        private boolean closed;
+
+        TrackingReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackingInputStream(String s) {
+            super(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
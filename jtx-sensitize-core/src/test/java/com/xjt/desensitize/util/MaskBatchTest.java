@@ -0,0 +1,176 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.MaskFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 批量脱敏测试，批量和并行结果必须与逐个调用desensitize完全一致且保持下标顺序
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class MaskBatchTest {
+
+    private final DesensitizeStrategyServiceImpl service = TestStrategies.service();
+
+    private final MaskFunction phone = service.compile(DesensitizeType.PHONE, "", 0, 0, '*');
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private final ForkJoinPool callerPool = new ForkJoinPool(1);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        callerPool.shutdown();
+    }
+
+    @Test
+    void batchMatchesDesensitizePerValue() {
+        String[] origins = {"13812345678", null, "", "abc", "13900001111"};
+        String[] results = new String[origins.length];
+
+        service.desensitizeBatch(origins, results, DesensitizeType.PHONE, "", 0, 0, '*');
+
+        for (int i = 0; i < origins.length; i++) {
+            assertEquals(service.desensitize(origins[i], DesensitizeType.PHONE, "", 0, 0, '*'), results[i],
+                    String.valueOf(i));
+        }
+        assertEquals("138****5678", results[0]);
+    }
+
+    @Test
+    void resultsMayReplaceOriginsInPlace() {
+        String[] values = phones(10);
+        String[] expected = sequential(values);
+
+        MaskBatch.apply(phone, values, values);
+
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void parallelMatchesSequentialInOrder() {
+        String[] origins = phones(5000);
+        String[] results = new String[origins.length];
+
+        MaskBatch.applyParallel(phone, origins, results, pool, 64);
+
+        assertArrayEquals(sequential(origins), results);
+        assertTrue(pool.getPoolSize() > 0, "超过两个分块的数组应提交到指定线程池");
+    }
+
+    @Test
+    void parallelInPlaceMatchesSequential() {
+        String[] values = phones(5000);
+        String[] expected = sequential(values);
+
+        service.desensitizeBatchParallel(values, values, DesensitizeType.PHONE, "", 0, 0, '*', pool, 100);
+
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void callerOnAnotherForkJoinPoolUsesGivenPool() throws Exception {
+        String[] origins = phones(5000);
+        String[] results = new String[origins.length];
+
+        callerPool.submit(() -> MaskBatch.applyParallel(phone, origins, results, pool, 64)).get();
+
+        assertTrue(pool.getPoolSize() > 0, "任务应提交到指定线程池");
+        assertArrayEquals(sequential(origins), results);
+    }
+
+    @Test
+    void belowTwoChunksRunsOnCallerThread() {
+        String[] origins = phones(127);
+        String[] results = new String[origins.length];
+
+        MaskBatch.applyParallel(phone, origins, results, pool, 64);
+
+        assertArrayEquals(sequential(origins), results);
+        assertEquals(0, pool.getPoolSize(), "不足两个分块的数组不应提交到线程池");
+    }
+
+    @Test
+    void defaultParallelUsesCommonPoolAndDefaultChunkSize() {
+        String[] origins = phones(MaskBatch.PARALLEL_CHUNK_SIZE * 2 + 1);
+        String[] results = new String[origins.length];
+
+        MaskBatch.applyParallel(phone, origins, results);
+
+        assertArrayEquals(sequential(origins), results);
+    }
+
+    @Test
+    void failingValueIsReturnedUnchanged() {
+        MaskFunction failing = origin -> {
+            if (origin.startsWith("x")) {
+                throw new IllegalStateException("boom");
+            }
+            return origin.toUpperCase();
+        };
+        String[] origins = {"ab", "xy", "cd"};
+        String[] results = new String[3];
+
+        MaskBatch.apply(failing, origins, results);
+
+        assertArrayEquals(new String[]{"AB", "xy", "CD"}, results);
+    }
+
+    @Test
+    void iterableResultsFollowIterationOrder() {
+        List<String> origins = Arrays.asList(phones(20));
+        List<String> fromArrayList = new ArrayList<>();
+        List<String> fromLinkedList = new ArrayList<>();
+
+        service.desensitizeBatch(new ArrayList<>(origins), fromArrayList::add, DesensitizeType.PHONE, "", 0, 0, '*');
+        MaskBatch.apply(phone, new LinkedList<>(origins), fromLinkedList::add);
+
+        List<String> expected = Arrays.asList(sequential(origins.toArray(new String[0])));
+        assertEquals(expected, fromArrayList);
+        assertEquals(expected, fromLinkedList);
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        String[] origins = phones(4);
+
+        assertThrows(IllegalArgumentException.class, () -> MaskBatch.apply(phone, origins, new String[3]));
+        assertThrows(IllegalArgumentException.class, () -> MaskBatch.apply(phone, null, new String[3]));
+        assertThrows(IllegalArgumentException.class, () -> MaskBatch.apply(phone, (Iterable<String>) null, s -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> MaskBatch.applyParallel(phone, origins, new String[4], pool, 0));
+    }
+
+    private String[] sequential(String[] origins) {
+        String[] expected = new String[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            expected[i] = service.desensitize(origins[i], DesensitizeType.PHONE, "", 0, 0, '*');
+        }
+        return expected;
+    }
+
+    private static String[] phones(int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i % 97 == 0 ? null : String.format("138%08d", i);
+        }
+        return values;
+    }
+}
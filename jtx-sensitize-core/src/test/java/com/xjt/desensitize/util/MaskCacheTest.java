@@ -0,0 +1,152 @@
+package com.xjt.desensitize.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 脱敏结果缓存测试
+ * AaAa、BBBB、AaBB的哈希值相同，使用同一脱敏参数时落在同一分段
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class MaskCacheTest {
+
+    private static final long TTL = 100;
+
+    private static final String SCOPE = "PHONE";
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void entryExpiresAfterTtl() {
+        MaskCache cache = cache(1000);
+        cache.put(SCOPE, "AaAa", "A***");
+
+        now.set(TTL - 1);
+        assertEquals("A***", cache.get(SCOPE, "AaAa"));
+
+        now.set(TTL);
+        assertNull(cache.get(SCOPE, "AaAa"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rewriteRestartsTtl() {
+        MaskCache cache = cache(1000);
+        cache.put(SCOPE, "AaAa", "A***");
+        now.set(50);
+        cache.put(SCOPE, "AaAa", "A***");
+
+        now.set(TTL + 20);
+        assertEquals("A***", cache.get(SCOPE, "AaAa"));
+
+        now.set(50 + TTL);
+        assertNull(cache.get(SCOPE, "AaAa"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void writePurgesExpiredEntriesThatWereReadRecently() {
+        MaskCache cache = cache(1000);
+        cache.put(SCOPE, "AaAa", "A***");
+        now.set(10);
+        cache.put(SCOPE, "BBBB", "B***");
+        // 读取使AaAa成为最近访问的条目，但它仍是最早写入的条目
+        assertEquals("A***", cache.get(SCOPE, "AaAa"));
+
+        now.set(TTL + 5);
+        cache.put(SCOPE, "AaBB", "A***");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    void readPurgesExpiredEntriesOfItsSegment() {
+        MaskCache cache = cache(1000);
+        cache.put(SCOPE, "AaAa", "A***");
+        cache.put(SCOPE, "BBBB", "B***");
+
+        now.set(TTL);
+        assertNull(cache.get(SCOPE, "AaBB"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cleanUpRemovesAllExpiredEntries() {
+        MaskCache cache = cache(1000);
+        for (int i = 0; i < 200; i++) {
+            cache.put(SCOPE, "138" + i, "138****");
+        }
+        now.set(TTL / 2);
+        cache.put(SCOPE, "live", "l***");
+
+        now.set(TTL);
+        cache.cleanUp();
+
+        assertEquals(1, cache.size());
+        assertEquals(200, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    void segmentEvictsLeastRecentlyAccessedEntry() {
+        // 16个分段，每段容量为2
+        MaskCache cache = cache(32);
+        cache.put(SCOPE, "AaAa", "A***");
+        cache.put(SCOPE, "BBBB", "B***");
+        cache.get(SCOPE, "AaAa");
+        cache.put(SCOPE, "AaBB", "A***");
+
+        assertEquals("A***", cache.get(SCOPE, "AaAa"));
+        assertNull(cache.get(SCOPE, "BBBB"));
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    void sizeStaysWithinMaximum() {
+        MaskCache cache = cache(64);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(SCOPE, "138" + i, "138****");
+        }
+
+        assertTrue(cache.size() <= 64, "size=" + cache.size());
+        assertEquals(10_000 - cache.size(), cache.stats().getEvictionCount());
+    }
+
+    @Test
+    void statsCountHitsAndMisses() {
+        MaskCache cache = cache(1000);
+        assertNull(cache.get(SCOPE, "AaAa"));
+        cache.put(SCOPE, "AaAa", "A***");
+        cache.get(SCOPE, "AaAa");
+        cache.get(SCOPE, "AaAa");
+        cache.get(SCOPE, "AaAa");
+
+        MaskCache.Stats stats = cache.stats();
+        assertEquals(3, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.75, stats.getHitRate());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void scopesAreCachedSeparately() {
+        MaskCache cache = cache(1000);
+        cache.put(SCOPE, "AaAa", "A***");
+
+        assertNull(cache.get("EMAIL", "AaAa"));
+    }
+
+    private MaskCache cache(int maximumSize) {
+        return new MaskCache(maximumSize, TTL, TimeUnit.NANOSECONDS, now::get);
+    }
+}
@@ -0,0 +1,121 @@
+package com.xjt.desensitize.util;
+
+import com.xjt.desensitize.AllocationMeter;
+import com.xjt.desensitize.TestStrategies;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 脱敏内核测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class MaskKernelTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "13812345678, 3, 4, *, 138****5678",
+            "13812345678, 0, 4, #, #######5678",
+            "abc, 5, 5, *, abc",
+            "abc, -1, -1, *, ***",
+            "abcdef, 4, 4, *, abcdef",
+            "张三丰, 1, 0, *, 张**"
+    })
+    void maskKeepsHeadAndTail(String origin, int keepStart, int keepEnd, char maskChar, String expected) {
+        assertEquals(expected, MaskKernel.mask(origin, keepStart, keepEnd, maskChar));
+
+        char[] dst = new char[origin.length()];
+        assertEquals(origin.length(), MaskKernel.mask(origin, keepStart, keepEnd, maskChar, dst));
+        assertEquals(expected, new String(dst));
+    }
+
+    @Test
+    void maskReturnsOriginWhenNothingIsMasked() {
+        String origin = "abc";
+
+        assertSame(origin, MaskKernel.mask(origin, 2, 1, '*'));
+    }
+
+    @Test
+    void charArrayVariantsRejectTooSmallTarget() {
+        assertEquals(-1, MaskKernel.mask("13812345678", 3, 4, '*', new char[10]));
+        assertEquals(-1, MaskKernel.replace("zhang@b.com", 1, 5, 6, '*', new char[11]));
+    }
+
+    @Test
+    void replaceChangesLength() {
+        assertEquals("z******@b.com", MaskKernel.replace("zhang@b.com", 1, 5, 6, '*'));
+        assertEquals("***@b.com", MaskKernel.replace("zhang@b.com", 0, 5, 3, '*'));
+
+        char[] dst = new char[16];
+        int written = MaskKernel.replace("zhang@b.com", 1, 5, 2, '#', dst);
+        assertEquals("z##@b.com", new String(dst, 0, written));
+    }
+
+    @Test
+    void repeatSlicesDefaultRunsAndFillsOthers() {
+        char[] stars = new char[100];
+        Arrays.fill(stars, '*');
+
+        assertEquals("", MaskKernel.repeat('*', 0));
+        assertEquals("****", MaskKernel.repeat('*', 4));
+        assertEquals(new String(stars), MaskKernel.repeat('*', 100));
+        assertEquals("####", MaskKernel.repeat('#', 4));
+    }
+
+    @Test
+    void maskInPlaceIgnoresEmptyRange() {
+        char[] chars = "abcdef".toCharArray();
+
+        MaskKernel.maskInPlace(chars, 3, 3, '*');
+        assertArrayEquals("abcdef".toCharArray(), chars);
+        MaskKernel.maskInPlace(chars, 1, 4, '*');
+        assertArrayEquals("a***ef".toCharArray(), chars);
+    }
+
+    @Test
+    void largeResultsDoNotCorruptLaterCalls() {
+        char[] big = new char[20_000];
+        Arrays.fill(big, 'a');
+
+        assertEquals(20_000, MaskKernel.mask(new String(big), 1, 1, '*').length());
+        assertEquals("138****5678", MaskKernel.mask("13812345678", 3, 4, '*'));
+    }
+
+    @Test
+    void strategyAndJsonPathShareKernelOutput() {
+        DesensitizeStrategyServiceImpl service = TestStrategies.service();
+        JsonFieldDesensitizer desensitizer = JsonFieldDesensitizer.builder()
+                .fieldConfigs("phone:PHONE;email:EMAIL;card:BANK_CARD").build();
+
+        String json = desensitizer.desensitize("{\"phone\":\"13812345678\",\"email\":\"zhang@b.com\",\"card\":\"6222021234567890\"}");
+
+        assertEquals("{\"phone\":\"" + service.desensitize("13812345678", DesensitizeType.PHONE, "", 0, 0, '*')
+                + "\",\"email\":\"" + service.desensitize("zhang@b.com", DesensitizeType.EMAIL, "", 0, 0, '*')
+                + "\",\"card\":\"" + service.desensitize("6222021234567890", DesensitizeType.BANK_CARD, "", 0, 0, '*')
+                + "\"}", json);
+        // 不含@的值与邮箱脱敏策略一致原样返回
+        assertEquals("{\"email\":\"not-an-email\"}",
+                desensitizer.desensitize("{\"email\":\"not-an-email\"}"));
+    }
+
+    @Test
+    void maskAllocatesOnlyTheResult() throws Exception {
+        String origin = "13812345678";
+        // 结果字符串本身约为对象头加字符数组，远小于额外的StringBuilder与子串拼接
+        double bytes = AllocationMeter.allocatedBytesPerCall(50_000, 200_000,
+                i -> MaskKernel.mask(origin, 3, 4, '*'));
+        assertTrue(bytes <= 96, "每次脱敏平均分配 " + bytes + " 字节");
+    }
+}
@@ -0,0 +1,99 @@
+package com.xjt.desensitize.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 数值字符渲染测试，渲染结果必须与toString一致，不支持的取值返回-1
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class NumberCharsTest {
+
+    private final char[] buffer = new char[NumberChars.MAX_LENGTH];
+
+    @Test
+    void longMatchesToString() {
+        long[] values = {0, 1, -1, 9, 10, -10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, 13812345678L};
+        for (long value : values) {
+            assertRendered(Long.toString(value), NumberChars.render(value, buffer));
+        }
+        for (long power = 1; power > 0 && power <= Long.MAX_VALUE / 10; power *= 10) {
+            assertRendered(Long.toString(power - 1), NumberChars.render(power - 1, buffer));
+            assertRendered(Long.toString(power), NumberChars.render(power, buffer));
+            assertRendered(Long.toString(-power), NumberChars.render(-power, buffer));
+        }
+    }
+
+    @Test
+    void integerTypesMatchToString() {
+        Number[] values = {(byte) -128, (byte) 127, (short) -32768, (short) 32767,
+                Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (Number value : values) {
+            assertRendered(value.toString(), NumberChars.render(value, buffer));
+        }
+    }
+
+    @Test
+    void bigIntegerWithin63BitsMatchesToString() {
+        BigInteger[] values = {BigInteger.ZERO, BigInteger.ONE.shiftLeft(62),
+                BigInteger.valueOf(Long.MAX_VALUE), BigInteger.valueOf(Long.MIN_VALUE),
+                BigInteger.valueOf(Long.MIN_VALUE + 1)};
+        for (BigInteger value : values) {
+            assertRendered(value.toString(), NumberChars.render(value, buffer));
+        }
+    }
+
+    @Test
+    void bigIntegerOf64BitsIsNotRendered() {
+        BigInteger[] values = {BigInteger.ONE.shiftLeft(63), BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(64)};
+        for (BigInteger value : values) {
+            assertEquals(-1, NumberChars.render(value, buffer), value.toString());
+        }
+    }
+
+    @Test
+    void bigDecimalInPlainNotationMatchesToString() {
+        String[] values = {"0", "0.0", "0.00", "-0.00", "1.5", "-1.5", "123.456", "-123.456", "1.000",
+                "0.1", "-0.1", "0.000001", "-0.000001", "0.0000010", "0.0000123", "9.999999",
+                "100", "-100", "0.9223372036854775807", "-922337203685477580.7"};
+        for (String value : values) {
+            BigDecimal decimal = new BigDecimal(value);
+            assertRendered(decimal.toString(), NumberChars.render(decimal, buffer));
+        }
+        BigDecimal[] scaled = {BigDecimal.valueOf(Long.MAX_VALUE, 18), BigDecimal.valueOf(Long.MAX_VALUE, 19),
+                BigDecimal.valueOf(Long.MIN_VALUE + 1, 5), BigDecimal.valueOf(-1, 20 - 14),
+                BigDecimal.valueOf(Long.MIN_VALUE, 0)};
+        for (BigDecimal decimal : scaled) {
+            assertRendered(decimal.toString(), NumberChars.render(decimal, buffer));
+        }
+    }
+
+    @Test
+    void bigDecimalOutsidePlainNotationIsNotRendered() {
+        // 调整指数小于-6、标度为负或非标度值超出long时toString使用科学计数法或无法直接渲染
+        BigDecimal[] values = {new BigDecimal("0.0000001"), new BigDecimal("-0.0000001"), new BigDecimal("0E-7"),
+                new BigDecimal("1E+3"), new BigDecimal("0E+2"), BigDecimal.valueOf(Long.MIN_VALUE, 2),
+                new BigDecimal(BigInteger.ONE.shiftLeft(63), 2)};
+        for (BigDecimal value : values) {
+            assertEquals(-1, NumberChars.render(value, buffer), value.toString());
+        }
+    }
+
+    @Test
+    void floatingPointIsNotRendered() {
+        assertEquals(-1, NumberChars.render(1.5d, buffer));
+        assertEquals(-1, NumberChars.render(1.5f, buffer));
+    }
+
+    private void assertRendered(String expected, int length) {
+        assertEquals(expected, new String(buffer, 0, length));
+    }
+}
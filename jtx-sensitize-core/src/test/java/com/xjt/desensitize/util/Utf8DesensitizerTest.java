@@ -0,0 +1,267 @@
+package com.xjt.desensitize.util;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.strategy.DesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.AddressDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.BankCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.ChineseNameDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.CustomDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.EmailDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.IdCardDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PasswordDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.PhoneDesensitizeStrategy;
+import com.xjt.desensitize.strategy.impl.UsernameDesensitizeStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UTF-8字节脱敏处理器测试
+ * 不含增补平面字符时，字节结果必须与对应的字符串实现逐字节一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class Utf8DesensitizerTest {
+
+    private static final String[] VALUES = {
+            "a", "ab", "abc", "13812345678", "11010519491231002X", "6222021234567890",
+            "张", "张三", "张三丰", "欧阳娜娜", "北京市朝阳区建国路88号院3号楼", "zhangsan", "é",
+            "zhangsan@example.com", "z@example.com", "@example.com", "张三@例子.中国", "no-at-sign",
+            "  ", " 13812345678 ", "　"
+    };
+
+    private static final String[] PARAMS = {
+            null, "startKeep:2,endKeep:3", "maskChar:#", "startKeep:1,maskChar:中", "endKeep:20", "startKeep:3,endKeep:3"
+    };
+
+    private static final Map<DesensitizeType, DesensitizeStrategy> STRATEGIES = new EnumMap<>(DesensitizeType.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static {
+        STRATEGIES.put(DesensitizeType.USERNAME, new UsernameDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.ID_CARD, new IdCardDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.PHONE, new PhoneDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.EMAIL, new EmailDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.BANK_CARD, new BankCardDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.CHINESE_NAME, new ChineseNameDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.PASSWORD, new PasswordDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.ADDRESS, new AddressDesensitizeStrategy());
+        STRATEGIES.put(DesensitizeType.CUSTOM, new CustomDesensitizeStrategy());
+    }
+
+    @Test
+    void typeDefaultsMatchStrategiesByteForByte() {
+        for (Map.Entry<DesensitizeType, DesensitizeStrategy> entry : STRATEGIES.entrySet()) {
+            for (String value : VALUES) {
+                byte[] src = utf8(value);
+                byte[] dst = new byte[Utf8Desensitizer.maxOutputLength(src.length, '*')];
+                int length = Utf8Desensitizer.desensitize(src, 0, src.length, entry.getKey(), dst, 0);
+
+                assertEquals(entry.getValue().desensitize(value), decode(dst, length), entry.getKey() + " " + value);
+            }
+        }
+    }
+
+    @Test
+    void parameterizedTypesMatchJsonFieldRulesByteForByte() {
+        for (DesensitizeType type : DesensitizeType.values()) {
+            for (String params : PARAMS) {
+                JsonFieldRule rule = JsonFieldRule.of("f", type, params);
+                for (String value : VALUES) {
+                    byte[] src = utf8(value);
+                    char maskChar = rule.resolveMaskChar('*');
+                    byte[] dst = new byte[Utf8Desensitizer.maxOutputLength(src.length, maskChar)];
+                    int length = Utf8Desensitizer.desensitize(src, 0, src.length, type, rule.getStartKeep(),
+                            rule.getEndKeep(), maskChar, dst, 0);
+
+                    assertEquals(JsonFieldDesensitizer.desensitizeValue(value, rule, '*'), decode(dst, length),
+                            type + " " + params + " " + value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiByteCharactersAreNeverSplit() {
+        byte[] src = utf8("北京市朝阳区建国路88号");
+        byte[] dst = new byte[Utf8Desensitizer.maxOutputLength(src.length, '*')];
+
+        assertEquals("北********88号", decode(dst, Utf8Desensitizer.mask(src, 0, src.length, 1, 3, '*', dst, 0)));
+        assertEquals("北京市朝阳区**路88号", decode(dst,
+                Utf8Desensitizer.desensitize(src, 0, src.length, DesensitizeType.ADDRESS, dst, 0)));
+        // 多字节脱敏字符
+        assertEquals("北京中中中中中中中中中号", decode(dst, Utf8Desensitizer.mask(src, 0, src.length, 2, 1, '中', dst, 0)));
+    }
+
+    @Test
+    void offsetsAreRespected() {
+        byte[] src = utf8("xx张三丰yy");
+        byte[] dst = new byte[32];
+        dst[0] = 'P';
+
+        int length = Utf8Desensitizer.desensitize(src, 2, 9, DesensitizeType.CHINESE_NAME, dst, 1);
+
+        assertEquals("P**丰", decode(dst, 1 + length));
+    }
+
+    /**
+     * 增补平面字符按一个码点计数，不会像UTF-16实现那样拆开代理对
+     */
+    @Test
+    void fourByteCodePointsCountAsOne() {
+        byte[] name = utf8("😀张三");
+        byte[] dst = new byte[Utf8Desensitizer.maxOutputLength(name.length, '*')];
+
+        assertEquals("*张三", decode(dst, Utf8Desensitizer.desensitize(name, 0, name.length,
+                DesensitizeType.CHINESE_NAME, 0, 0, '*', dst, 0)));
+
+        byte[] text = utf8("a😀b😀c");
+        assertEquals("a***c", decode(dst, Utf8Desensitizer.mask(text, 0, text.length, 1, 1, '*', dst, 0)));
+        assertEquals("a😀***", decode(dst, Utf8Desensitizer.desensitize(text, 0, text.length,
+                DesensitizeType.CUSTOM, 2, 0, '*', dst, 0)));
+    }
+
+    @Test
+    void maskInPlaceShrinksMultiByteInput() {
+        byte[] buf = utf8("张三丰先生");
+
+        int length = Utf8Desensitizer.maskInPlace(buf, 0, buf.length, 1, 1, '*');
+
+        assertEquals("张***生", decode(buf, length));
+    }
+
+    @Test
+    void maskInPlaceRejectsNonAsciiMaskChar() {
+        byte[] buf = utf8("张三丰");
+
+        assertThrows(IllegalArgumentException.class, () -> Utf8Desensitizer.maskInPlace(buf, 0, buf.length, 1, 1, '中'));
+        assertArrayEquals(utf8("张三丰"), buf);
+    }
+
+    /**
+     * 字节级JSON脱敏与字符串流式脱敏的结果在JSON语义上一致
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"user\":{\"phone\":\"13812345678\",\"name\":\"张三丰\"},\"n\":1}",
+            "{\"user\":{\"phone\":13812345678,\"name\":\"\\u5f20\\u4e09\\u4e30\"},\"ratio\":1.50}",
+            "{\"items\":[{\"email\":\"zhangsan@example.com\",\"idCard\":\"11010519491231002X\"},{\"email\":null}]}",
+            "{\"items\":[{\"email\":\"a\\\"b@example.com\"},{\"email\":true}],\"ratio\":-2.5e3}",
+            "{\"address\":{\"city\":\"北京市朝阳区建国路88号\",\"list\":[\"中关村大街1号院\",1,false]}}",
+            "[{\"user\":{\"phone\":\"13812345678\"}}]",
+            "{\"us\\u0065r\":{\"phone\":\"13812345678\"},\"other\":{\"phone\":\"13812345678\"}}"
+    })
+    void jsonMatchesStreamingRewrite(String json) throws Exception {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("user.phone:PHONE;user.name:CHINESE_NAME;ratio:CUSTOM;"
+                + "items[*].email:EMAIL;items[*].idCard:ID_CARD:startKeep:2,endKeep:2,maskChar:#;address:ADDRESS");
+        String expected = new JsonFieldDesensitizer(plan).desensitizeStreaming(json, '*');
+
+        byte[] masked = Utf8Desensitizer.desensitizeJson(utf8(json), plan, '*');
+
+        assertEquals(MAPPER.readTree(expected), MAPPER.readTree(masked));
+    }
+
+    @Test
+    void jsonCountsEscapedAndRawSupplementaryCharactersAsOneCodePoint() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("name:CHINESE_NAME");
+        String json = "{\"name\":\"😀张三\\ud83d\\ude00\\n\"}";
+
+        assertEquals("{\"name\":\"*张三😀\\n\"}", decode(Utf8Desensitizer.desensitizeJson(utf8(json), plan, '*')));
+    }
+
+    @Test
+    void jsonKeepsUnmatchedBytesVerbatim() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+        String json = "{ \"note\" : \"a\\/b\\u00e9\" ,\n  \"phone\" : 13812345678 }";
+
+        assertEquals("{ \"note\" : \"a\\/b\\u00e9\" ,\n  \"phone\" : \"138****5678\" }",
+                decode(Utf8Desensitizer.desensitizeJson(utf8(json), plan, '*')));
+    }
+
+    @Test
+    void jsonEscapesMaskCharWhenNeeded() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+
+        assertEquals("{\"phone\":\"138\\\"\\\"\\\"\\\"5678\"}",
+                decode(Utf8Desensitizer.desensitizeJson(utf8("{\"phone\":\"13812345678\"}"), plan, '"')));
+    }
+
+    @Test
+    void jsonMasksEveryRootValue() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+        String ndjson = "{\"phone\":\"13812345678\"}\n{\"phone\":\"13900001111\"}\n";
+
+        assertEquals("{\"phone\":\"138****5678\"}\n{\"phone\":\"139****1111\"}\n",
+                decode(Utf8Desensitizer.desensitizeJson(utf8(ndjson), plan, '*')));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not json", "\"13812345678\"", "12", "{\"phone\":\"13812345678\"", "{\"phone\":13812345678,}",
+            "{\"phone\":01}", "{\"phone\":\"a\\x\"}", "{\"phone\":tru}", "{phone:1}", "[1 2]", "{} x", ""
+    })
+    void invalidJsonIsCopiedUnchanged(String json) {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+        ByteArrayBuilder out = new ByteArrayBuilder();
+        byte[] src = utf8("##" + json + "##");
+
+        assertFalse(Utf8Desensitizer.desensitizeJson(src, 2, src.length - 4, plan, '*', out));
+        assertEquals(json, decode(out.toByteArray()));
+    }
+
+    @Test
+    void invalidUtf8IsCopiedUnchanged() {
+        byte[] src = {'{', '"', 'p', 'h', 'o', 'n', 'e', '"', ':', '"', (byte) 0xE5, 'x', '"', '}'};
+
+        byte[] masked = Utf8Desensitizer.desensitizeJson(src, JsonFieldRulePlan.parse("phone:PHONE"), '*');
+
+        assertArrayEquals(src, masked);
+    }
+
+    @Test
+    void jsonReusesOutputBuffer() {
+        JsonFieldRulePlan plan = JsonFieldRulePlan.parse("phone:PHONE");
+        ByteArrayBuilder out = new ByteArrayBuilder();
+        byte[] first = utf8("{\"phone\":\"13812345678\",\"padding\":\"xxxxxxxxxxxxxxxx\"}");
+        byte[] second = utf8("{\"phone\":\"13900001111\"}");
+
+        assertTrue(Utf8Desensitizer.desensitizeJson(first, 0, first.length, plan, '*', out));
+        assertTrue(Utf8Desensitizer.desensitizeJson(second, 0, second.length, plan, '*', out));
+        assertEquals("{\"phone\":\"139****1111\"}", decode(out.toByteArray()));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] bytes) {
+        return decode(bytes, bytes.length);
+    }
+
+    /**
+     * 严格解码，结果不是合法UTF-8时测试失败
+     */
+    private static String decode(byte[] bytes, int length) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes, 0, length)).toString();
+        } catch (CharacterCodingException e) {
+            throw new AssertionError("结果不是合法的UTF-8", e);
+        }
+    }
+}
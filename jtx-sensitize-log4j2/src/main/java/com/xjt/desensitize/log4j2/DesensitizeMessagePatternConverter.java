@@ -0,0 +1,68 @@
+package com.xjt.desensitize.log4j2;
+
+import com.xjt.desensitize.util.SensitiveTextScanner;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+import java.util.Arrays;
+
+/**
+ * Log4j2日志消息脱敏转换器
+ * 将日志消息直接写入Log4j2传入的StringBuilder，再从消息起始位置扫描一遍，
+ * 将其中的手机号、身份证号、银行卡号和邮箱按对应脱敏策略的规则原地脱敏。
+ * 实现了 {@link StringBuilderFormattable} 的消息不经过中间字符串，扫描和脱敏本身不分配对象，
+ * 可在无垃圾模式下使用（邮箱用户名过短时补足脱敏字符会使StringBuilder扩容，属于少数情况）
+ * <p>
+ * 在pattern中替换 %msg 使用，可用选项限定识别的类型：
+ * <pre>
+ * &lt;PatternLayout pattern="%d %-5level %logger - %dmsg{PHONE}{EMAIL}%n"/&gt;
+ * </pre>
+ * 未指定选项时识别全部支持的类型。与Logback模块相同，只识别PHONE、ID_CARD、BANK_CARD和EMAIL，
+ * 姓名、地址等类型不在自由文本扫描范围内
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+@Plugin(name = "DesensitizeMessagePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({"dmsg", "desensitizeMessage"})
+public final class DesensitizeMessagePatternConverter extends LogEventPatternConverter {
+
+    private final SensitiveTextScanner scanner;
+
+    private DesensitizeMessagePatternConverter(SensitiveTextScanner scanner) {
+        super("DesensitizeMessage", "message");
+        this.scanner = scanner;
+    }
+
+    /**
+     * 创建转换器，由Log4j2在解析pattern时调用
+     *
+     * @param options 选项，每个选项为一个脱敏类型名称
+     * @return 转换器
+     */
+    public static DesensitizeMessagePatternConverter newInstance(String[] options) {
+        SensitiveTextScanner scanner = options == null || options.length == 0
+                ? SensitiveTextScanner.DEFAULT : SensitiveTextScanner.of(Arrays.asList(options));
+        return new DesensitizeMessagePatternConverter(scanner);
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder toAppendTo) {
+        Message message = event.getMessage();
+        if (message == null) {
+            return;
+        }
+        int start = toAppendTo.length();
+        if (message instanceof StringBuilderFormattable) {
+            ((StringBuilderFormattable) message).formatTo(toAppendTo);
+        } else {
+            toAppendTo.append(message.getFormattedMessage());
+        }
+        scanner.mask(toAppendTo, start);
+    }
+}
@@ -0,0 +1,96 @@
+package com.xjt.desensitize.log4j2;
+
+import com.xjt.desensitize.AllocationMeter;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Log4j2日志消息脱敏转换器测试
+ * 使用可复用的MutableLogEvent，与Log4j2无垃圾模式下的事件一致
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeMessagePatternConverterTest {
+
+    private static final int WARMUP = 50_000;
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final String MASKED = "phone 138****5678 id 110105********002X email z*******@example.com";
+
+    private final LogEvent event = event("phone {} id {} email {}",
+            "13812345678", "11010519491231002X", "zhangsan@example.com");
+
+    @Test
+    void eventMessageIsStringBuilderFormattable() {
+        assertTrue(event.getMessage() instanceof StringBuilderFormattable);
+    }
+
+    @Test
+    void masksAllSupportedTypesByDefault() {
+        assertEquals(MASKED, format(DesensitizeMessagePatternConverter.newInstance(null), "prefix "));
+    }
+
+    @Test
+    void optionsLimitDetectedTypes() {
+        DesensitizeMessagePatternConverter converter =
+                DesensitizeMessagePatternConverter.newInstance(new String[]{"PHONE"});
+
+        assertEquals("phone 138****5678 id 11010519491231002X email zhangsan@example.com",
+                format(converter, ""));
+    }
+
+    @Test
+    void patternLayoutResolvesConverterKeyAndOptions() {
+        assertEquals("INFO phone 138****5678 id 11010519491231002X email zhangsan@example.com",
+                layout("%level %dmsg{PHONE}").toSerializable(event));
+        assertEquals("phone 138****5678 id 11010519491231002X email z*******@example.com",
+                layout("%dmsg{PHONE}{EMAIL}").toSerializable(event));
+        assertEquals(MASKED, layout("%desensitizeMessage").toSerializable(event));
+    }
+
+    @Test
+    void formatsWithoutAllocation() throws Exception {
+        assertZeroAllocation(DesensitizeMessagePatternConverter.newInstance(null));
+        assertZeroAllocation(DesensitizeMessagePatternConverter.newInstance(new String[]{"PHONE"}));
+    }
+
+    private void assertZeroAllocation(DesensitizeMessagePatternConverter converter) throws Exception {
+        StringBuilder buffer = new StringBuilder(256);
+        double bytes = AllocationMeter.allocatedBytesPerCall(WARMUP, ITERATIONS, i -> {
+            buffer.setLength(0);
+            converter.format(event, buffer);
+        });
+        assertTrue(bytes < 1.0, "脱敏格式化平均每次分配 " + bytes + " 字节");
+    }
+
+    /**
+     * 在已有内容之后追加并脱敏，返回追加的部分
+     */
+    private String format(DesensitizeMessagePatternConverter converter, String prefix) {
+        StringBuilder buffer = new StringBuilder(prefix);
+        converter.format(event, buffer);
+        assertEquals(prefix, buffer.substring(0, prefix.length()));
+        return buffer.substring(prefix.length());
+    }
+
+    private static PatternLayout layout(String pattern) {
+        return PatternLayout.newBuilder().withPattern(pattern).build();
+    }
+
+    private static LogEvent event(String pattern, Object... args) {
+        MutableLogEvent event = new MutableLogEvent();
+        event.setLevel(Level.INFO);
+        event.setMessage(ReusableMessageFactory.INSTANCE.newMessage(pattern, args));
+        return event;
+    }
+}
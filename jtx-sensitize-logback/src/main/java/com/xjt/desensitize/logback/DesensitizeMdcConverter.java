@@ -0,0 +1,24 @@
+package com.xjt.desensitize.logback;
+
+import ch.qos.logback.classic.pattern.MDCConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.xjt.desensitize.util.SensitiveTextScanner;
+
+/**
+ * Logback MDC脱敏转换器
+ * 与 %X 用法相同，输出前对MDC中的手机号、身份证号、银行卡号和邮箱脱敏，
+ * 识别范围与 {@link DesensitizeMessageConverter} 相同，其他类型的敏感信息原样输出：
+ * <pre>
+ * &lt;conversionRule conversionWord="X" converterClass="com.xjt.desensitize.logback.DesensitizeMdcConverter"/&gt;
+ * </pre>
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeMdcConverter extends MDCConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return SensitiveTextScanner.DEFAULT.mask(super.convert(event));
+    }
+}
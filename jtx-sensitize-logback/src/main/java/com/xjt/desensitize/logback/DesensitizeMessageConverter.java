@@ -0,0 +1,45 @@
+package com.xjt.desensitize.logback;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.xjt.desensitize.util.SensitiveTextScanner;
+
+import java.util.List;
+
+/**
+ * Logback日志消息脱敏转换器
+ * 对格式化后的日志消息扫描一遍，将其中的手机号、身份证号、银行卡号和邮箱按对应脱敏策略的规则脱敏；
+ * 消息中没有敏感信息时直接返回原消息，不产生额外对象
+ * <p>
+ * 通过conversionRule注册后替换 %msg 使用，可用选项限定识别的类型：
+ * <pre>
+ * &lt;conversionRule conversionWord="msg" converterClass="com.xjt.desensitize.logback.DesensitizeMessageConverter"/&gt;
+ * &lt;pattern&gt;%d %-5level %logger - %msg{PHONE, EMAIL}%n&lt;/pattern&gt;
+ * </pre>
+ * 未指定选项时识别全部支持的类型。
+ * <p>
+ * 自由文本中只能识别格式明确的PHONE、ID_CARD、BANK_CARD和EMAIL四种类型；
+ * 姓名、地址、密码、用户名等类型无法从文本中可靠定位，不会被脱敏，选项中指定这些类型时忽略。
+ * 需要脱敏这些信息时，应在记录日志前通过脱敏策略服务处理，或以@Desensitize对象的JSON形式输出
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizeMessageConverter extends MessageConverter {
+
+    private SensitiveTextScanner scanner = SensitiveTextScanner.DEFAULT;
+
+    @Override
+    public void start() {
+        List<String> options = getOptionList();
+        if (options != null && !options.isEmpty()) {
+            scanner = SensitiveTextScanner.of(options);
+        }
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return scanner.mask(event.getFormattedMessage());
+    }
+}
@@ -0,0 +1,32 @@
+package com.xjt.desensitize.logback;
+
+import ch.qos.logback.classic.PatternLayout;
+
+/**
+ * 日志脱敏PatternLayout
+ * 将 %m、%msg、%message 和 %X、%mdc 替换为脱敏转换器，其余转换符与 {@link PatternLayout} 一致。
+ * 只识别手机号、身份证号、银行卡号和邮箱，见 {@link DesensitizeMessageConverter}。
+ * 在encoder中指定即可，无需修改pattern：
+ * <pre>
+ * &lt;encoder class="ch.qos.logback.core.encoder.LayoutWrappingEncoder"&gt;
+ *     &lt;layout class="com.xjt.desensitize.logback.DesensitizePatternLayout"&gt;
+ *         &lt;pattern&gt;%d %-5level %logger - %msg%n&lt;/pattern&gt;
+ *     &lt;/layout&gt;
+ * &lt;/encoder&gt;
+ * </pre>
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class DesensitizePatternLayout extends PatternLayout {
+
+    public DesensitizePatternLayout() {
+        String message = DesensitizeMessageConverter.class.getName();
+        String mdc = DesensitizeMdcConverter.class.getName();
+        getInstanceConverterMap().put("m", message);
+        getInstanceConverterMap().put("msg", message);
+        getInstanceConverterMap().put("message", message);
+        getInstanceConverterMap().put("X", mdc);
+        getInstanceConverterMap().put("mdc", mdc);
+    }
+}
@@ -0,0 +1,130 @@
+package com.xjt.desensitize.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Logback脱敏转换器测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeConverterTest {
+
+    private static final String MESSAGE = "phone 13812345678 id 11010519491231002X email zhangsan@example.com";
+
+    private static final String MASKED_PHONE = "138****5678";
+
+    private static final String MASKED_ID_CARD = "110105********002X";
+
+    private static final String MASKED_EMAIL = "z*******@example.com";
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger(DesensitizeConverterTest.class);
+
+    @Test
+    void layoutMasksMessage() {
+        assertEquals("phone " + MASKED_PHONE + " id " + MASKED_ID_CARD + " email " + MASKED_EMAIL,
+                layout("%msg").doLayout(event(MESSAGE)));
+    }
+
+    @Test
+    void layoutMasksFormattedArguments() {
+        assertEquals("user " + MASKED_PHONE + " logged in",
+                layout("%m").doLayout(event("user {} logged in", "13812345678")));
+    }
+
+    @Test
+    void optionsLimitDetectedTypes() {
+        assertEquals("phone " + MASKED_PHONE + " id 11010519491231002X email " + MASKED_EMAIL,
+                layout("%msg{PHONE, EMAIL}").doLayout(event(MESSAGE)));
+    }
+
+    @Test
+    void invalidOptionsFallBackToAllTypes() {
+        assertEquals("phone " + MASKED_PHONE + " id " + MASKED_ID_CARD + " email " + MASKED_EMAIL,
+                layout("%msg{NOT_A_TYPE}").doLayout(event(MESSAGE)));
+    }
+
+    @Test
+    void typesWithoutTextFormatAreNotDetected() {
+        // 自由文本只识别手机号、身份证号、银行卡号和邮箱，姓名、地址等类型原样输出
+        String message = "name 张三 address 北京市朝阳区建国路88号 phone 13812345678";
+
+        assertEquals("name 张三 address 北京市朝阳区建国路88号 phone " + MASKED_PHONE,
+                layout("%msg{CHINESE_NAME, ADDRESS}").doLayout(event(message)));
+    }
+
+    @Test
+    void layoutMasksMdc() {
+        LoggingEvent event = event("login");
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("phone", "13812345678");
+        event.setMDCPropertyMap(mdc);
+
+        assertEquals(MASKED_PHONE + " login", layout("%X{phone} %msg").doLayout(event));
+        assertEquals("phone=" + MASKED_PHONE, layout("%mdc").doLayout(event));
+    }
+
+    @Test
+    void messageWithoutCandidateIsReturnedUnchanged() {
+        DesensitizeMessageConverter converter = new DesensitizeMessageConverter();
+        converter.setContext(context);
+        converter.start();
+        LoggingEvent event = event("order 20240101 shipped to warehouse 12");
+
+        assertSame(event.getFormattedMessage(), converter.convert(event));
+    }
+
+    @Test
+    void mdcWithoutCandidateIsReturnedUnchanged() {
+        DesensitizeMdcConverter converter = new DesensitizeMdcConverter();
+        converter.setOptionList(Collections.singletonList("traceId"));
+        converter.setContext(context);
+        converter.start();
+        LoggingEvent event = event("login");
+        event.setMDCPropertyMap(Collections.singletonMap("traceId", "a1b2c3"));
+
+        assertEquals("a1b2c3", converter.convert(event));
+    }
+
+    @Test
+    void otherConvertersMatchPlainLayout() {
+        String pattern = "%-5level %logger{0} - %msg";
+        LoggingEvent event = event("no sensitive data");
+
+        assertEquals(plainLayout(pattern).doLayout(event), layout(pattern).doLayout(event));
+    }
+
+    private DesensitizePatternLayout layout(String pattern) {
+        DesensitizePatternLayout layout = new DesensitizePatternLayout();
+        layout.setContext(context);
+        layout.setPattern(pattern);
+        layout.start();
+        return layout;
+    }
+
+    private PatternLayout plainLayout(String pattern) {
+        PatternLayout layout = new PatternLayout();
+        layout.setContext(context);
+        layout.setPattern(pattern);
+        layout.start();
+        return layout;
+    }
+
+    private LoggingEvent event(String message, Object... args) {
+        return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null, args);
+    }
+}
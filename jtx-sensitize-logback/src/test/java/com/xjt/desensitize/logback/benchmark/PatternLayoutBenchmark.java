@@ -0,0 +1,94 @@
+package com.xjt.desensitize.logback.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.xjt.desensitize.logback.DesensitizePatternLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志脱敏PatternLayout吞吐量基准测试
+ * 分别对不含和含有敏感信息的消息，对比 {@link PatternLayout} 与 {@link DesensitizePatternLayout} 的doLayout吞吐量。运行方式：
+ * <pre>
+ * mvn -pl jtx-sensitize-logback test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.xjt.desensitize.logback.benchmark.PatternLayoutBenchmark
+ * </pre>
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternLayoutBenchmark {
+
+    private static final String PATTERN = "%-5level [%thread] %logger{36} - %msg%n";
+
+    @Param({"false", "true"})
+    private boolean pii;
+
+    private PatternLayout plainLayout;
+
+    private DesensitizePatternLayout desensitizeLayout;
+
+    private LoggingEvent event;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+        plainLayout = start(new PatternLayout(), context);
+        desensitizeLayout = start(new DesensitizePatternLayout(), context);
+
+        Logger logger = context.getLogger(PatternLayoutBenchmark.class);
+        String message = pii
+                ? "user {} placed order {} with id card {} and email {}"
+                : "user {} placed order {} from warehouse {} in region {}";
+        Object[] args = pii
+                ? new Object[]{"13812345678", 20240101123456L, "11010519491231002X", "zhangsan@example.com"}
+                : new Object[]{"zhangsan", 20240101123456L, "WH-12", "east"};
+        event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null, args);
+        // 预先格式化消息，只比较转换和脱敏的开销
+        event.getFormattedMessage();
+    }
+
+    @Benchmark
+    public String plain() {
+        return plainLayout.doLayout(event);
+    }
+
+    @Benchmark
+    public String desensitize() {
+        return desensitizeLayout.doLayout(event);
+    }
+
+    private static <T extends PatternLayout> T start(T layout, LoggerContext context) {
+        layout.setContext(context);
+        layout.setPattern(PATTERN);
+        layout.start();
+        return layout;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PatternLayoutBenchmark.class.getSimpleName()).build()).run();
+    }
+}
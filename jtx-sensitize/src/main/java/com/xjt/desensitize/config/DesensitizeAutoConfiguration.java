@@ -2,13 +2,22 @@ package com.xjt.desensitize.config;
 
 import com.xjt.desensitize.enumservice.DesensitizeStrategyService;
 import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.module.DesensitizeModule;
+import com.xjt.desensitize.module.MaskingProfile;
+import com.xjt.desensitize.serializer.DesensitizeSerializerCache;
 import com.xjt.desensitize.strategy.impl.*;
+import com.xjt.desensitize.util.MaskCache;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * 数据脱敏自动配置类
  *
@@ -113,6 +122,7 @@ public class DesensitizeAutoConfiguration {
 
     /**
      * 配置脱敏策略服务
+     * 启用脱敏结果缓存时，为配置的每种脱敏类型创建独立的缓存
      */
     @Bean
     @ConditionalOnMissingBean
@@ -126,9 +136,10 @@ public class DesensitizeAutoConfiguration {
             PasswordDesensitizeStrategy passwordStrategy,
             AddressDesensitizeStrategy addressStrategy,
             JsonFieldDesensitizeStrategy jsonFieldDesensitizeStrategy,
-            CustomDesensitizeStrategy customStrategy) {
+            CustomDesensitizeStrategy customStrategy,
+            DesensitizeProperties properties) {
 
-        return new DesensitizeStrategyServiceImpl(
+        DesensitizeStrategyServiceImpl service = new DesensitizeStrategyServiceImpl(
                 usernameStrategy,
                 idCardStrategy,
                 phoneStrategy,
@@ -140,5 +151,83 @@ public class DesensitizeAutoConfiguration {
                 jsonFieldDesensitizeStrategy,
                 customStrategy
         );
+
+        DesensitizeProperties.Cache cache = properties.getCache();
+        if (cache.isEnabled()) {
+            for (DesensitizeType type : cache.getTypes()) {
+                Integer maximumSize = cache.getMaximumSizes().get(type);
+                service.setMaskCache(type, new MaskCache(maximumSize != null ? maximumSize : cache.getMaximumSize(),
+                        cache.getTtl().toMillis(), TimeUnit.MILLISECONDS));
+            }
+        }
+        return service;
+    }
+
+    /**
+     * 配置internal脱敏方案
+     * 仍需脱敏的类型取自jtx.desensitize.internal-masked-types，可作为序列化属性按请求选用
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "internalMaskingProfile")
+    public MaskingProfile internalMaskingProfile(DesensitizeProperties properties) {
+        return MaskingProfile.internal(properties.getInternalMaskedTypes());
+    }
+
+    /**
+     * 配置脱敏序列化器缓存
+     * 与策略服务和默认脱敏方案绑定，配置相同的属性共用同一个序列化器，上下文重启时一起重建；
+     * 全局脱敏开关关闭时默认脱敏方案为raw
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DesensitizeSerializerCache desensitizeSerializerCache(DesensitizeStrategyService desensitizeStrategyService,
+                                                                 DesensitizeProperties properties,
+                                                                 MaskingProfile internalMaskingProfile) {
+        return new DesensitizeSerializerCache(desensitizeStrategyService,
+                resolveDefaultProfile(properties, internalMaskingProfile));
+    }
+
+    /**
+     * 配置脱敏Jackson模块
+     * 序列化器缓存通过构造器注入，Spring Boot会将容器中的Module自动注册到ObjectMapper
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DesensitizeModule desensitizeModule(DesensitizeSerializerCache desensitizeSerializerCache) {
+        return new DesensitizeModule(desensitizeSerializerCache);
+    }
+
+    /**
+     * 配置脱敏结果缓存定时清理器
+     * 仅在启用缓存时创建，定期移除已失效的原文，容器关闭时停止
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jtx.desensitize.cache", name = "enabled", havingValue = "true")
+    public MaskCacheCleaner maskCacheCleaner(DesensitizeStrategyService desensitizeStrategyService,
+                                             DesensitizeProperties properties) {
+        List<MaskCache> caches = new ArrayList<>();
+        if (desensitizeStrategyService instanceof DesensitizeStrategyServiceImpl) {
+            DesensitizeStrategyServiceImpl service = (DesensitizeStrategyServiceImpl) desensitizeStrategyService;
+            for (DesensitizeType type : DesensitizeType.values()) {
+                MaskCache cache = service.getMaskCache(type);
+                if (cache != null) {
+                    caches.add(cache);
+                }
+            }
+        }
+        return new MaskCacheCleaner(caches, properties.getCache().getTtl());
+    }
+
+    /**
+     * 按配置解析默认脱敏方案
+     */
+    private static MaskingProfile resolveDefaultProfile(DesensitizeProperties properties,
+                                                        MaskingProfile internalMaskingProfile) {
+        if (!properties.isGlobalEnabled()) {
+            return MaskingProfile.RAW;
+        }
+        MaskingProfile profile = MaskingProfile.forName(properties.getDefaultProfile());
+        return profile == MaskingProfile.INTERNAL ? internalMaskingProfile : profile;
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,16 @@
 package com.xjt.desensitize.config;
 
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.module.MaskingProfile;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 脱敏配置属性
  *
@@ -24,7 +32,57 @@ public class DesensitizeProperties {
     private char defaultMask = '*';
 
     /**
-     * 全局脱敏开关
+     * 全局脱敏开关，为false时默认脱敏方案为raw，即不脱敏
      */
     private boolean globalEnabled = true;
-}
\ No newline at end of file
+
+    /**
+     * 默认脱敏方案：public（全部脱敏）、internal（联系信息明文）、raw（不脱敏）
+     * 可按请求通过序列化属性或MaskingProfile.use覆盖
+     */
+    private String defaultProfile = "public";
+
+    /**
+     * internal脱敏方案下仍需脱敏的类型
+     */
+    private Set<DesensitizeType> internalMaskedTypes = EnumSet.copyOf(MaskingProfile.INTERNAL_MASKED_TYPES);
+
+    /**
+     * 脱敏结果缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 脱敏结果缓存配置
+     * 缓存以原文为键，只建议对列表中大量重复出现的值启用，并设置较短的存活时间
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用脱敏结果缓存，默认关闭
+         */
+        private boolean enabled = false;
+
+        /**
+         * 启用缓存的脱敏类型
+         */
+        private Set<DesensitizeType> types = EnumSet.of(DesensitizeType.USERNAME, DesensitizeType.PHONE,
+                DesensitizeType.EMAIL, DesensitizeType.CHINESE_NAME, DesensitizeType.ADDRESS);
+
+        /**
+         * 每种脱敏类型的缓存最大条目数
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * 按脱敏类型覆盖缓存最大条目数
+         */
+        private Map<DesensitizeType, Integer> maximumSizes = new EnumMap<>(DesensitizeType.class);
+
+        /**
+         * 缓存条目存活时间，超过后原文在所在分段被访问或定时清理时移除，定时清理周期与存活时间相同（最短1秒）
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
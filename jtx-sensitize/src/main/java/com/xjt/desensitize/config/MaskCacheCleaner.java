@@ -0,0 +1,67 @@
+package com.xjt.desensitize.config;
+
+import com.xjt.desensitize.util.MaskCache;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 脱敏结果缓存定时清理器
+ * 使用守护线程按存活时间周期调用 {@link MaskCache#cleanUp()}，流量停止后失效的原文也会被移除；
+ * 容器关闭时停止清理线程
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+public class MaskCacheCleaner implements DisposableBean {
+
+    /**
+     * 最短清理周期
+     */
+    private static final long MIN_PERIOD_MILLIS = 1000L;
+
+    private final List<MaskCache> caches;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 创建并启动清理器
+     *
+     * @param caches 需要清理的缓存
+     * @param ttl    缓存条目存活时间，作为清理周期，最短1秒
+     */
+    public MaskCacheCleaner(Collection<MaskCache> caches, Duration ttl) {
+        this.caches = new ArrayList<>(caches);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtx-desensitize-cache-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(MIN_PERIOD_MILLIS, ttl.toMillis());
+        scheduler.scheduleWithFixedDelay(this::cleanUp, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 立即清理全部缓存中已失效的条目
+     */
+    public void cleanUp() {
+        for (MaskCache cache : caches) {
+            try {
+                cache.cleanUp();
+            } catch (Exception e) {
+                System.err.println("脱敏结果缓存清理失败: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
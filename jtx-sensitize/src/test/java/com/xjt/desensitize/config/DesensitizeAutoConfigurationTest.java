@@ -0,0 +1,183 @@
+package com.xjt.desensitize.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xjt.desensitize.annotation.Desensitize;
+import com.xjt.desensitize.enumservice.impl.DesensitizeStrategyServiceImpl;
+import com.xjt.desensitize.enumtype.DesensitizeType;
+import com.xjt.desensitize.module.DesensitizeModule;
+import com.xjt.desensitize.module.MaskingProfile;
+import com.xjt.desensitize.serializer.DesensitizeSerializerCache;
+import com.xjt.desensitize.util.MaskCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 数据脱敏自动配置测试
+ *
+ * @author JTX
+ * @since 1.0.0
+ */
+class DesensitizeAutoConfigurationTest {
+
+    private static final String MASKED =
+            "{\"mobile\":\"138****5678\",\"backupMobile\":\"139****4321\",\"email\":\"z****@b.com\"}";
+
+    private static final Map<String, String> EXPECTED_BY_PROFILE = new HashMap<>();
+
+    static {
+        EXPECTED_BY_PROFILE.put("public", "{\"mobile\":\"138****5678\",\"idCard\":\"110105********002X\"}");
+        // 内部方案默认只脱敏证件号、银行卡号、密码等，联系信息明文
+        EXPECTED_BY_PROFILE.put("internal", "{\"mobile\":\"13812345678\",\"idCard\":\"110105********002X\"}");
+        EXPECTED_BY_PROFILE.put("raw", "{\"mobile\":\"13812345678\",\"idCard\":\"11010519491231002X\"}");
+    }
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DesensitizeAutoConfiguration.class));
+
+    @Test
+    void moduleIsBoundToContextSerializerCache() {
+        contextRunner.run(context -> {
+            DesensitizeSerializerCache cache = context.getBean(DesensitizeSerializerCache.class);
+            ObjectMapper mapper = new ObjectMapper().registerModule(context.getBean(DesensitizeModule.class));
+
+            assertEquals(MASKED, mapper.writeValueAsString(new Contact()));
+            assertSame(cache, context.getBean(DesensitizeModule.class).getSerializerCache());
+            // 两个手机号属性的注解配置相同，共用一个序列化器
+            assertEquals(2, cache.size());
+        });
+    }
+
+    @Test
+    void serializationDuringContextRefreshIsMasked() {
+        contextRunner.withUserConfiguration(EarlySerializationConfiguration.class)
+                .run(context -> assertEquals(MASKED, context.getBean("earlyJson", String.class)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "public, true, public",
+            "PUBLIC, true, public",
+            "internal, true, internal",
+            "raw, true, raw",
+            "public, false, raw",
+            "internal, false, raw"
+    })
+    void defaultProfileFollowsProperties(String defaultProfile, boolean globalEnabled, String expected) {
+        contextRunner.withPropertyValues("jtx.desensitize.default-profile=" + defaultProfile,
+                        "jtx.desensitize.global-enabled=" + globalEnabled)
+                .run(context -> {
+                    MaskingProfile profile = context.getBean(DesensitizeModule.class).getDefaultProfile();
+                    ObjectMapper mapper = new ObjectMapper().registerModule(context.getBean(DesensitizeModule.class));
+
+                    assertEquals(expected, profile.getName());
+                    assertEquals(EXPECTED_BY_PROFILE.get(expected), mapper.writeValueAsString(new Customer()));
+                });
+    }
+
+    @Test
+    void defaultProfileIsPublicWhenUnset() {
+        contextRunner.run(context ->
+                assertSame(MaskingProfile.PUBLIC, context.getBean(DesensitizeModule.class).getDefaultProfile()));
+    }
+
+    @Test
+    void unknownDefaultProfileFailsStartup() {
+        contextRunner.withPropertyValues("jtx.desensitize.default-profile=support")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void internalMaskedTypesConfigureInternalProfile() {
+        contextRunner.withPropertyValues("jtx.desensitize.internal-masked-types=EMAIL")
+                .run(context -> {
+                    MaskingProfile internal = context.getBean("internalMaskingProfile", MaskingProfile.class);
+                    ObjectMapper mapper = new ObjectMapper().registerModule(context.getBean(DesensitizeModule.class));
+
+                    assertEquals("{\"mobile\":\"13812345678\",\"backupMobile\":\"13987654321\","
+                                    + "\"email\":\"z****@b.com\"}",
+                            mapper.writer().withAttribute(MaskingProfile.ATTRIBUTE, internal)
+                                    .writeValueAsString(new Contact()));
+                });
+    }
+
+    @Test
+    void maskCacheIsDisabledByDefault() {
+        contextRunner.run(context -> {
+            DesensitizeStrategyServiceImpl service = context.getBean(DesensitizeStrategyServiceImpl.class);
+
+            assertNull(service.getMaskCache(DesensitizeType.PHONE));
+            assertFalse(context.containsBean("maskCacheCleaner"));
+        });
+    }
+
+    @Test
+    void maskCachePropertiesConfigureCachesAndCleaner() {
+        contextRunner.withPropertyValues("jtx.desensitize.cache.enabled=true",
+                        "jtx.desensitize.cache.types=PHONE,EMAIL",
+                        "jtx.desensitize.cache.maximum-size=500",
+                        "jtx.desensitize.cache.maximum-sizes.EMAIL=64",
+                        "jtx.desensitize.cache.ttl=30s")
+                .run(context -> {
+                    DesensitizeStrategyServiceImpl service = context.getBean(DesensitizeStrategyServiceImpl.class);
+                    MaskCache phoneCache = service.getMaskCache(DesensitizeType.PHONE);
+                    ObjectMapper mapper = new ObjectMapper().registerModule(context.getBean(DesensitizeModule.class));
+
+                    assertEquals(500, phoneCache.getMaximumSize());
+                    assertEquals(64, service.getMaskCache(DesensitizeType.EMAIL).getMaximumSize());
+                    assertNull(service.getMaskCache(DesensitizeType.ADDRESS));
+                    assertNotNull(context.getBean(MaskCacheCleaner.class));
+
+                    assertEquals(MASKED, mapper.writeValueAsString(new Contact()));
+                    assertEquals(MASKED, mapper.writeValueAsString(new Contact()));
+                    assertEquals(2, phoneCache.size());
+                    assertEquals(2, phoneCache.stats().getHitCount());
+                });
+    }
+
+    /**
+     * 在Bean创建阶段（上下文刷新完成前）序列化脱敏对象
+     */
+    @Configuration
+    static class EarlySerializationConfiguration {
+
+        @Bean
+        String earlyJson(DesensitizeModule desensitizeModule) throws Exception {
+            return new ObjectMapper().registerModule(desensitizeModule).writeValueAsString(new Contact());
+        }
+    }
+
+    static class Contact {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String mobile = "13812345678";
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String backupMobile = "13987654321";
+
+        @Desensitize(type = DesensitizeType.EMAIL)
+        public String email = "zhang@b.com";
+    }
+
+    static class Customer {
+
+        @Desensitize(type = DesensitizeType.PHONE)
+        public String mobile = "13812345678";
+
+        @Desensitize(type = DesensitizeType.ID_CARD)
+        public String idCard = "11010519491231002X";
+    }
+}